@@ -0,0 +1,16 @@
+package com.carepetz.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração das tarefas agendadas, como o arquivamento de agendas passadas, e dos métodos @Async
+ * Ambos usam os executores do Spring Boot, que passam a criar threads virtuais com
+ * spring.threads.virtual.enabled=true
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AgendamentoTarefasConfig {
+}
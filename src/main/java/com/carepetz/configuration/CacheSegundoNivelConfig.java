@@ -0,0 +1,60 @@
+package com.carepetz.configuration;
+
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate (JCache sobre Caffeine)
+ * Ativa apenas com o perfil cache. Cada região tem tamanho máximo próprio; a região de
+ * timestamps não tem limite, pois uma entrada descartada faria consultas em cache
+ * parecerem atualizadas
+ */
+@Configuration
+@Profile("cache")
+public class CacheSegundoNivelConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerHibernate(
+            @Value("${carepetz.cache.hibernate.clientes.tamanho-maximo:10000}") long tamanhoClientes,
+            @Value("${carepetz.cache.hibernate.servicos.tamanho-maximo:1000}") long tamanhoServicos,
+            @Value("${carepetz.cache.hibernate.consultas.tamanho-maximo:10000}") long tamanhoConsultas) {
+        // Um gerenciador por contexto, para que contextos diferentes não disputem as mesmas regiões
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("carepetz-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(ClienteEntity.REGIAO_CACHE, regiao(OptionalLong.of(tamanhoClientes)));
+        cacheManager.createCache(ServicoEntity.REGIAO_CACHE, regiao(OptionalLong.of(tamanhoServicos)));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regiao(OptionalLong.of(tamanhoConsultas)));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regiao(OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheManagerHibernateCustomizer(CacheManager cacheManagerHibernate) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regiao(OptionalLong tamanhoMaximo) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(tamanhoMaximo);
+        configuracao.setStoreByValue(false);
+        configuracao.setStatisticsEnabled(true);
+        return configuracao;
+    }
+}
@@ -0,0 +1,52 @@
+package com.carepetz.configuration;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Configuração da leitura reativa (R2DBC) das agendas
+ * O pool não é publicado como bean ConnectionFactory: com um, o Spring Boot deixaria de criar
+ * o DataSource JDBC, que continua atendendo o JPA e todas as gravações.
+ * Pelo mesmo motivo a autoconfiguração R2DBC fica excluída no application.properties
+ */
+@Configuration
+public class LeituraReativaConfig implements DisposableBean {
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient databaseClientLeitura(
+            @Value("${carepetz.leitura-reativa.url}") String url,
+            @Value("${spring.datasource.username:}") String usuario,
+            @Value("${spring.datasource.password:}") String senha,
+            @Value("${carepetz.leitura-reativa.pool-maximo:10}") int poolMaximo) {
+        // Mesmas credenciais do DataSource, já que o banco é o mesmo
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, senha)
+                .build();
+        // Conexões abertas sob demanda: o esquema é criado pelo Hibernate durante a inicialização
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes))
+                .initialSize(0)
+                .maxSize(poolMaximo)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.carepetz.domain.exception;
+
+/**
+ * Exceção de domínio para código de agenda já existente
+ */
+public class AgendaDuplicadaException extends RuntimeException {
+
+    public AgendaDuplicadaException(String codigoAgenda) {
+        super("Agenda com código já existente: " + codigoAgenda);
+    }
+}
@@ -0,0 +1,12 @@
+package com.carepetz.domain.exception;
+
+/**
+ * Exceção de domínio para agenda inexistente; estende IllegalArgumentException para
+ * que quem já trata argumentos inválidos continue tratando-a
+ */
+public class AgendaNaoEncontradaException extends IllegalArgumentException {
+
+    public AgendaNaoEncontradaException(Long id) {
+        super("Agenda não encontrada com ID: " + id);
+    }
+}
@@ -0,0 +1,13 @@
+package com.carepetz.domain.exception;
+
+/**
+ * Exceção de domínio para horário de agenda já ocupado
+ */
+public class ConflitoHorarioException extends RuntimeException {
+
+    public static final String MENSAGEM = "Já existe um agendamento para este horário";
+
+    public ConflitoHorarioException() {
+        super(MENSAGEM);
+    }
+}
@@ -0,0 +1,13 @@
+package com.carepetz.domain.exception;
+
+/**
+ * Exceção de domínio para atualização feita sobre uma versão já substituída
+ */
+public class ConflitoVersaoException extends RuntimeException {
+
+    public static final String MENSAGEM = "O registro foi alterado por outra operação";
+
+    public ConflitoVersaoException() {
+        super(MENSAGEM);
+    }
+}
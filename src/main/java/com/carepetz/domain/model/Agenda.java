@@ -19,6 +19,7 @@ public class Agenda {
     private Cliente cliente;
     private Servico servico;
     private BigDecimal valorServico;
+    private Long versao;
 
     public Agenda() {
         this.codigoAgenda = UUID.randomUUID().toString();
@@ -64,6 +65,13 @@ public class Agenda {
         return valorServico;
     }
 
+    /**
+     * Versão gravada, usada no controle de concorrência otimista; nula antes da primeira gravação
+     */
+    public Long getVersao() {
+        return versao;
+    }
+
     // Setters
     public void setId(Long id) {
         this.id = id;
@@ -96,6 +104,10 @@ public class Agenda {
         this.valorServico = valorServico;
     }
 
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public boolean isDataFutura() {
         return dataAgenda != null && dataAgenda.isAfter(LocalDate.now());
     }
@@ -13,6 +13,7 @@ public class Cliente {
     private String nomeCliente;
     private String celularCliente;
     private String emailCliente;
+    private Long versao;
 
     public Cliente() {
         this.codigoCliente = UUID.randomUUID().toString();
@@ -46,6 +47,10 @@ public class Cliente {
         return emailCliente;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     // Setters
     public void setId(Long id) {
         this.id = id;
@@ -67,6 +72,10 @@ public class Cliente {
         this.emailCliente = emailCliente;
     }
 
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public boolean isValidEmail() {
         return emailCliente != null && 
                emailCliente.contains("@") && 
@@ -0,0 +1,66 @@
+package com.carepetz.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Cursor de paginação por chave (keyset) de Agenda
+ * Identifica a posição do último registro lido na ordenação (data, hora, id)
+ */
+public final class CursorAgenda {
+
+    private final LocalDate dataAgenda;
+    private final LocalTime horaAgenda;
+    private final Long id;
+
+    public CursorAgenda(LocalDate dataAgenda, LocalTime horaAgenda, Long id) {
+        if (dataAgenda == null || horaAgenda == null || id == null) {
+            throw new IllegalArgumentException("Cursor de agenda inválido");
+        }
+        this.dataAgenda = dataAgenda;
+        this.horaAgenda = horaAgenda;
+        this.id = id;
+    }
+
+    public static CursorAgenda de(Agenda agenda) {
+        return new CursorAgenda(agenda.getDataAgenda(), agenda.getHoraAgenda(), agenda.getId());
+    }
+
+    public LocalDate getDataAgenda() {
+        return dataAgenda;
+    }
+
+    public LocalTime getHoraAgenda() {
+        return horaAgenda;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        CursorAgenda that = (CursorAgenda) obj;
+        return dataAgenda.equals(that.dataAgenda) &&
+               horaAgenda.equals(that.horaAgenda) &&
+               id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataAgenda, horaAgenda, id);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorAgenda{" +
+                "dataAgenda=" + dataAgenda +
+                ", horaAgenda=" + horaAgenda +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.carepetz.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Horários livres de um dia da agenda
+ */
+public final class DisponibilidadeDia {
+
+    private final LocalDate data;
+    private final List<LocalTime> horariosLivres;
+
+    public DisponibilidadeDia(LocalDate data, List<LocalTime> horariosLivres) {
+        this.data = data;
+        this.horariosLivres = List.copyOf(horariosLivres);
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public List<LocalTime> getHorariosLivres() {
+        return horariosLivres;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        DisponibilidadeDia that = (DisponibilidadeDia) obj;
+        return Objects.equals(data, that.data) &&
+               horariosLivres.equals(that.horariosLivres);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data, horariosLivres);
+    }
+
+    @Override
+    public String toString() {
+        return "DisponibilidadeDia{" +
+                "data=" + data +
+                ", horariosLivres=" + horariosLivres +
+                '}';
+    }
+}
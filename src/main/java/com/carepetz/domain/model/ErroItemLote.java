@@ -0,0 +1,49 @@
+package com.carepetz.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Erro de um item de uma operação em lote
+ * O índice é a posição do item na lista recebida
+ */
+public final class ErroItemLote {
+
+    private final int indice;
+    private final String mensagem;
+
+    public ErroItemLote(int indice, String mensagem) {
+        this.indice = indice;
+        this.mensagem = mensagem;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        ErroItemLote that = (ErroItemLote) obj;
+        return indice == that.indice &&
+               Objects.equals(mensagem, that.mensagem);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indice, mensagem);
+    }
+
+    @Override
+    public String toString() {
+        return "ErroItemLote{" +
+                "indice=" + indice +
+                ", mensagem='" + mensagem + '\'' +
+                '}';
+    }
+}
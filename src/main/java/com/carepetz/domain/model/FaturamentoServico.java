@@ -0,0 +1,89 @@
+package com.carepetz.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Quantidade de agendas e faturamento de um serviço em um período do relatório
+ * O período é identificado pelo seu primeiro dia (o próprio dia ou o dia 1 do mês)
+ */
+public final class FaturamentoServico {
+
+    public enum Agrupamento {
+        DIARIO,
+        MENSAL
+    }
+
+    private final LocalDate periodo;
+    private final Long servicoId;
+    private final String descricaoServico;
+    private final long quantidade;
+    private final BigDecimal valorTotal;
+
+    public FaturamentoServico(LocalDate periodo, Long servicoId, String descricaoServico,
+                              long quantidade, BigDecimal valorTotal) {
+        this.periodo = periodo;
+        this.servicoId = servicoId;
+        this.descricaoServico = descricaoServico;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+    }
+
+    /**
+     * Soma este faturamento ao de outro dia do mesmo serviço no mesmo período
+     */
+    public FaturamentoServico somar(FaturamentoServico outro) {
+        return new FaturamentoServico(periodo, servicoId, descricaoServico,
+                quantidade + outro.quantidade, valorTotal.add(outro.valorTotal));
+    }
+
+    public LocalDate getPeriodo() {
+        return periodo;
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    public String getDescricaoServico() {
+        return descricaoServico;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        FaturamentoServico that = (FaturamentoServico) obj;
+        return quantidade == that.quantidade &&
+               Objects.equals(periodo, that.periodo) &&
+               Objects.equals(servicoId, that.servicoId) &&
+               Objects.equals(descricaoServico, that.descricaoServico) &&
+               Objects.equals(valorTotal, that.valorTotal);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(periodo, servicoId, descricaoServico, quantidade, valorTotal);
+    }
+
+    @Override
+    public String toString() {
+        return "FaturamentoServico{" +
+                "periodo=" + periodo +
+                ", servicoId=" + servicoId +
+                ", descricaoServico='" + descricaoServico + '\'' +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                '}';
+    }
+}
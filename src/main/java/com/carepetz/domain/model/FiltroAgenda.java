@@ -0,0 +1,95 @@
+package com.carepetz.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Critérios opcionais da busca de agendas; um critério nulo não restringe o resultado
+ */
+public final class FiltroAgenda {
+
+    private final LocalDate dataInicio;
+    private final LocalDate dataFim;
+    private final Long clienteId;
+    private final Long servicoId;
+    private final BigDecimal valorMinimo;
+    private final BigDecimal valorMaximo;
+
+    public FiltroAgenda(LocalDate dataInicio, LocalDate dataFim, Long clienteId, Long servicoId,
+                        BigDecimal valorMinimo, BigDecimal valorMaximo) {
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+        }
+        if ((clienteId != null && clienteId <= 0) || (servicoId != null && servicoId <= 0)) {
+            throw new IllegalArgumentException("ID deve ser um número positivo");
+        }
+        if ((valorMinimo != null && valorMinimo.signum() < 0) || (valorMaximo != null && valorMaximo.signum() < 0)) {
+            throw new IllegalArgumentException("Valor não pode ser negativo");
+        }
+        if (valorMinimo != null && valorMaximo != null && valorMinimo.compareTo(valorMaximo) > 0) {
+            throw new IllegalArgumentException("Valor mínimo deve ser menor ou igual ao valor máximo");
+        }
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.clienteId = clienteId;
+        this.servicoId = servicoId;
+        this.valorMinimo = valorMinimo;
+        this.valorMaximo = valorMaximo;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    public BigDecimal getValorMinimo() {
+        return valorMinimo;
+    }
+
+    public BigDecimal getValorMaximo() {
+        return valorMaximo;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        FiltroAgenda that = (FiltroAgenda) obj;
+        return Objects.equals(dataInicio, that.dataInicio) &&
+               Objects.equals(dataFim, that.dataFim) &&
+               Objects.equals(clienteId, that.clienteId) &&
+               Objects.equals(servicoId, that.servicoId) &&
+               Objects.equals(valorMinimo, that.valorMinimo) &&
+               Objects.equals(valorMaximo, that.valorMaximo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataInicio, dataFim, clienteId, servicoId, valorMinimo, valorMaximo);
+    }
+
+    @Override
+    public String toString() {
+        return "FiltroAgenda{" +
+                "dataInicio=" + dataInicio +
+                ", dataFim=" + dataFim +
+                ", clienteId=" + clienteId +
+                ", servicoId=" + servicoId +
+                ", valorMinimo=" + valorMinimo +
+                ", valorMaximo=" + valorMaximo +
+                '}';
+    }
+}
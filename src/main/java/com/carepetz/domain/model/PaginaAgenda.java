@@ -0,0 +1,42 @@
+package com.carepetz.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de agendas obtida por paginação por chave (keyset)
+ * O cursor da próxima página é nulo quando não há mais registros
+ */
+public final class PaginaAgenda {
+
+    private final List<Agenda> itens;
+    private final CursorAgenda proximoCursor;
+
+    public PaginaAgenda(List<Agenda> itens, CursorAgenda proximoCursor) {
+        this.itens = List.copyOf(itens);
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou um registro além do tamanho
+     * pedido: a presença desse registro extra indica que existe próxima página
+     */
+    public static PaginaAgenda deConsulta(List<Agenda> resultado, int tamanho) {
+        if (resultado.size() <= tamanho) {
+            return new PaginaAgenda(resultado, null);
+        }
+        List<Agenda> itens = resultado.subList(0, tamanho);
+        return new PaginaAgenda(itens, CursorAgenda.de(itens.get(tamanho - 1)));
+    }
+
+    public List<Agenda> getItens() {
+        return itens;
+    }
+
+    public CursorAgenda getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean temProximaPagina() {
+        return proximoCursor != null;
+    }
+}
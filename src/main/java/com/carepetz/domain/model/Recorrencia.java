@@ -0,0 +1,96 @@
+package com.carepetz.domain.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Regra de recorrência de uma série de agendamentos
+ * Semelhante a uma RRULE simples: frequência, intervalo e quantidade de ocorrências
+ */
+public final class Recorrencia {
+
+    public static final int MAXIMO_OCORRENCIAS = 104;
+
+    public enum Frequencia {
+        SEMANAL,
+        MENSAL
+    }
+
+    private final Frequencia frequencia;
+    private final int intervalo;
+    private final int ocorrencias;
+
+    public Recorrencia(Frequencia frequencia, int intervalo, int ocorrencias) {
+        if (frequencia == null) {
+            throw new IllegalArgumentException("Frequência da recorrência é obrigatória");
+        }
+        if (intervalo < 1) {
+            throw new IllegalArgumentException("Intervalo da recorrência deve ser positivo");
+        }
+        if (ocorrencias < 1 || ocorrencias > MAXIMO_OCORRENCIAS) {
+            throw new IllegalArgumentException("Quantidade de ocorrências deve estar entre 1 e " + MAXIMO_OCORRENCIAS);
+        }
+        this.frequencia = frequencia;
+        this.intervalo = intervalo;
+        this.ocorrencias = ocorrencias;
+    }
+
+    /**
+     * Datas das ocorrências a partir da data inicial, que é a primeira delas
+     * Na frequência mensal cada data é calculada a partir do início, então dia 31
+     * vira o último dia dos meses mais curtos sem deslocar as ocorrências seguintes
+     */
+    public List<LocalDate> expandir(LocalDate dataInicio) {
+        if (dataInicio == null) {
+            throw new IllegalArgumentException("Data de início da série é obrigatória");
+        }
+        
+        List<LocalDate> datas = new ArrayList<>(ocorrencias);
+        for (int i = 0; i < ocorrencias; i++) {
+            long passos = (long) i * intervalo;
+            datas.add(frequencia == Frequencia.SEMANAL
+                    ? dataInicio.plusWeeks(passos)
+                    : dataInicio.plusMonths(passos));
+        }
+        return datas;
+    }
+
+    public Frequencia getFrequencia() {
+        return frequencia;
+    }
+
+    public int getIntervalo() {
+        return intervalo;
+    }
+
+    public int getOcorrencias() {
+        return ocorrencias;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        Recorrencia that = (Recorrencia) obj;
+        return frequencia == that.frequencia &&
+               intervalo == that.intervalo &&
+               ocorrencias == that.ocorrencias;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(frequencia, intervalo, ocorrencias);
+    }
+
+    @Override
+    public String toString() {
+        return "Recorrencia{" +
+                "frequencia=" + frequencia +
+                ", intervalo=" + intervalo +
+                ", ocorrencias=" + ocorrencias +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.carepetz.domain.model;
+
+import java.util.List;
+
+/**
+ * Resultado da criação de agendas em lote
+ * Os itens válidos são criados juntos; os inválidos são devolvidos com o motivo
+ */
+public final class ResultadoLoteAgenda {
+
+    private final List<Agenda> criadas;
+    private final List<ErroItemLote> erros;
+
+    public ResultadoLoteAgenda(List<Agenda> criadas, List<ErroItemLote> erros) {
+        this.criadas = List.copyOf(criadas);
+        this.erros = List.copyOf(erros);
+    }
+
+    public List<Agenda> getCriadas() {
+        return criadas;
+    }
+
+    public List<ErroItemLote> getErros() {
+        return erros;
+    }
+
+    public boolean possuiErros() {
+        return !erros.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLoteAgenda{" +
+                "criadas=" + criadas.size() +
+                ", erros=" + erros +
+                '}';
+    }
+}
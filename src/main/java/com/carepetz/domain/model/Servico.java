@@ -13,6 +13,7 @@ public class Servico {
     private String codigoServico;
     private String descricaoServico;
     private BigDecimal valorServico;
+    private Long versao;
 
     public Servico() {
         this.codigoServico = UUID.randomUUID().toString();
@@ -41,6 +42,10 @@ public class Servico {
         return valorServico;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     // Setters
     public void setId(Long id) {
         this.id = id;
@@ -58,6 +63,10 @@ public class Servico {
         this.valorServico = valorServico;
     }
 
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public boolean isValorValido() {
         return valorServico != null && valorServico.compareTo(BigDecimal.ZERO) > 0;
     }
@@ -1,9 +1,17 @@
 package com.carepetz.domain.port.in;
 
 import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.CursorAgenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.DisponibilidadeDia;
+import com.carepetz.domain.model.PaginaAgenda;
+import com.carepetz.domain.model.Recorrencia;
+import com.carepetz.domain.model.ResultadoLoteAgenda;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Porta de entrada para casos de uso de Agenda
@@ -13,16 +21,30 @@ public interface AgendaUseCase {
 
     Agenda criarAgenda(Agenda agenda);
     
+    ResultadoLoteAgenda criarAgendas(List<Agenda> agendas);
+    
+    ResultadoLoteAgenda criarSerie(Agenda modelo, Recorrencia recorrencia);
+    
     Optional<Agenda> buscarAgendaPorId(Long id);
     
     Optional<Agenda> buscarAgendaPorCodigo(String codigoAgenda);
     
     List<Agenda> listarTodasAgendas();
     
+    PaginaAgenda listarAgendasPaginadas(CursorAgenda cursor, int tamanho);
+    
+    void exportarAgendas(Consumer<Agenda> consumidor);
+    
     List<Agenda> listarAgendasPorCliente(Long clienteId);
     
+    PaginaAgenda listarHistoricoCliente(Long clienteId, CursorAgenda cursor, int tamanho);
+    
+    PaginaAgenda buscarAgendas(FiltroAgenda filtro, CursorAgenda cursor, int tamanho);
+    
     List<Agenda> listarAgendasPorData(LocalDate data);
     
+    int arquivarAgendasAnteriores(LocalDate dataLimite, int tamanhoLote);
+    
     List<Agenda> listarAgendasPorPeriodo(LocalDate dataInicio, LocalDate dataFim);
     
     Agenda atualizarAgenda(Long id, Agenda agenda);
@@ -33,5 +55,14 @@ public interface AgendaUseCase {
     
     boolean existeAgendaPorCodigo(String codigoAgenda);
     
+    List<DisponibilidadeDia> buscarHorariosLivres(LocalDate dataInicio, LocalDate dataFim,
+                                                  LocalTime abertura, LocalTime fechamento,
+                                                  int intervaloMinutos);
+    
     boolean existeConflitoHorario(LocalDate data, String hora, Long agendaIdExcluir);
+    
+    /**
+     * Versão da lista de agendas, incrementada a cada gravação confirmada
+     */
+    long versaoAgendas();
 }
@@ -25,4 +25,9 @@ public interface ClienteUseCase {
     boolean existeCliente(Long id);
     
     boolean existeClientePorCodigo(String codigoCliente);
+    
+    /**
+     * Versão da lista de clientes, incrementada a cada gravação confirmada
+     */
+    long versaoClientes();
 }
@@ -0,0 +1,16 @@
+package com.carepetz.domain.port.in;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import reactor.core.publisher.Flux;
+
+/**
+ * Porta de entrada para as consultas reativas de Agenda
+ * Define as listagens entregues como fluxo, com contrapressão
+ */
+public interface ConsultaAgendaReativaUseCase {
+
+    Flux<Agenda> transmitirAgendas();
+
+    Flux<Agenda> transmitirBusca(FiltroAgenda filtro);
+}
@@ -0,0 +1,15 @@
+package com.carepetz.domain.port.in;
+
+import com.carepetz.domain.model.FaturamentoServico;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Porta de entrada para casos de uso de relatórios
+ * Define os contratos para consultas gerenciais sobre as agendas
+ */
+public interface RelatorioUseCase {
+
+    List<FaturamentoServico> gerarFaturamentoPorServico(LocalDate dataInicio, LocalDate dataFim,
+                                                        FaturamentoServico.Agrupamento agrupamento);
+}
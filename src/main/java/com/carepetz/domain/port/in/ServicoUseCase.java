@@ -25,4 +25,9 @@ public interface ServicoUseCase {
     boolean existeServico(Long id);
     
     boolean existeServicoPorCodigo(String codigoServico);
+    
+    /**
+     * Versão da lista de serviços, incrementada a cada gravação confirmada
+     */
+    long versaoServicos();
 }
@@ -0,0 +1,23 @@
+package com.carepetz.domain.port.out;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import reactor.core.publisher.Flux;
+
+/**
+ * Porta de saída para leitura reativa de Agenda
+ * Entrega listagens longas como fluxo, no ritmo pedido por quem consome;
+ * as gravações continuam pela porta AgendaRepository
+ */
+public interface AgendaLeituraReativaRepository {
+
+    /**
+     * Todas as agendas, inclusive as arquivadas, ordenadas por data, hora e ID
+     */
+    Flux<Agenda> buscarTodas();
+
+    /**
+     * Agendas que atendem ao filtro, inclusive as arquivadas, ordenadas por data, hora e ID
+     */
+    Flux<Agenda> buscarPorFiltro(FiltroAgenda filtro);
+}
@@ -1,9 +1,18 @@
 package com.carepetz.domain.port.out;
 
 import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.CursorAgenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.PaginaAgenda;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Porta de saída para persistência de Agenda
@@ -13,23 +22,52 @@ public interface AgendaRepository {
 
     Agenda salvar(Agenda agenda);
     
+    List<Agenda> salvarTodas(List<Agenda> agendas);
+    
     Optional<Agenda> buscarPorId(Long id);
     
+    /**
+     * Data e hora atuais da agenda na tabela principal, sem carregar cliente e serviço;
+     * vazio se ela não existe ou foi arquivada
+     */
+    Optional<LocalDateTime> buscarHorario(Long id);
+    
     Optional<Agenda> buscarPorCodigo(String codigoAgenda);
     
     List<Agenda> buscarTodas();
     
+    PaginaAgenda buscarPagina(CursorAgenda cursor, int tamanho);
+    
+    void percorrerTodas(Consumer<Agenda> consumidor);
+    
     List<Agenda> buscarPorClienteId(Long clienteId);
     
+    PaginaAgenda buscarPaginaPorCliente(Long clienteId, CursorAgenda cursor, int tamanho);
+    
+    PaginaAgenda buscarPaginaPorFiltro(FiltroAgenda filtro, CursorAgenda cursor, int tamanho);
+    
     List<Agenda> buscarPorData(LocalDate data);
     
     List<Agenda> buscarPorPeriodo(LocalDate dataInicio, LocalDate dataFim);
     
-    void excluir(Long id);
+    Map<LocalDate, Set<LocalTime>> buscarHorariosOcupados(LocalDate dataInicio, LocalDate dataFim);
+    
+    /**
+     * @return false quando a agenda não existe
+     */
+    boolean excluir(Long id);
+    
+    /**
+     * Move para o histórico até tamanhoLote agendas anteriores à data limite, em uma transação
+     * @return quantidade de agendas movidas; zero quando não resta nenhuma
+     */
+    int arquivarLote(LocalDate dataLimite, int tamanhoLote);
     
     boolean existe(Long id);
     
     boolean existePorCodigo(String codigoAgenda);
     
-    boolean existeConflitoHorario(LocalDate data, String hora, Long agendaIdExcluir);
+    Set<String> buscarCodigosExistentes(Collection<String> codigosAgenda);
+    
+    boolean existeConflitoHorario(LocalDate data, LocalTime hora, Long agendaIdExcluir);
 }
@@ -1,6 +1,7 @@
 package com.carepetz.domain.port.out;
 
 import com.carepetz.domain.model.Cliente;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,8 @@ public interface ClienteRepository {
     
     Optional<Cliente> buscarPorId(Long id);
     
+    List<Cliente> buscarPorIds(Collection<Long> ids);
+    
     Optional<Cliente> buscarPorCodigo(String codigoCliente);
     
     List<Cliente> buscarTodos();
@@ -0,0 +1,17 @@
+package com.carepetz.domain.port.out;
+
+import com.carepetz.domain.model.FaturamentoServico;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Porta de saída para leitura dos consolidados de agendas
+ * Define os contratos para consultas de relatório
+ */
+public interface RelatorioRepository {
+
+    /**
+     * Faturamento diário por serviço no período, ordenado por data e serviço
+     */
+    List<FaturamentoServico> buscarFaturamentoDiario(LocalDate dataInicio, LocalDate dataFim);
+}
@@ -1,6 +1,7 @@
 package com.carepetz.domain.port.out;
 
 import com.carepetz.domain.model.Servico;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,8 @@ public interface ServicoRepository {
     
     Optional<Servico> buscarPorId(Long id);
     
+    List<Servico> buscarPorIds(Collection<Long> ids);
+    
     Optional<Servico> buscarPorCodigo(String codigoServico);
     
     List<Servico> buscarTodos();
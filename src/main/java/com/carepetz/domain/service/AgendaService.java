@@ -1,16 +1,44 @@
 package com.carepetz.domain.service;
 
+import com.carepetz.domain.exception.AgendaNaoEncontradaException;
+import com.carepetz.domain.exception.ConflitoHorarioException;
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.CursorAgenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.DisponibilidadeDia;
+import com.carepetz.domain.model.ErroItemLote;
+import com.carepetz.domain.model.PaginaAgenda;
+import com.carepetz.domain.model.Recorrencia;
+import com.carepetz.domain.model.ResultadoLoteAgenda;
+import com.carepetz.domain.model.Servico;
 import com.carepetz.domain.port.in.AgendaUseCase;
 import com.carepetz.domain.port.out.AgendaRepository;
 import com.carepetz.domain.port.out.ClienteRepository;
 import com.carepetz.domain.port.out.ServicoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Implementação dos casos de uso de Agenda
@@ -19,9 +47,19 @@ import java.util.Optional;
 @Service
 public class AgendaService implements AgendaUseCase {
 
+    static final int TAMANHO_MAXIMO_PAGINA = 200;
+    static final int DIAS_MAXIMOS_DISPONIBILIDADE = 62;
+    static final int INTERVALO_MINIMO_MINUTOS = 5;
+    static final int TAMANHO_MAXIMO_LOTE = 1000;
+    
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("HH:mm");
+
     private final AgendaRepository agendaRepository;
     private final ClienteRepository clienteRepository;
     private final ServicoRepository servicoRepository;
+    private final ContadorVersao versao = new ContadorVersao();
+    private final TravasHorario travas = new TravasHorario();
+    private final RepeticaoConflito repeticao = new RepeticaoConflito();
 
     @Autowired
     public AgendaService(AgendaRepository agendaRepository, 
@@ -32,20 +70,104 @@ public class AgendaService implements AgendaUseCase {
         this.servicoRepository = servicoRepository;
     }
 
+    /**
+     * Caminho de agendamento em uma transação: uma consulta para o cliente e o INSERT,
+     * com o serviço lido do catálogo em memória.
+     * A verificação do horário e o INSERT rodam com o horário travado até o fim da transação;
+     * código e horário únicos continuam garantidos pelas restrições do banco
+     */
     @Override
+    @Transactional
     public Agenda criarAgenda(Agenda agenda) {
+        carregarDependencias(agenda);
         validarAgenda(agenda);
-        validarDependencias(agenda);
         
-        if (agendaRepository.existePorCodigo(agenda.getCodigoAgenda())) {
-            throw new IllegalArgumentException("Agenda com código já existente: " + agenda.getCodigoAgenda());
+        Agenda criada = travas.executar(agenda.getDataAgenda(), agenda.getHoraAgenda(), () -> {
+            validarHorarioLivre(agenda, null);
+            return agendaRepository.salvar(agenda);
+        });
+        versao.incrementar();
+        return criada;
+    }
+
+    @Override
+    public ResultadoLoteAgenda criarAgendas(List<Agenda> agendas) {
+        validarLote(agendas);
+        
+        // Uma consulta IN por tipo de dependência para o lote inteiro
+        Map<Long, Cliente> clientes = clienteRepository.buscarPorIds(idsDistintos(agendas, Agenda::getCliente, Cliente::getId))
+                .stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        Map<Long, Servico> servicos = servicoRepository.buscarPorIds(idsDistintos(agendas, Agenda::getServico, Servico::getId))
+                .stream()
+                .collect(Collectors.toMap(Servico::getId, Function.identity()));
+        
+        List<ErroItemLote> erros = new ArrayList<>();
+        List<Agenda> validas = new ArrayList<>();
+        List<Integer> indicesValidos = new ArrayList<>();
+        for (int i = 0; i < agendas.size(); i++) {
+            Agenda agenda = agendas.get(i);
+            try {
+                vincularDependencias(agenda, clientes, servicos);
+                validarAgenda(agenda);
+                validas.add(agenda);
+                indicesValidos.add(i);
+            } catch (IllegalArgumentException e) {
+                erros.add(new ErroItemLote(i, e.getMessage()));
+            }
+        }
+        
+        // Código e horário são verificados contra o banco e contra os próprios itens do lote,
+        // com uma consulta cada
+        List<Agenda> paraCriar = new ArrayList<>();
+        if (!validas.isEmpty()) {
+            Set<String> codigos = agendaRepository.buscarCodigosExistentes(
+                    validas.stream().map(Agenda::getCodigoAgenda).collect(Collectors.toSet()));
+            Map<LocalDate, Set<LocalTime>> ocupados = buscarHorariosOcupadosDoLote(validas);
+            
+            Set<String> codigosReservados = new HashSet<>(codigos);
+            for (int i = 0; i < validas.size(); i++) {
+                Agenda agenda = validas.get(i);
+                Set<LocalTime> ocupadosNoDia = ocupados.computeIfAbsent(agenda.getDataAgenda(), data -> new HashSet<>());
+                if (!codigosReservados.add(agenda.getCodigoAgenda())) {
+                    erros.add(new ErroItemLote(indicesValidos.get(i), "Agenda com código já existente: " + agenda.getCodigoAgenda()));
+                } else if (!ocupadosNoDia.add(agenda.getHoraAgenda())) {
+                    erros.add(new ErroItemLote(indicesValidos.get(i), ConflitoHorarioException.MENSAGEM));
+                } else {
+                    paraCriar.add(agenda);
+                }
+            }
         }
         
-        if (existeConflitoHorario(agenda.getDataAgenda(), agenda.getHoraFormatada(), null)) {
-            throw new IllegalArgumentException("Já existe um agendamento para este horário");
+        erros.sort(Comparator.comparingInt(ErroItemLote::getIndice));
+        List<Agenda> criadas = List.of();
+        if (!paraCriar.isEmpty()) {
+            criadas = agendaRepository.salvarTodas(paraCriar);
+            versao.incrementar();
+        }
+        return new ResultadoLoteAgenda(criadas, erros);
+    }
+
+    /**
+     * Expande a série em ocorrências e as cria como um lote: a quantidade de consultas
+     * não depende do número de ocorrências
+     */
+    @Override
+    public ResultadoLoteAgenda criarSerie(Agenda modelo, Recorrencia recorrencia) {
+        if (modelo == null) {
+            throw new IllegalArgumentException("Agenda não pode ser nula");
+        }
+        if (recorrencia == null) {
+            throw new IllegalArgumentException("Recorrência é obrigatória");
         }
         
-        return agendaRepository.salvar(agenda);
+        List<Agenda> ocorrencias = new ArrayList<>(recorrencia.getOcorrencias());
+        for (LocalDate data : recorrencia.expandir(modelo.getDataAgenda())) {
+            Agenda ocorrencia = new Agenda(modelo.getCliente(), modelo.getServico(), data, modelo.getHoraAgenda());
+            ocorrencia.setValorServico(modelo.getValorServico());
+            ocorrencias.add(ocorrencia);
+        }
+        return criarAgendas(ocorrencias);
     }
 
     @Override
@@ -65,12 +187,42 @@ public class AgendaService implements AgendaUseCase {
         return agendaRepository.buscarTodas();
     }
 
+    @Override
+    public PaginaAgenda listarAgendasPaginadas(CursorAgenda cursor, int tamanho) {
+        validarTamanhoPagina(tamanho);
+        return agendaRepository.buscarPagina(cursor, tamanho);
+    }
+
+    @Override
+    public void exportarAgendas(Consumer<Agenda> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("Consumidor da exportação é obrigatório");
+        }
+        agendaRepository.percorrerTodas(consumidor);
+    }
+
     @Override
     public List<Agenda> listarAgendasPorCliente(Long clienteId) {
         validarId(clienteId);
         return agendaRepository.buscarPorClienteId(clienteId);
     }
 
+    @Override
+    public PaginaAgenda listarHistoricoCliente(Long clienteId, CursorAgenda cursor, int tamanho) {
+        validarId(clienteId);
+        validarTamanhoPagina(tamanho);
+        return agendaRepository.buscarPaginaPorCliente(clienteId, cursor, tamanho);
+    }
+
+    @Override
+    public PaginaAgenda buscarAgendas(FiltroAgenda filtro, CursorAgenda cursor, int tamanho) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("Filtro da busca é obrigatório");
+        }
+        validarTamanhoPagina(tamanho);
+        return agendaRepository.buscarPaginaPorFiltro(filtro, cursor, tamanho);
+    }
+
     @Override
     public List<Agenda> listarAgendasPorData(LocalDate data) {
         if (data == null) {
@@ -90,33 +242,136 @@ public class AgendaService implements AgendaUseCase {
         return agendaRepository.buscarPorPeriodo(dataInicio, dataFim);
     }
 
+    /**
+     * Arquiva em lotes independentes: uma interrupção mantém os lotes já movidos
+     * e a próxima execução continua de onde parou
+     */
     @Override
-    public Agenda atualizarAgenda(Long id, Agenda agenda) {
-        validarId(id);
-        validarAgenda(agenda);
-        validarDependencias(agenda);
+    public int arquivarAgendasAnteriores(LocalDate dataLimite, int tamanhoLote) {
+        if (dataLimite == null || dataLimite.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Data limite do arquivamento não pode ser futura");
+        }
+        if (tamanhoLote < 1 || tamanhoLote > TAMANHO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Tamanho do lote deve estar entre 1 e " + TAMANHO_MAXIMO_LOTE);
+        }
         
-        if (!agendaRepository.existe(id)) {
-            throw new IllegalArgumentException("Agenda não encontrada com ID: " + id);
+        int arquivadas = 0;
+        int movidas;
+        do {
+            movidas = agendaRepository.arquivarLote(dataLimite, tamanhoLote);
+            arquivadas += movidas;
+        } while (movidas == tamanhoLote);
+        
+        if (arquivadas > 0) {
+            versao.incrementar();
         }
+        return arquivadas;
+    }
+
+    @Override
+    public List<DisponibilidadeDia> buscarHorariosLivres(LocalDate dataInicio, LocalDate dataFim,
+                                                         LocalTime abertura, LocalTime fechamento,
+                                                         int intervaloMinutos) {
+        validarPeriodoDisponibilidade(dataInicio, dataFim);
+        validarExpediente(abertura, fechamento, intervaloMinutos);
         
-        if (existeConflitoHorario(agenda.getDataAgenda(), agenda.getHoraFormatada(), id)) {
-            throw new IllegalArgumentException("Já existe um agendamento para este horário");
+        // Datas passadas não aceitam agendamento, como em validarAgenda
+        LocalDate primeiroDia = dataInicio.isBefore(LocalDate.now()) ? LocalDate.now() : dataInicio;
+        if (primeiroDia.isAfter(dataFim)) {
+            return List.of();
         }
         
+        // Uma única consulta pelo período; o conflito segue a mesma regra de existeConflitoHorario:
+        // mesma data e mesmo horário (HH:mm)
+        Map<LocalDate, Set<LocalTime>> ocupados = agendaRepository.buscarHorariosOcupados(primeiroDia, dataFim);
+        LocalTime inicioExpediente = abertura.truncatedTo(ChronoUnit.MINUTES);
+        int minutosExpediente = (int) ChronoUnit.MINUTES.between(inicioExpediente, fechamento);
+        
+        List<DisponibilidadeDia> disponibilidade = new ArrayList<>();
+        for (LocalDate data = primeiroDia; !data.isAfter(dataFim); data = data.plusDays(1)) {
+            Set<LocalTime> ocupadosNoDia = ocupados.getOrDefault(data, Set.of());
+            List<LocalTime> livres = new ArrayList<>();
+            for (int minuto = 0; minuto < minutosExpediente; minuto += intervaloMinutos) {
+                LocalTime horario = inicioExpediente.plusMinutes(minuto);
+                if (!ocupadosNoDia.contains(horario)) {
+                    livres.add(horario);
+                }
+            }
+            disponibilidade.add(new DisponibilidadeDia(data, livres));
+        }
+        return disponibilidade;
+    }
+
+    /**
+     * Com a versão enviada pelo cliente (If-Match), um conflito volta para ele; sem ela,
+     * a versão é a lida aqui e o conflito com outra gravação é repetido com a leitura nova
+     */
+    @Override
+    public Agenda atualizarAgenda(Long id, Agenda agenda) {
+        validarId(id);
+        carregarDependencias(agenda);
+        validarAgenda(agenda);
+        
         agenda.setId(id);
-        return agendaRepository.salvar(agenda);
+        Agenda atualizada = agenda.getVersao() != null
+                ? gravarVersaoEnviada(agenda)
+                : repeticao.executar(() -> gravarVersaoRelida(agenda));
+        versao.incrementar();
+        return atualizada;
+    }
+
+    /**
+     * A versão enviada segue direto para o UPDATE, sem ler a agenda: o horário de origem vem
+     * do índice em memória e, como na versão relida, o atual e o novo ficam travados.
+     * Só quando nenhuma linha muda a existência é consultada, para separar 404 de 412
+     */
+    private Agenda gravarVersaoEnviada(Agenda agenda) {
+        Long id = agenda.getId();
+        LocalDateTime origem = agendaRepository.buscarHorario(id)
+                .orElseThrow(() -> new AgendaNaoEncontradaException(id));
+        try {
+            return travas.executar(origem.toLocalDate(), origem.toLocalTime(),
+                    agenda.getDataAgenda(), agenda.getHoraAgenda(), () -> {
+                        validarHorarioLivre(agenda, id);
+                        return agendaRepository.salvar(agenda);
+                    });
+        } catch (ConflitoVersaoException e) {
+            if (!agendaRepository.existe(id)) {
+                throw new AgendaNaoEncontradaException(id);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Trava o horário atual e o novo: quem disputa o horário liberado pela mudança espera
+     * a gravação, em vez de ainda vê-lo ocupado
+     */
+    private Agenda gravarVersaoRelida(Agenda agenda) {
+        Long id = agenda.getId();
+        // A leitura do horário atual substitui a verificação de existência; agendas
+        // arquivadas não têm versão e não podem ser alteradas
+        Agenda atual = agendaRepository.buscarPorId(id)
+                .filter(encontrada -> encontrada.getVersao() != null)
+                .orElseThrow(() -> new AgendaNaoEncontradaException(id));
+        
+        agenda.setVersao(atual.getVersao());
+        return travas.executar(atual.getDataAgenda(), atual.getHoraAgenda(),
+                agenda.getDataAgenda(), agenda.getHoraAgenda(), () -> {
+                    validarHorarioLivre(agenda, id);
+                    return agendaRepository.salvar(agenda);
+                });
     }
 
     @Override
     public void excluirAgenda(Long id) {
         validarId(id);
         
-        if (!agendaRepository.existe(id)) {
-            throw new IllegalArgumentException("Agenda não encontrada com ID: " + id);
+        // O próprio DELETE informa se a agenda existia
+        if (!agendaRepository.excluir(id)) {
+            throw new AgendaNaoEncontradaException(id);
         }
-        
-        agendaRepository.excluir(id);
+        versao.incrementar();
     }
 
     @Override
@@ -136,7 +391,25 @@ public class AgendaService implements AgendaUseCase {
         if (data == null || hora == null) {
             return false;
         }
-        return agendaRepository.existeConflitoHorario(data, hora, agendaIdExcluir);
+        try {
+            LocalTime horaConvertida = LocalTime.parse(hora, FORMATO_HORA);
+            return agendaRepository.existeConflitoHorario(data, horaConvertida, agendaIdExcluir);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long versaoAgendas() {
+        return versao.atual();
+    }
+
+    private void validarHorarioLivre(Agenda agenda, Long agendaIdExcluir) {
+        // Verificação antecipada; a restrição única no banco continua garantindo o horário
+        // e é traduzida pelo repositório em ConflitoHorarioException
+        if (agendaRepository.existeConflitoHorario(agenda.getDataAgenda(), agenda.getHoraAgenda(), agendaIdExcluir)) {
+            throw new ConflitoHorarioException();
+        }
     }
 
     private void validarAgenda(Agenda agenda) {
@@ -151,14 +424,65 @@ public class AgendaService implements AgendaUseCase {
         if (agenda.getDataAgenda().isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("Não é possível agendar para datas passadas");
         }
+        
+        // Horários são ocupados por minuto, como na comparação "HH:mm" da verificação de conflito
+        agenda.setHoraAgenda(agenda.getHoraAgenda().truncatedTo(ChronoUnit.MINUTES));
     }
 
-    private void validarDependencias(Agenda agenda) {
+    private void validarReferencias(Agenda agenda) {
+        if (agenda == null) {
+            throw new IllegalArgumentException("Agenda não pode ser nula");
+        }
+        
         if (agenda.getCliente() == null || agenda.getCliente().getId() == null) {
             throw new IllegalArgumentException("Cliente é obrigatório");
         }
         
-        if (!clienteRepository.existe(agenda.getCliente().getId())) {
+        if (agenda.getServico() == null || agenda.getServico().getId() == null) {
+            throw new IllegalArgumentException("Serviço é obrigatório");
+        }
+    }
+
+    /**
+     * Carrega cliente e serviço pelos caches, no lugar de apenas verificar que existem:
+     * a mesma leitura valida a referência e completa a agenda devolvida
+     */
+    private void carregarDependencias(Agenda agenda) {
+        validarReferencias(agenda);
+        
+        agenda.setCliente(clienteRepository.buscarPorId(agenda.getCliente().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado")));
+        agenda.setServico(servicoRepository.buscarPorId(agenda.getServico().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Serviço não encontrado")));
+    }
+
+    private void validarLote(List<Agenda> agendas) {
+        if (agendas == null || agendas.isEmpty()) {
+            throw new IllegalArgumentException("Lote de agendas não pode ser vazio");
+        }
+        if (agendas.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " agendas");
+        }
+        if (agendas.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Agenda não pode ser nula");
+        }
+    }
+
+    private static <T> Set<Long> idsDistintos(List<Agenda> agendas, Function<Agenda, T> dependencia, Function<T, Long> id) {
+        return agendas.stream()
+                .map(dependencia)
+                .filter(valor -> valor != null && id.apply(valor) != null)
+                .map(id)
+                .collect(Collectors.toSet());
+    }
+
+    private void vincularDependencias(Agenda agenda, Map<Long, Cliente> clientes, Map<Long, Servico> servicos) {
+        if (agenda.getCliente() == null || agenda.getCliente().getId() == null) {
+            throw new IllegalArgumentException("Cliente é obrigatório");
+        }
+        
+        Cliente cliente = clientes.get(agenda.getCliente().getId());
+        if (cliente == null) {
             throw new IllegalArgumentException("Cliente não encontrado");
         }
         
@@ -166,9 +490,31 @@ public class AgendaService implements AgendaUseCase {
             throw new IllegalArgumentException("Serviço é obrigatório");
         }
         
-        if (!servicoRepository.existe(agenda.getServico().getId())) {
+        Servico servico = servicos.get(agenda.getServico().getId());
+        if (servico == null) {
             throw new IllegalArgumentException("Serviço não encontrado");
         }
+        
+        agenda.setCliente(cliente);
+        agenda.setServico(servico);
+    }
+
+    private Map<LocalDate, Set<LocalTime>> buscarHorariosOcupadosDoLote(List<Agenda> agendas) {
+        LocalDate primeiroDia = agendas.get(0).getDataAgenda();
+        LocalDate ultimoDia = primeiroDia;
+        for (Agenda agenda : agendas) {
+            if (agenda.getDataAgenda().isBefore(primeiroDia)) {
+                primeiroDia = agenda.getDataAgenda();
+            }
+            if (agenda.getDataAgenda().isAfter(ultimoDia)) {
+                ultimoDia = agenda.getDataAgenda();
+            }
+        }
+        
+        Map<LocalDate, Set<LocalTime>> ocupados = new HashMap<>();
+        agendaRepository.buscarHorariosOcupados(primeiroDia, ultimoDia)
+                .forEach((data, horas) -> ocupados.put(data, new HashSet<>(horas)));
+        return ocupados;
     }
 
     private void validarId(Long id) {
@@ -177,6 +523,36 @@ public class AgendaService implements AgendaUseCase {
         }
     }
 
+    private void validarTamanhoPagina(int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+    }
+
+    private void validarPeriodoDisponibilidade(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Datas de início e fim são obrigatórias");
+        }
+        if (dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+        }
+        if (ChronoUnit.DAYS.between(dataInicio, dataFim) >= DIAS_MAXIMOS_DISPONIBILIDADE) {
+            throw new IllegalArgumentException("Período deve ter no máximo " + DIAS_MAXIMOS_DISPONIBILIDADE + " dias");
+        }
+    }
+
+    private void validarExpediente(LocalTime abertura, LocalTime fechamento, int intervaloMinutos) {
+        if (abertura == null || fechamento == null) {
+            throw new IllegalArgumentException("Horários de abertura e fechamento são obrigatórios");
+        }
+        if (!abertura.isBefore(fechamento)) {
+            throw new IllegalArgumentException("Abertura deve ser anterior ao fechamento");
+        }
+        if (intervaloMinutos < INTERVALO_MINIMO_MINUTOS) {
+            throw new IllegalArgumentException("Intervalo deve ser de pelo menos " + INTERVALO_MINIMO_MINUTOS + " minutos");
+        }
+    }
+
     private void validarCodigoAgenda(String codigoAgenda) {
         if (codigoAgenda == null || codigoAgenda.trim().isEmpty()) {
             throw new IllegalArgumentException("Código da agenda é obrigatório");
@@ -1,5 +1,6 @@
 package com.carepetz.domain.service;
 
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Cliente;
 import com.carepetz.domain.port.in.ClienteUseCase;
 import com.carepetz.domain.port.out.ClienteRepository;
@@ -17,6 +18,8 @@ import java.util.Optional;
 public class ClienteService implements ClienteUseCase {
 
     private final ClienteRepository clienteRepository;
+    private final ContadorVersao versao = new ContadorVersao();
+    private final RepeticaoConflito repeticao = new RepeticaoConflito();
 
     @Autowired
     public ClienteService(ClienteRepository clienteRepository) {
@@ -31,7 +34,9 @@ public class ClienteService implements ClienteUseCase {
             throw new IllegalArgumentException("Cliente com código já existente: " + cliente.getCodigoCliente());
         }
         
-        return clienteRepository.salvar(cliente);
+        Cliente criado = clienteRepository.salvar(cliente);
+        versao.incrementar();
+        return criado;
     }
 
     @Override
@@ -51,17 +56,38 @@ public class ClienteService implements ClienteUseCase {
         return clienteRepository.buscarTodos();
     }
 
+    /**
+     * Com a versão enviada pelo cliente (If-Match), o UPDATE condicionado a ela decide sozinho;
+     * só quando nenhuma linha muda a existência é consultada, para separar cliente inexistente
+     * de conflito, como em AgendaService. Sem ela, a versão vem da leitura em cache, e um
+     * conflito com outra gravação é repetido com a leitura nova
+     */
     @Override
     public Cliente atualizarCliente(Long id, Cliente cliente) {
         validarId(id);
         validarCliente(cliente);
         
-        if (!clienteRepository.existe(id)) {
-            throw new IllegalArgumentException("Cliente não encontrado com ID: " + id);
-        }
-        
         cliente.setId(id);
-        return clienteRepository.salvar(cliente);
+        Cliente atualizado;
+        if (cliente.getVersao() != null) {
+            try {
+                atualizado = clienteRepository.salvar(cliente);
+            } catch (ConflitoVersaoException e) {
+                if (!clienteRepository.existe(id)) {
+                    throw new IllegalArgumentException("Cliente não encontrado com ID: " + id);
+                }
+                throw e;
+            }
+        } else {
+            atualizado = repeticao.executar(() -> {
+                Cliente atual = clienteRepository.buscarPorId(id)
+                        .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado com ID: " + id));
+                cliente.setVersao(atual.getVersao());
+                return clienteRepository.salvar(cliente);
+            });
+        }
+        versao.incrementar();
+        return atualizado;
     }
 
     @Override
@@ -73,6 +99,7 @@ public class ClienteService implements ClienteUseCase {
         }
         
         clienteRepository.excluir(id);
+        versao.incrementar();
     }
 
     @Override
@@ -87,6 +114,11 @@ public class ClienteService implements ClienteUseCase {
         return clienteRepository.existePorCodigo(codigoCliente);
     }
 
+    @Override
+    public long versaoClientes() {
+        return versao.atual();
+    }
+
     private void validarCliente(Cliente cliente) {
         if (cliente == null) {
             throw new IllegalArgumentException("Cliente não pode ser nulo");
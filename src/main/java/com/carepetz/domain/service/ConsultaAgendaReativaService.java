@@ -0,0 +1,37 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.port.in.ConsultaAgendaReativaUseCase;
+import com.carepetz.domain.port.out.AgendaLeituraReativaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Implementação das consultas reativas de Agenda
+ * Só leitura: nada aqui passa pela porta de gravação nem pelos contadores de versão
+ */
+@Service
+public class ConsultaAgendaReativaService implements ConsultaAgendaReativaUseCase {
+
+    private final AgendaLeituraReativaRepository agendaLeituraReativaRepository;
+
+    @Autowired
+    public ConsultaAgendaReativaService(AgendaLeituraReativaRepository agendaLeituraReativaRepository) {
+        this.agendaLeituraReativaRepository = agendaLeituraReativaRepository;
+    }
+
+    @Override
+    public Flux<Agenda> transmitirAgendas() {
+        return agendaLeituraReativaRepository.buscarTodas();
+    }
+
+    @Override
+    public Flux<Agenda> transmitirBusca(FiltroAgenda filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("Filtro não pode ser nulo");
+        }
+        return agendaLeituraReativaRepository.buscarPorFiltro(filtro);
+    }
+}
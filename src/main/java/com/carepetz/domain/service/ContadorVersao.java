@@ -0,0 +1,33 @@
+package com.carepetz.domain.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão de um agregado, incrementada a cada gravação
+ * Dentro de uma transação o incremento acontece só ao final, para que a versão nova
+ * nunca seja lida junto com dados ainda não confirmados
+ */
+final class ContadorVersao {
+
+    private final AtomicLong versao = new AtomicLong();
+
+    long atual() {
+        return versao.get();
+    }
+
+    void incrementar() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versao.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                versao.incrementAndGet();
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.model.FaturamentoServico;
+import com.carepetz.domain.port.in.RelatorioUseCase;
+import com.carepetz.domain.port.out.RelatorioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação dos casos de uso de relatórios
+ * Os relatórios leem o consolidado diário por serviço, nunca as agendas
+ */
+@Service
+public class RelatorioService implements RelatorioUseCase {
+
+    /**
+     * Período máximo de um relatório, que limita a leitura a dias × serviços linhas
+     */
+    static final int DIAS_MAXIMOS_RELATORIO = 366;
+
+    private final RelatorioRepository relatorioRepository;
+
+    @Autowired
+    public RelatorioService(RelatorioRepository relatorioRepository) {
+        this.relatorioRepository = relatorioRepository;
+    }
+
+    @Override
+    public List<FaturamentoServico> gerarFaturamentoPorServico(LocalDate dataInicio, LocalDate dataFim,
+                                                               FaturamentoServico.Agrupamento agrupamento) {
+        validarPeriodo(dataInicio, dataFim);
+        if (agrupamento == null) {
+            throw new IllegalArgumentException("Agrupamento do relatório é obrigatório");
+        }
+
+        List<FaturamentoServico> diario = relatorioRepository.buscarFaturamentoDiario(dataInicio, dataFim);
+        if (agrupamento == FaturamentoServico.Agrupamento.DIARIO) {
+            return diario;
+        }
+
+        // As linhas chegam ordenadas por data, então os meses saem em ordem
+        Map<String, FaturamentoServico> mensal = new LinkedHashMap<>();
+        for (FaturamentoServico dia : diario) {
+            LocalDate mes = dia.getPeriodo().withDayOfMonth(1);
+            FaturamentoServico doMes = new FaturamentoServico(mes, dia.getServicoId(), dia.getDescricaoServico(),
+                    dia.getQuantidade(), dia.getValorTotal());
+            mensal.merge(mes + "|" + dia.getServicoId(), doMes, FaturamentoServico::somar);
+        }
+        return new ArrayList<>(mensal.values());
+    }
+
+    private void validarPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Datas de início e fim são obrigatórias");
+        }
+        if (dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+        }
+        if (ChronoUnit.DAYS.between(dataInicio, dataFim) >= DIAS_MAXIMOS_RELATORIO) {
+            throw new IllegalArgumentException("Período deve ter no máximo " + DIAS_MAXIMOS_RELATORIO + " dias");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.exception.ConflitoVersaoException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Repetição limitada de uma leitura seguida de gravação condicionada à versão lida
+ * Entre as tentativas a espera dobra, com uma parte aleatória para que os concorrentes não
+ * voltem a colidir juntos. Cada tentativa precisa da própria transação, então não deve rodar
+ * dentro de uma; conflitos com a versão enviada pelo cliente não passam por aqui
+ */
+final class RepeticaoConflito {
+
+    static final int TENTATIVAS = 3;
+    static final Duration ESPERA_INICIAL = Duration.ofMillis(10);
+
+    private final int tentativas;
+    private final long esperaInicialNanos;
+
+    RepeticaoConflito() {
+        this(TENTATIVAS, ESPERA_INICIAL);
+    }
+
+    RepeticaoConflito(int tentativas, Duration esperaInicial) {
+        if (tentativas < 1) {
+            throw new IllegalArgumentException("Quantidade de tentativas deve ser positiva");
+        }
+        this.tentativas = tentativas;
+        this.esperaInicialNanos = esperaInicial.toNanos();
+    }
+
+    <T> T executar(Supplier<T> tentativa) {
+        for (int realizadas = 1; ; realizadas++) {
+            try {
+                return tentativa.get();
+            } catch (ConflitoVersaoException e) {
+                if (realizadas >= tentativas || !esperar(realizadas)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Espera entre metade e o total de esperaInicial * 2^(realizadas - 1)
+     */
+    private boolean esperar(int realizadas) {
+        long limite = esperaInicialNanos << (realizadas - 1);
+        long espera = limite / 2 + ThreadLocalRandom.current().nextLong(limite / 2 + 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(espera);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.carepetz.domain.service;
 
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Servico;
 import com.carepetz.domain.port.in.ServicoUseCase;
 import com.carepetz.domain.port.out.ServicoRepository;
@@ -18,6 +19,8 @@ import java.util.Optional;
 public class ServicoService implements ServicoUseCase {
 
     private final ServicoRepository servicoRepository;
+    private final ContadorVersao versao = new ContadorVersao();
+    private final RepeticaoConflito repeticao = new RepeticaoConflito();
 
     @Autowired
     public ServicoService(ServicoRepository servicoRepository) {
@@ -32,7 +35,9 @@ public class ServicoService implements ServicoUseCase {
             throw new IllegalArgumentException("Serviço com código já existente: " + servico.getCodigoServico());
         }
         
-        return servicoRepository.salvar(servico);
+        Servico criado = servicoRepository.salvar(servico);
+        versao.incrementar();
+        return criado;
     }
 
     @Override
@@ -52,17 +57,35 @@ public class ServicoService implements ServicoUseCase {
         return servicoRepository.buscarTodos();
     }
 
+    /**
+     * Como em atualizarCliente; sem If-Match, a versão vem do catálogo em memória
+     */
     @Override
     public Servico atualizarServico(Long id, Servico servico) {
         validarId(id);
         validarServico(servico);
         
-        if (!servicoRepository.existe(id)) {
-            throw new IllegalArgumentException("Serviço não encontrado com ID: " + id);
-        }
-        
         servico.setId(id);
-        return servicoRepository.salvar(servico);
+        Servico atualizado;
+        if (servico.getVersao() != null) {
+            try {
+                atualizado = servicoRepository.salvar(servico);
+            } catch (ConflitoVersaoException e) {
+                if (!servicoRepository.existe(id)) {
+                    throw new IllegalArgumentException("Serviço não encontrado com ID: " + id);
+                }
+                throw e;
+            }
+        } else {
+            atualizado = repeticao.executar(() -> {
+                Servico atual = servicoRepository.buscarPorId(id)
+                        .orElseThrow(() -> new IllegalArgumentException("Serviço não encontrado com ID: " + id));
+                servico.setVersao(atual.getVersao());
+                return servicoRepository.salvar(servico);
+            });
+        }
+        versao.incrementar();
+        return atualizado;
     }
 
     @Override
@@ -74,6 +97,7 @@ public class ServicoService implements ServicoUseCase {
         }
         
         servicoRepository.excluir(id);
+        versao.incrementar();
     }
 
     @Override
@@ -88,6 +112,11 @@ public class ServicoService implements ServicoUseCase {
         return servicoRepository.existePorCodigo(codigoServico);
     }
 
+    @Override
+    public long versaoServicos() {
+        return versao.atual();
+    }
+
     private void validarServico(Servico servico) {
         if (servico == null) {
             throw new IllegalArgumentException("Serviço não pode ser nulo");
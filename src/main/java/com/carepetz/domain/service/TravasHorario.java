@@ -0,0 +1,94 @@
+package com.carepetz.domain.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Travas por horário (data e hora) em listras: um vetor fixo de locks escolhidos pelo hash
+ * do horário, para que a memória não cresça com a quantidade de horários. Horários distintos
+ * só esperam um pelo outro quando caem na mesma listra.
+ * Dentro de uma transação as travas são liberadas só ao final, para que o próximo na fila
+ * já enxergue a gravação confirmada
+ */
+final class TravasHorario {
+
+    static final int LISTRAS = 256;
+
+    private final ReentrantLock[] travas;
+
+    TravasHorario() {
+        this(LISTRAS);
+    }
+
+    TravasHorario(int listras) {
+        if (listras < 1 || Integer.bitCount(listras) != 1) {
+            throw new IllegalArgumentException("Quantidade de listras deve ser uma potência de 2");
+        }
+        travas = new ReentrantLock[listras];
+        for (int i = 0; i < listras; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Executa a seção crítica com a listra do horário travada
+     */
+    <T> T executar(LocalDate data, LocalTime hora, Supplier<T> secaoCritica) {
+        return executar(new int[] {listra(data, hora)}, secaoCritica);
+    }
+
+    /**
+     * Executa a seção crítica com as listras dos dois horários travadas, como ao mover
+     * uma agenda. As listras são travadas sempre em ordem crescente, então duas mudanças
+     * em sentidos opostos não se bloqueiam mutuamente
+     */
+    <T> T executar(LocalDate data, LocalTime hora, LocalDate outraData, LocalTime outraHora,
+                   Supplier<T> secaoCritica) {
+        int[] listras = {listra(data, hora), listra(outraData, outraHora)};
+        Arrays.sort(listras);
+        if (listras[0] == listras[1]) {
+            listras = new int[] {listras[0]};
+        }
+        return executar(listras, secaoCritica);
+    }
+
+    int listra(LocalDate data, LocalTime hora) {
+        int hash = Objects.hash(data, hora);
+        // Espalha os bits altos, como o HashMap, antes de reduzir ao tamanho do vetor
+        return (hash ^ (hash >>> 16)) & (travas.length - 1);
+    }
+
+    private <T> T executar(int[] listras, Supplier<T> secaoCritica) {
+        for (int listra : listras) {
+            travas[listra].lock();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Registrada antes da seção crítica: com falha, o rollback também libera as travas
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    liberar(listras);
+                }
+            });
+            return secaoCritica.get();
+        }
+        try {
+            return secaoCritica.get();
+        } finally {
+            liberar(listras);
+        }
+    }
+
+    private void liberar(int[] listras) {
+        for (int i = listras.length - 1; i >= 0; i--) {
+            travas[listras[i]].unlock();
+        }
+    }
+}
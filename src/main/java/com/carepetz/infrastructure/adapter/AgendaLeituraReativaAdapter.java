@@ -0,0 +1,120 @@
+package com.carepetz.infrastructure.adapter;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.out.AgendaLeituraReativaRepository;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptador R2DBC de leitura das agendas
+ * Implementa a porta AgendaLeituraReativaRepository com SQL direto, trazendo cliente e
+ * serviço no mesmo SELECT; as linhas são entregues conforme o consumidor as pede.
+ * As gravações continuam no AgendaRepositoryAdapter (JPA), sobre o mesmo banco
+ */
+@Component
+public class AgendaLeituraReativaAdapter implements AgendaLeituraReativaRepository {
+
+    private static final FiltroAgenda SEM_FILTRO = new FiltroAgenda(null, null, null, null, null, null);
+
+    private static final String CONSULTA = """
+            SELECT a.id, a.codigo_agenda, a.data_agenda, a.hora_agenda, a.valor_servico,
+                   c.id AS cliente_id, c.codigo_cliente, c.nome_cliente, c.celular_cliente, c.email_cliente,
+                   s.id AS servico_id, s.codigo_servico, s.descricao_servico, s.valor_servico AS valor_catalogo
+            FROM %s a
+            JOIN clientes c ON c.id = a.cliente_id
+            JOIN servicos s ON s.id = a.servico_id""";
+
+    // A mesma ordem do índice (data_agenda, hora_agenda, id) das duas tabelas, aplicada também à união
+    private static final String ORDENACAO = " ORDER BY data_agenda, hora_agenda, id";
+
+    private final DatabaseClient databaseClient;
+    private final AgendaRepositoryAdapter agendaRepositoryAdapter;
+
+    @Autowired
+    public AgendaLeituraReativaAdapter(DatabaseClient databaseClient, AgendaRepositoryAdapter agendaRepositoryAdapter) {
+        this.databaseClient = databaseClient;
+        this.agendaRepositoryAdapter = agendaRepositoryAdapter;
+    }
+
+    @Override
+    public Flux<Agenda> buscarTodas() {
+        return buscarPorFiltro(SEM_FILTRO);
+    }
+
+    /**
+     * Histórico e tabela principal em um único SELECT com UNION ALL: um lote movido pelo
+     * arquivamento durante a leitura não some entre duas consultas separadas. Um período que
+     * começa depois do limite arquivado lê só a tabela principal.
+     * Só os critérios informados entram no WHERE, como em AgendaEspecificacoes
+     */
+    @Override
+    public Flux<Agenda> buscarPorFiltro(FiltroAgenda filtro) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        restringir(condicoes, parametros, "a.data_agenda >= :dataInicio", "dataInicio", filtro.getDataInicio());
+        restringir(condicoes, parametros, "a.data_agenda <= :dataFim", "dataFim", filtro.getDataFim());
+        restringir(condicoes, parametros, "a.cliente_id = :clienteId", "clienteId", filtro.getClienteId());
+        restringir(condicoes, parametros, "a.servico_id = :servicoId", "servicoId", filtro.getServicoId());
+        restringir(condicoes, parametros, "a.valor_servico >= :valorMinimo", "valorMinimo", filtro.getValorMinimo());
+        restringir(condicoes, parametros, "a.valor_servico <= :valorMaximo", "valorMaximo", filtro.getValorMaximo());
+
+        String where = condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes);
+        String sql = String.format(CONSULTA, "agendas") + where + ORDENACAO;
+        if (agendaRepositoryAdapter.alcancaHistorico(filtro.getDataInicio())) {
+            sql = String.format(CONSULTA, "agendas_historico") + where + " UNION ALL " + sql;
+        }
+
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(AgendaJpaRepository.TAMANHO_LOTE_STREAM));
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+        return consulta.map((row, metadata) -> mapear(row)).all();
+    }
+
+    private static void restringir(List<String> condicoes, Map<String, Object> parametros,
+                                   String condicao, String nome, Object valor) {
+        if (valor != null) {
+            condicoes.add(condicao);
+            parametros.put(nome, valor);
+        }
+    }
+
+    private static Agenda mapear(Row row) {
+        Cliente cliente = new Cliente(row.get("nome_cliente", String.class),
+                row.get("celular_cliente", String.class), row.get("email_cliente", String.class));
+        cliente.setId(row.get("cliente_id", Long.class));
+        cliente.setCodigoCliente(row.get("codigo_cliente", String.class));
+
+        Servico servico = new Servico(row.get("descricao_servico", String.class),
+                row.get("valor_catalogo", BigDecimal.class));
+        servico.setId(row.get("servico_id", Long.class));
+        servico.setCodigoServico(row.get("codigo_servico", String.class));
+
+        Agenda agenda = new Agenda();
+        agenda.setId(row.get("id", Long.class));
+        agenda.setCodigoAgenda(row.get("codigo_agenda", String.class));
+        agenda.setDataAgenda(row.get("data_agenda", LocalDate.class));
+        agenda.setHoraAgenda(row.get("hora_agenda", LocalTime.class));
+        agenda.setCliente(cliente);
+        agenda.setServico(servico);
+        // O valor cobrado fica o da agenda, não o atual do catálogo
+        agenda.setValorServico(row.get("valor_servico", BigDecimal.class));
+        return agenda;
+    }
+}
@@ -1,88 +1,445 @@
 package com.carepetz.infrastructure.adapter;
 
+import com.carepetz.domain.exception.AgendaDuplicadaException;
+import com.carepetz.domain.exception.ConflitoHorarioException;
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.CursorAgenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.PaginaAgenda;
 import com.carepetz.domain.port.out.AgendaRepository;
+import com.carepetz.infrastructure.cache.OcupacaoHorarios;
 import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.AgendaHistoricoEntity;
+import com.carepetz.infrastructure.entity.AgendaRollupDiariaId;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
 import com.carepetz.infrastructure.mapper.AgendaMapper;
+import com.carepetz.infrastructure.repository.AgendaClienteProjecao;
+import com.carepetz.infrastructure.repository.AgendaEspecificacoes;
+import com.carepetz.infrastructure.repository.AgendaHistoricoJpaRepository;
 import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import com.carepetz.infrastructure.repository.AgendaRollupJpaRepository;
+import com.carepetz.infrastructure.repository.HorarioAgendaProjecao;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adaptador de repositório para Agenda
  * Implementa a porta de saída usando JPA
+ * Os horários ocupados ficam também em um índice em memória, aquecido na
+ * inicialização e atualizado após cada gravação confirmada
+ * O consolidado diário por serviço é ajustado na mesma transação de cada gravação
+ * Agendas passadas são movidas para o histórico; as leituras só consultam o
+ * histórico quando o período pedido alcança datas anteriores ao limite arquivado
  */
 @Repository
-public class AgendaRepositoryAdapter implements AgendaRepository {
+public class AgendaRepositoryAdapter implements AgendaRepository, SmartInitializingSingleton {
+
+    /**
+     * Quantidade de INSERTs enviados por ida ao banco na gravação em lote
+     */
+    static final int TAMANHO_LOTE_INSERCAO = 50;
+
+    /**
+     * Quantidade de chaves (data, serviço) do consolidado lembradas como já criadas
+     */
+    static final int MAXIMO_CONSOLIDADOS_CONHECIDOS = 10_000;
+
+    private static final Comparator<Agenda> ORDEM_CRONOLOGICA = Comparator.comparing(Agenda::getDataAgenda)
+            .thenComparing(Agenda::getHoraAgenda)
+            .thenComparing(Agenda::getId);
+
+    private static final Comparator<Agenda> ORDEM_MAIS_RECENTE = Comparator.comparing(Agenda::getDataAgenda)
+            .thenComparing(Agenda::getHoraAgenda)
+            .reversed();
 
     private final AgendaJpaRepository agendaJpaRepository;
+    private final AgendaHistoricoJpaRepository agendaHistoricoJpaRepository;
+    private final AgendaRollupJpaRepository agendaRollupJpaRepository;
+    private final EntityManager entityManager;
+    private final OcupacaoHorarios ocupacaoHorarios = new OcupacaoHorarios();
+
+    /**
+     * Agendas com data anterior a este limite podem estar no histórico; nulo enquanto nada foi arquivado
+     */
+    private final AtomicReference<LocalDate> limiteHistorico = new AtomicReference<>();
+
+    /**
+     * Chaves (data, serviço) cuja linha do consolidado já foi confirmada no banco. Limitado em
+     * tamanho: uma chave descartada só faz a próxima gravação dela voltar a bloquear o serviço
+     */
+    private final Cache<AgendaRollupDiariaId, Boolean> consolidadosCriados = Caffeine.newBuilder()
+            .maximumSize(MAXIMO_CONSOLIDADOS_CONHECIDOS)
+            .build();
 
     @Autowired
-    public AgendaRepositoryAdapter(AgendaJpaRepository agendaJpaRepository) {
+    public AgendaRepositoryAdapter(AgendaJpaRepository agendaJpaRepository,
+                                   AgendaHistoricoJpaRepository agendaHistoricoJpaRepository,
+                                   AgendaRollupJpaRepository agendaRollupJpaRepository,
+                                   EntityManager entityManager) {
         this.agendaJpaRepository = agendaJpaRepository;
+        this.agendaHistoricoJpaRepository = agendaHistoricoJpaRepository;
+        this.agendaRollupJpaRepository = agendaRollupJpaRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
+    public void afterSingletonsInstantiated() {
+        agendaHistoricoJpaRepository.buscarDataMaisRecente()
+                .ifPresent(data -> avancarLimiteHistorico(data.plusDays(1)));
+        
+        // Datas passadas não recebem novos agendamentos, então não precisam do índice
+        for (HorarioAgendaProjecao horario : agendaJpaRepository.buscarHorariosAPartirDe(LocalDate.now())) {
+            ocupacaoHorarios.registrar(horario.getId(), horario.getDataAgenda(), horario.getHoraAgenda());
+        }
+    }
+
+    @Override
+    @Transactional
     public Agenda salvar(Agenda agenda) {
-        AgendaEntity entity = AgendaMapper.toEntity(agenda);
-        AgendaEntity savedEntity = agendaJpaRepository.save(entity);
-        return AgendaMapper.toDomain(savedEntity);
+        if (precisaConferirCodigoArquivado(agenda) && agendaHistoricoJpaRepository.existsByCodigoAgenda(agenda.getCodigoAgenda())) {
+            throw new AgendaDuplicadaException(agenda.getCodigoAgenda());
+        }
+        try {
+            if (agenda.getId() == null) {
+                AgendaEntity entity = novaEntidade(agenda);
+                entityManager.persist(entity);
+                // O flush imediato faz a restrição de horário único ser verificada aqui
+                entityManager.flush();
+                agenda.setId(entity.getId());
+                agenda.setVersao(entity.getVersao());
+            } else {
+                // Retira os valores antigos, lidos pelo próprio banco, antes de sobrescrevê-los
+                agendaRollupJpaRepository.retirar(List.of(agenda.getId()));
+                // UPDATE direto evita o SELECT do merge da agenda, do cliente e do serviço;
+                // sem linha alterada, o rollback devolve ao consolidado o que foi retirado
+                int atualizadas = agendaJpaRepository.atualizar(agenda.getId(), agenda.getVersao(),
+                        agenda.getCodigoAgenda(), agenda.getDataAgenda(), agenda.getHoraAgenda(),
+                        agenda.getValorServico(), referenciaCliente(agenda), referenciaServico(agenda));
+                if (atualizadas == 0) {
+                    throw new ConflitoVersaoException();
+                }
+                agenda.setVersao(agenda.getVersao() + 1);
+            }
+            acumularConsolidado(List.of(agenda), List.of(agenda.getId()));
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            throw traduzirViolacao(e, agenda);
+        }
+        
+        Long id = agenda.getId();
+        LocalDate data = agenda.getDataAgenda();
+        LocalTime hora = agenda.getHoraAgenda();
+        aposConfirmacao(() -> ocupacaoHorarios.registrar(id, data, hora));
+        return agenda;
+    }
+
+    @Override
+    @Transactional
+    public List<Agenda> salvarTodas(List<Agenda> agendas) {
+        // Agrupa os INSERTs em lotes JDBC apenas nesta sessão
+        entityManager.unwrap(Session.class).setJdbcBatchSize(TAMANHO_LOTE_INSERCAO);
+        
+        List<AgendaEntity> entities = new ArrayList<>(agendas.size());
+        try {
+            for (Agenda agenda : agendas) {
+                AgendaEntity entity = novaEntidade(agenda);
+                entityManager.persist(entity);
+                entities.add(entity);
+            }
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw violaRestricao(e, AgendaEntity.UK_DATA_HORA) ? new ConflitoHorarioException() : e;
+        }
+        
+        if (!entities.isEmpty()) {
+            acumularConsolidado(agendas, entities.stream().map(AgendaEntity::getId).collect(Collectors.toList()));
+        }
+        
+        for (int i = 0; i < agendas.size(); i++) {
+            AgendaEntity entity = entities.get(i);
+            agendas.get(i).setId(entity.getId());
+            agendas.get(i).setVersao(entity.getVersao());
+            aposConfirmacao(() -> ocupacaoHorarios.registrar(entity.getId(), entity.getDataAgenda(), entity.getHoraAgenda()));
+        }
+        return agendas;
     }
 
     @Override
     public Optional<Agenda> buscarPorId(Long id) {
-        return agendaJpaRepository.findById(id)
+        Optional<Agenda> agenda = agendaJpaRepository.findById(id)
                 .map(AgendaMapper::toDomain);
+        if (agenda.isPresent() || limiteHistorico.get() == null) {
+            return agenda;
+        }
+        return agendaHistoricoJpaRepository.findById(id)
+                .map(AgendaMapper::toDomain);
+    }
+
+    /**
+     * Lido do índice de horários, sem ida ao banco; só uma agenda fora dele (de dia passado)
+     * é lida pela chave primária
+     */
+    @Override
+    public Optional<LocalDateTime> buscarHorario(Long id) {
+        Optional<LocalDateTime> indexado = ocupacaoHorarios.horarioDe(id);
+        if (indexado.isPresent()) {
+            return indexado;
+        }
+        return agendaJpaRepository.buscarHorarioPorId(id)
+                .map(horario -> LocalDateTime.of(horario.getDataAgenda(), horario.getHoraAgenda()));
     }
 
     @Override
     public Optional<Agenda> buscarPorCodigo(String codigoAgenda) {
-        return agendaJpaRepository.findByCodigoAgenda(codigoAgenda)
+        Optional<Agenda> agenda = agendaJpaRepository.findByCodigoAgenda(codigoAgenda)
+                .map(AgendaMapper::toDomain);
+        if (agenda.isPresent() || limiteHistorico.get() == null) {
+            return agenda;
+        }
+        return agendaHistoricoJpaRepository.findByCodigoAgenda(codigoAgenda)
                 .map(AgendaMapper::toDomain);
     }
 
     @Override
     public List<Agenda> buscarTodas() {
-        return agendaJpaRepository.findAll()
-                .stream()
+        List<Agenda> agendas = new ArrayList<>();
+        // O histórico vem antes por conter apenas datas anteriores às da tabela principal
+        if (limiteHistorico.get() != null) {
+            agendaHistoricoJpaRepository.findAll()
+                    .forEach(arquivada -> agendas.add(AgendaMapper.toDomain(arquivada)));
+        }
+        agendaJpaRepository.findAll()
+                .forEach(entity -> agendas.add(AgendaMapper.toDomain(entity)));
+        return agendas;
+    }
+
+    @Override
+    public PaginaAgenda buscarPagina(CursorAgenda cursor, int tamanho) {
+        // Busca um registro a mais para saber se existe próxima página, sem COUNT nem OFFSET
+        Limit limite = Limit.of(tamanho + 1);
+        List<AgendaEntity> entities = cursor == null
+                ? agendaJpaRepository.buscarPrimeiraPagina(limite)
+                : agendaJpaRepository.buscarPaginaApos(cursor.getDataAgenda(), cursor.getHoraAgenda(),
+                        cursor.getId(), limite);
+
+        List<Agenda> agendas = entities.stream()
+                .map(AgendaMapper::toDomain)
+                .collect(Collectors.toList());
+        
+        if (alcancaHistorico(cursor != null ? cursor.getDataAgenda() : null)) {
+            List<AgendaHistoricoEntity> arquivadas = cursor == null
+                    ? agendaHistoricoJpaRepository.buscarPrimeiraPagina(limite)
+                    : agendaHistoricoJpaRepository.buscarPaginaApos(cursor.getDataAgenda(), cursor.getHoraAgenda(),
+                            cursor.getId(), limite);
+            agendas = mesclar(agendas, arquivadas.stream()
+                    .map(AgendaMapper::toDomain)
+                    .collect(Collectors.toList()), ORDEM_CRONOLOGICA, tamanho + 1);
+        }
+        return PaginaAgenda.deConsulta(agendas, tamanho);
+    }
+
+    @Override
+    public PaginaAgenda buscarPaginaPorCliente(Long clienteId, CursorAgenda cursor, int tamanho) {
+        Limit limite = Limit.of(tamanho + 1);
+        List<AgendaClienteProjecao> projecoes = cursor == null
+                ? agendaJpaRepository.buscarPrimeiraPaginaPorCliente(clienteId, limite)
+                : agendaJpaRepository.buscarPaginaPorClienteAntes(clienteId, cursor.getDataAgenda(),
+                        cursor.getHoraAgenda(), limite);
+
+        List<Agenda> agendas = projecoes.stream()
+                .map(projecao -> AgendaMapper.toDomain(projecao, clienteId))
+                .collect(Collectors.toList());
+        
+        // Com a página cheia e terminando em data não arquivada, o histórico não tem nada mais recente
+        LocalDate maisAntiga = agendas.size() > tamanho ? agendas.get(tamanho).getDataAgenda() : null;
+        if (alcancaHistorico(maisAntiga)) {
+            List<AgendaClienteProjecao> arquivadas = cursor == null
+                    ? agendaHistoricoJpaRepository.buscarPrimeiraPaginaPorCliente(clienteId, limite)
+                    : agendaHistoricoJpaRepository.buscarPaginaPorClienteAntes(clienteId, cursor.getDataAgenda(),
+                            cursor.getHoraAgenda(), limite);
+            agendas = mesclar(agendas, arquivadas.stream()
+                    .map(projecao -> AgendaMapper.toDomain(projecao, clienteId))
+                    .collect(Collectors.toList()), ORDEM_MAIS_RECENTE, tamanho + 1);
+        }
+        return PaginaAgenda.deConsulta(agendas, tamanho);
+    }
+
+    @Override
+    public PaginaAgenda buscarPaginaPorFiltro(FiltroAgenda filtro, CursorAgenda cursor, int tamanho) {
+        List<AgendaEntity> entities = agendaJpaRepository.findBy(AgendaEspecificacoes.porFiltro(filtro, cursor),
+                consulta -> consulta.sortBy(AgendaEspecificacoes.ORDENACAO)
+                        .project("cliente", "servico")
+                        .limit(tamanho + 1)
+                        .all());
+
+        List<Agenda> agendas = entities.stream()
                 .map(AgendaMapper::toDomain)
                 .collect(Collectors.toList());
+        
+        LocalDate aPartirDe = cursor != null ? cursor.getDataAgenda() : filtro.getDataInicio();
+        if (alcancaHistorico(aPartirDe)) {
+            List<AgendaHistoricoEntity> arquivadas = agendaHistoricoJpaRepository.findBy(
+                    AgendaEspecificacoes.porFiltro(filtro, cursor),
+                    consulta -> consulta.sortBy(AgendaEspecificacoes.ORDENACAO)
+                            .project("cliente", "servico")
+                            .limit(tamanho + 1)
+                            .all());
+            agendas = mesclar(agendas, arquivadas.stream()
+                    .map(AgendaMapper::toDomain)
+                    .collect(Collectors.toList()), ORDEM_CRONOLOGICA, tamanho + 1);
+        }
+        return PaginaAgenda.deConsulta(agendas, tamanho);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodas(Consumer<Agenda> consumidor) {
+        // O histórico vem antes por conter apenas datas anteriores às da tabela principal
+        if (limiteHistorico.get() != null) {
+            try (Stream<AgendaHistoricoEntity> arquivadas = agendaHistoricoJpaRepository.percorrerTodas()) {
+                percorrer(arquivadas.map(AgendaMapper::toDomain), consumidor);
+            }
+        }
+        try (Stream<AgendaEntity> entities = agendaJpaRepository.percorrerTodas()) {
+            percorrer(entities.map(AgendaMapper::toDomain), consumidor);
+        }
+    }
+
+    private void percorrer(Stream<Agenda> agendas, Consumer<Agenda> consumidor) {
+        Iterator<Agenda> iterator = agendas.iterator();
+        int lidas = 0;
+        while (iterator.hasNext()) {
+            consumidor.accept(iterator.next());
+            
+            // Descarta as entidades já entregues para manter o contexto de persistência constante
+            if (++lidas % AgendaJpaRepository.TAMANHO_LOTE_STREAM == 0) {
+                entityManager.clear();
+            }
+        }
     }
 
     @Override
     public List<Agenda> buscarPorClienteId(Long clienteId) {
-        return agendaJpaRepository.findByClienteId(clienteId)
+        List<Agenda> agendas = agendaJpaRepository.findByClienteId(clienteId)
                 .stream()
                 .map(AgendaMapper::toDomain)
                 .collect(Collectors.toList());
+        if (limiteHistorico.get() != null) {
+            agendaHistoricoJpaRepository.findByClienteId(clienteId)
+                    .forEach(arquivada -> agendas.add(AgendaMapper.toDomain(arquivada)));
+        }
+        return agendas;
     }
 
     @Override
     public List<Agenda> buscarPorData(LocalDate data) {
-        return agendaJpaRepository.findByDataAgenda(data)
+        List<Agenda> agendas = agendaJpaRepository.findByDataAgenda(data)
                 .stream()
                 .map(AgendaMapper::toDomain)
                 .collect(Collectors.toList());
+        if (alcancaHistorico(data)) {
+            agendaHistoricoJpaRepository.findByDataAgendaBetween(data, data)
+                    .forEach(arquivada -> agendas.add(AgendaMapper.toDomain(arquivada)));
+        }
+        return agendas;
     }
 
     @Override
     public List<Agenda> buscarPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
-        return agendaJpaRepository.findByDataAgendaBetween(dataInicio, dataFim)
+        List<Agenda> agendas = agendaJpaRepository.findByDataAgendaBetween(dataInicio, dataFim)
                 .stream()
                 .map(AgendaMapper::toDomain)
                 .collect(Collectors.toList());
+        if (alcancaHistorico(dataInicio)) {
+            agendaHistoricoJpaRepository.findByDataAgendaBetween(dataInicio, dataFim)
+                    .forEach(arquivada -> agendas.add(AgendaMapper.toDomain(arquivada)));
+        }
+        return agendas;
+    }
+
+    @Override
+    public Map<LocalDate, Set<LocalTime>> buscarHorariosOcupados(LocalDate dataInicio, LocalDate dataFim) {
+        Map<LocalDate, Set<LocalTime>> ocupados = new HashMap<>();
+        for (HorarioAgendaProjecao horario : agendaJpaRepository.buscarHorariosEntre(dataInicio, dataFim)) {
+            ocupados.computeIfAbsent(horario.getDataAgenda(), data -> new HashSet<>())
+                    .add(horario.getHoraAgenda());
+        }
+        return ocupados;
+    }
+
+    /**
+     * Um único DELETE; a quantidade de linhas excluídas diz se a agenda existia
+     */
+    @Override
+    @Transactional
+    public boolean excluir(Long id) {
+        agendaRollupJpaRepository.retirar(List.of(id));
+        if (agendaJpaRepository.excluirTodas(List.of(id)) == 0) {
+            return false;
+        }
+        aposConfirmacao(() -> ocupacaoHorarios.remover(id));
+        return true;
     }
 
     @Override
-    public void excluir(Long id) {
-        agendaJpaRepository.deleteById(id);
+    @Transactional
+    public int arquivarLote(LocalDate dataLimite, int tamanhoLote) {
+        List<Long> ids = agendaJpaRepository.buscarIdsAnterioresA(dataLimite, Limit.of(tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        // Leituras passam a incluir o histórico antes de as agendas saírem da tabela principal;
+        // o avanço só fica com a confirmação, e um rollback devolve o limite anterior
+        LocalDate limiteAnterior = limiteHistorico.get();
+        avancarLimiteHistorico(dataLimite);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    avancarLimiteHistorico(dataLimite);
+                } else {
+                    limiteHistorico.compareAndSet(dataLimite, limiteAnterior);
+                }
+            }
+        });
+        // O consolidado diário não é alterado: agendas arquivadas continuam no faturamento
+        agendaHistoricoJpaRepository.copiarDeAgendas(ids);
+        agendaJpaRepository.excluirTodas(ids);
+        aposConfirmacao(() -> ids.forEach(ocupacaoHorarios::remover));
+        return ids.size();
     }
 
     @Override
@@ -92,16 +449,149 @@ public class AgendaRepositoryAdapter implements AgendaRepository {
 
     @Override
     public boolean existePorCodigo(String codigoAgenda) {
-        return agendaJpaRepository.existsByCodigoAgenda(codigoAgenda);
+        return agendaJpaRepository.existsByCodigoAgenda(codigoAgenda)
+                || (limiteHistorico.get() != null && agendaHistoricoJpaRepository.existsByCodigoAgenda(codigoAgenda));
     }
 
+    /**
+     * Códigos já usados na tabela principal ou no histórico; é por aqui que o lote e a série
+     * recusam reaproveitar o código de uma agenda arquivada
+     */
     @Override
-    public boolean existeConflitoHorario(LocalDate data, String hora, Long agendaIdExcluir) {
-        try {
-            LocalTime horaConvertida = LocalTime.parse(hora, DateTimeFormatter.ofPattern("HH:mm"));
-            return agendaJpaRepository.existeConflitoHorario(data, horaConvertida, agendaIdExcluir);
-        } catch (Exception e) {
+    public Set<String> buscarCodigosExistentes(Collection<String> codigosAgenda) {
+        Set<String> codigos = new HashSet<>(agendaJpaRepository.buscarCodigosExistentes(codigosAgenda));
+        if (limiteHistorico.get() != null) {
+            codigos.addAll(agendaHistoricoJpaRepository.buscarCodigosExistentes(codigosAgenda));
+        }
+        return codigos;
+    }
+
+    @Override
+    public boolean existeConflitoHorario(LocalDate data, LocalTime hora, Long agendaIdExcluir) {
+        // Horário livre no índice é respondido sem ida ao banco
+        if (!ocupacaoHorarios.ocupado(data, hora)) {
+            return false;
+        }
+        if (agendaIdExcluir != null && ocupacaoHorarios.ocupadoPor(agendaIdExcluir, data, hora)) {
             return false;
         }
+        // Horário marcado como ocupado é confirmado no banco, que é a fonte da verdade
+        boolean conflito = agendaJpaRepository.existeConflitoHorario(data, hora, agendaIdExcluir);
+        if (!conflito && agendaIdExcluir == null) {
+            // Marcação desatualizada; liberar por engano só faria a restrição única decidir
+            ocupacaoHorarios.liberar(data, hora);
+        }
+        return conflito;
+    }
+
+    /**
+     * Cria a entidade com cliente e serviço associados apenas por referência (ID),
+     * já validados pelo chamador, sem SELECT e sem sobrescrever os dados deles
+     */
+    private AgendaEntity novaEntidade(Agenda agenda) {
+        AgendaEntity entity = new AgendaEntity();
+        entity.setCodigoAgenda(agenda.getCodigoAgenda());
+        entity.setDataAgenda(agenda.getDataAgenda());
+        entity.setHoraAgenda(agenda.getHoraAgenda());
+        entity.setValorServico(agenda.getValorServico());
+        entity.setCliente(referenciaCliente(agenda));
+        entity.setServico(referenciaServico(agenda));
+        return entity;
+    }
+
+    private ClienteEntity referenciaCliente(Agenda agenda) {
+        return entityManager.getReference(ClienteEntity.class, agenda.getCliente().getId());
+    }
+
+    private ServicoEntity referenciaServico(Agenda agenda) {
+        return entityManager.getReference(ServicoEntity.class, agenda.getServico().getId());
+    }
+
+    /**
+     * A restrição de código único cobre apenas a tabela principal. Códigos novos são UUIDs
+     * gerados pelo domínio, então o histórico só é consultado na atualização de uma agenda
+     * levada a uma data já alcançada pelo arquivamento, sem SELECT a mais no agendamento
+     */
+    private boolean precisaConferirCodigoArquivado(Agenda agenda) {
+        LocalDate limite = limiteHistorico.get();
+        return limite != null && agenda.getId() != null && !agenda.getDataAgenda().isAfter(limite);
+    }
+
+    /**
+     * Indica se uma leitura a partir da data (ou sem data inicial) pode encontrar agendas arquivadas
+     */
+    public boolean alcancaHistorico(LocalDate aPartirDe) {
+        LocalDate limite = limiteHistorico.get();
+        return limite != null && (aPartirDe == null || aPartirDe.isBefore(limite));
+    }
+
+    private void avancarLimiteHistorico(LocalDate limite) {
+        limiteHistorico.accumulateAndGet(limite, (atual, novo) -> atual == null || novo.isAfter(atual) ? novo : atual);
+    }
+
+    /**
+     * Intercala duas listas já ordenadas e mantém apenas os primeiros registros
+     */
+    private static List<Agenda> mesclar(List<Agenda> principais, List<Agenda> arquivadas,
+                                        Comparator<Agenda> ordem, int maximo) {
+        List<Agenda> todas = new ArrayList<>(principais.size() + arquivadas.size());
+        todas.addAll(principais);
+        todas.addAll(arquivadas);
+        todas.sort(ordem);
+        return todas.size() > maximo ? todas.subList(0, maximo) : todas;
+    }
+
+    /**
+     * Soma as agendas ao consolidado. O primeiro agendamento de um (data, serviço) insere a linha;
+     * duas transações fazendo isso ao mesmo tempo colidiriam na chave, então, enquanto a linha não
+     * é conhecida, o serviço é bloqueado antes do MERGE e a segunda transação encontra a linha pronta
+     */
+    private void acumularConsolidado(Collection<Agenda> agendas, Collection<Long> ids) {
+        Set<AgendaRollupDiariaId> novas = agendas.stream()
+                .map(agenda -> new AgendaRollupDiariaId(agenda.getDataAgenda(), agenda.getServico().getId()))
+                .filter(chave -> consolidadosCriados.getIfPresent(chave) == null)
+                .collect(Collectors.toSet());
+        if (!novas.isEmpty()) {
+            agendaRollupJpaRepository.bloquearServicos(novas.stream()
+                    .map(AgendaRollupDiariaId::getServicoId)
+                    .collect(Collectors.toSet()));
+            aposConfirmacao(() -> novas.forEach(chave -> consolidadosCriados.put(chave, Boolean.TRUE)));
+        }
+        agendaRollupJpaRepository.acumular(ids);
+    }
+
+    private void aposConfirmacao(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private RuntimeException traduzirViolacao(RuntimeException e, Agenda agenda) {
+        if (violaRestricao(e, AgendaEntity.UK_DATA_HORA)) {
+            return new ConflitoHorarioException();
+        }
+        if (violaRestricao(e, AgendaEntity.UK_CODIGO)) {
+            return new AgendaDuplicadaException(agenda.getCodigoAgenda());
+        }
+        return e;
+    }
+
+    private boolean violaRestricao(RuntimeException e, String nomeRestricao) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            String restricao = causa instanceof ConstraintViolationException violacao
+                    ? violacao.getConstraintName()
+                    : causa.getMessage();
+            if (restricao != null && restricao.toLowerCase(Locale.ROOT).contains(nomeRestricao)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
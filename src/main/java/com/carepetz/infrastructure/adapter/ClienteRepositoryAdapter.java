@@ -1,5 +1,6 @@
 package com.carepetz.infrastructure.adapter;
 
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Cliente;
 import com.carepetz.domain.port.out.ClienteRepository;
 import com.carepetz.infrastructure.entity.ClienteEntity;
@@ -8,6 +9,7 @@ import com.carepetz.infrastructure.repository.ClienteJpaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -26,11 +28,23 @@ public class ClienteRepositoryAdapter implements ClienteRepository {
         this.clienteJpaRepository = clienteJpaRepository;
     }
 
+    /**
+     * Um cliente com ID é atualizado por um UPDATE condicionado à versão; sem linha alterada,
+     * ele não existe mais ou já foi alterado
+     */
     @Override
     public Cliente salvar(Cliente cliente) {
-        ClienteEntity entity = ClienteMapper.toEntity(cliente);
-        ClienteEntity savedEntity = clienteJpaRepository.save(entity);
-        return ClienteMapper.toDomain(savedEntity);
+        if (cliente.getId() == null) {
+            ClienteEntity savedEntity = clienteJpaRepository.save(ClienteMapper.toEntity(cliente));
+            return ClienteMapper.toDomain(savedEntity);
+        }
+        int atualizados = clienteJpaRepository.atualizar(cliente.getId(), cliente.getVersao(),
+                cliente.getCodigoCliente(), cliente.getNomeCliente(), cliente.getCelularCliente(), cliente.getEmailCliente());
+        if (atualizados == 0) {
+            throw new ConflitoVersaoException();
+        }
+        cliente.setVersao(cliente.getVersao() + 1);
+        return cliente;
     }
 
     @Override
@@ -39,6 +53,14 @@ public class ClienteRepositoryAdapter implements ClienteRepository {
                 .map(ClienteMapper::toDomain);
     }
 
+    @Override
+    public List<Cliente> buscarPorIds(Collection<Long> ids) {
+        return clienteJpaRepository.findAllById(ids)
+                .stream()
+                .map(ClienteMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Cliente> buscarPorCodigo(String codigoCliente) {
         return clienteJpaRepository.findByCodigoCliente(codigoCliente)
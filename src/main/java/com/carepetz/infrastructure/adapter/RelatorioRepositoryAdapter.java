@@ -0,0 +1,35 @@
+package com.carepetz.infrastructure.adapter;
+
+import com.carepetz.domain.model.FaturamentoServico;
+import com.carepetz.domain.port.out.RelatorioRepository;
+import com.carepetz.infrastructure.repository.AgendaRollupJpaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de repositório para relatórios
+ * Lê o consolidado diário mantido pelo AgendaRepositoryAdapter
+ */
+@Repository
+public class RelatorioRepositoryAdapter implements RelatorioRepository {
+
+    private final AgendaRollupJpaRepository agendaRollupJpaRepository;
+
+    @Autowired
+    public RelatorioRepositoryAdapter(AgendaRollupJpaRepository agendaRollupJpaRepository) {
+        this.agendaRollupJpaRepository = agendaRollupJpaRepository;
+    }
+
+    @Override
+    public List<FaturamentoServico> buscarFaturamentoDiario(LocalDate dataInicio, LocalDate dataFim) {
+        return agendaRollupJpaRepository.buscarFaturamentoEntre(dataInicio, dataFim)
+                .stream()
+                .map(linha -> new FaturamentoServico(linha.getDataAgenda(), linha.getServicoId(),
+                        linha.getDescricaoServico(), linha.getQuantidade(), linha.getValorTotal()))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,6 @@
 package com.carepetz.infrastructure.adapter;
 
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Servico;
 import com.carepetz.domain.port.out.ServicoRepository;
 import com.carepetz.infrastructure.entity.ServicoEntity;
@@ -8,6 +9,7 @@ import com.carepetz.infrastructure.repository.ServicoJpaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,9 +30,18 @@ public class ServicoRepositoryAdapter implements ServicoRepository {
 
     @Override
     public Servico salvar(Servico servico) {
-        ServicoEntity entity = ServicoMapper.toEntity(servico);
-        ServicoEntity savedEntity = servicoJpaRepository.save(entity);
-        return ServicoMapper.toDomain(savedEntity);
+        if (servico.getId() == null) {
+            ServicoEntity savedEntity = servicoJpaRepository.save(ServicoMapper.toEntity(servico));
+            return ServicoMapper.toDomain(savedEntity);
+        }
+        // Mesmo UPDATE condicionado à versão usado para clientes
+        int atualizados = servicoJpaRepository.atualizar(servico.getId(), servico.getVersao(),
+                servico.getCodigoServico(), servico.getDescricaoServico(), servico.getValorServico());
+        if (atualizados == 0) {
+            throw new ConflitoVersaoException();
+        }
+        servico.setVersao(servico.getVersao() + 1);
+        return servico;
     }
 
     @Override
@@ -39,6 +50,14 @@ public class ServicoRepositoryAdapter implements ServicoRepository {
                 .map(ServicoMapper::toDomain);
     }
 
+    @Override
+    public List<Servico> buscarPorIds(Collection<Long> ids) {
+        return servicoJpaRepository.findAllById(ids)
+                .stream()
+                .map(ServicoMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Servico> buscarPorCodigo(String codigoServico) {
         return servicoJpaRepository.findByCodigoServico(codigoServico)
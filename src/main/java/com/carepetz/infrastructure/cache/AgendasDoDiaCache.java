@@ -0,0 +1,279 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.CursorAgenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.PaginaAgenda;
+import com.carepetz.domain.port.out.AgendaRepository;
+import com.carepetz.infrastructure.adapter.AgendaRepositoryAdapter;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Cache da agenda do dia em volta da porta AgendaRepository
+ * Cada dia consultado fica em um retrato imutável, ordenado por horário e com os nomes
+ * de cliente e serviço já resolvidos. Leituras simultâneas do mesmo dia ausente esperam
+ * uma única carga. Gravações descartam apenas os dias que tocam (inclusive o dia de origem
+ * de uma agenda remarcada); alterações de clientes ou serviços descartam todos os retratos.
+ * As cargas rodam fora do lock do mapa (veja CargaForaDoMapa), sem prender threads virtuais
+ */
+@Component
+@Primary
+public class AgendasDoDiaCache implements AgendaRepository, MeterBinder {
+
+    public static final String NOME_CACHE = "agendas-dia";
+
+    private static final Comparator<Agenda> ORDEM_DO_DIA = Comparator.comparing(Agenda::getHoraAgenda)
+            .thenComparing(Agenda::getId);
+
+    private final AgendaRepositoryAdapter agendaRepositoryAdapter;
+    private final ClientesCache clientesCache;
+    private final CatalogoServicosCache catalogoServicosCache;
+    private final AsyncCache<LocalDate, Retrato> dias;
+
+    @Autowired
+    public AgendasDoDiaCache(AgendaRepositoryAdapter agendaRepositoryAdapter,
+                             ClientesCache clientesCache,
+                             CatalogoServicosCache catalogoServicosCache,
+                             @Value("${carepetz.cache.agendas-dia.tamanho-maximo:90}") long tamanhoMaximo) {
+        this.agendaRepositoryAdapter = agendaRepositoryAdapter;
+        this.clientesCache = clientesCache;
+        this.catalogoServicosCache = catalogoServicosCache;
+        this.dias = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public List<Agenda> buscarPorData(LocalDate data) {
+        Retrato retrato = CargaForaDoMapa.obter(dias, data, this::carregar);
+        if (!retrato.atual()) {
+            // Só quem encontrou o retrato desatualizado o descarta; os demais esperam a nova carga
+            dias.synchronous().asMap().remove(data, retrato);
+            retrato = CargaForaDoMapa.obter(dias, data, this::carregar);
+        }
+        return retrato.agendas.stream()
+                .map(AgendasDoDiaCache::copiar)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Agenda salvar(Agenda agenda) {
+        Set<LocalDate> datas = new HashSet<>();
+        datas.add(agenda.getDataAgenda());
+        if (agenda.getId() != null) {
+            // Uma remarcação também muda o dia de origem, lido do índice de horários
+            agendaRepositoryAdapter.buscarHorario(agenda.getId())
+                    .ifPresent(horario -> datas.add(horario.toLocalDate()));
+        }
+        try {
+            return agendaRepositoryAdapter.salvar(agenda);
+        } finally {
+            invalidarAposConfirmacao(datas);
+        }
+    }
+
+    @Override
+    public List<Agenda> salvarTodas(List<Agenda> agendas) {
+        Set<LocalDate> datas = agendas.stream()
+                .map(Agenda::getDataAgenda)
+                .collect(Collectors.toSet());
+        try {
+            return agendaRepositoryAdapter.salvarTodas(agendas);
+        } finally {
+            invalidarAposConfirmacao(datas);
+        }
+    }
+
+    @Override
+    public boolean excluir(Long id) {
+        Set<LocalDate> datas = agendaRepositoryAdapter.buscarHorario(id)
+                .map(horario -> Set.of(horario.toLocalDate()))
+                .orElse(Set.of());
+        try {
+            return agendaRepositoryAdapter.excluir(id);
+        } finally {
+            invalidarAposConfirmacao(datas);
+        }
+    }
+
+    /**
+     * O arquivamento não descarta retratos: as agendas movidas continuam na leitura do dia, vindas do histórico
+     */
+    @Override
+    public int arquivarLote(LocalDate dataLimite, int tamanhoLote) {
+        return agendaRepositoryAdapter.arquivarLote(dataLimite, tamanhoLote);
+    }
+
+    @Override
+    public Optional<Agenda> buscarPorId(Long id) {
+        return agendaRepositoryAdapter.buscarPorId(id);
+    }
+
+    @Override
+    public Optional<LocalDateTime> buscarHorario(Long id) {
+        return agendaRepositoryAdapter.buscarHorario(id);
+    }
+
+    @Override
+    public Optional<Agenda> buscarPorCodigo(String codigoAgenda) {
+        return agendaRepositoryAdapter.buscarPorCodigo(codigoAgenda);
+    }
+
+    @Override
+    public List<Agenda> buscarTodas() {
+        return agendaRepositoryAdapter.buscarTodas();
+    }
+
+    @Override
+    public PaginaAgenda buscarPagina(CursorAgenda cursor, int tamanho) {
+        return agendaRepositoryAdapter.buscarPagina(cursor, tamanho);
+    }
+
+    @Override
+    public void percorrerTodas(Consumer<Agenda> consumidor) {
+        agendaRepositoryAdapter.percorrerTodas(consumidor);
+    }
+
+    @Override
+    public List<Agenda> buscarPorClienteId(Long clienteId) {
+        return agendaRepositoryAdapter.buscarPorClienteId(clienteId);
+    }
+
+    @Override
+    public PaginaAgenda buscarPaginaPorCliente(Long clienteId, CursorAgenda cursor, int tamanho) {
+        return agendaRepositoryAdapter.buscarPaginaPorCliente(clienteId, cursor, tamanho);
+    }
+
+    @Override
+    public PaginaAgenda buscarPaginaPorFiltro(FiltroAgenda filtro, CursorAgenda cursor, int tamanho) {
+        return agendaRepositoryAdapter.buscarPaginaPorFiltro(filtro, cursor, tamanho);
+    }
+
+    @Override
+    public List<Agenda> buscarPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        return agendaRepositoryAdapter.buscarPorPeriodo(dataInicio, dataFim);
+    }
+
+    @Override
+    public Map<LocalDate, Set<LocalTime>> buscarHorariosOcupados(LocalDate dataInicio, LocalDate dataFim) {
+        return agendaRepositoryAdapter.buscarHorariosOcupados(dataInicio, dataFim);
+    }
+
+    @Override
+    public boolean existe(Long id) {
+        return agendaRepositoryAdapter.existe(id);
+    }
+
+    @Override
+    public boolean existePorCodigo(String codigoAgenda) {
+        return agendaRepositoryAdapter.existePorCodigo(codigoAgenda);
+    }
+
+    @Override
+    public Set<String> buscarCodigosExistentes(Collection<String> codigosAgenda) {
+        return agendaRepositoryAdapter.buscarCodigosExistentes(codigosAgenda);
+    }
+
+    @Override
+    public boolean existeConflitoHorario(LocalDate data, LocalTime hora, Long agendaIdExcluir) {
+        return agendaRepositoryAdapter.existeConflitoHorario(data, hora, agendaIdExcluir);
+    }
+
+    public CacheStats getEstatisticas() {
+        return dias.synchronous().stats();
+    }
+
+    /**
+     * Descarta todos os retratos; as próximas leituras voltam ao banco
+     */
+    public void invalidarTodos() {
+        dias.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, dias, NOME_CACHE);
+    }
+
+    private Retrato carregar(LocalDate data) {
+        // As gerações são lidas antes da consulta: uma alteração durante a carga deixa o retrato desatualizado
+        long geracaoClientes = clientesCache.getGeracao();
+        long geracaoServicos = catalogoServicosCache.getGeracao();
+        List<Agenda> agendas = new ArrayList<>(agendaRepositoryAdapter.buscarPorData(data));
+        agendas.sort(ORDEM_DO_DIA);
+        return new Retrato(geracaoClientes, geracaoServicos, agendas);
+    }
+
+    private void invalidarAposConfirmacao(Set<LocalDate> datas) {
+        // Descarta já e de novo ao final: uma carga durante a transação pode ter lido o dia antigo
+        dias.synchronous().invalidateAll(datas);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    dias.synchronous().invalidateAll(datas);
+                }
+            });
+        }
+    }
+
+    /**
+     * Agenda do domínio é mutável, então quem lê recebe uma cópia e o retrato nunca muda
+     */
+    private static Agenda copiar(Agenda agenda) {
+        Agenda copia = new Agenda();
+        copia.setId(agenda.getId());
+        copia.setCodigoAgenda(agenda.getCodigoAgenda());
+        copia.setDataAgenda(agenda.getDataAgenda());
+        copia.setHoraAgenda(agenda.getHoraAgenda());
+        copia.setValorServico(agenda.getValorServico());
+        copia.setVersao(agenda.getVersao());
+        copia.setCliente(agenda.getCliente() != null ? ClientesCache.copiar(agenda.getCliente()) : null);
+        copia.setServico(agenda.getServico() != null ? CatalogoServicosCache.copiar(agenda.getServico()) : null);
+        return copia;
+    }
+
+    private final class Retrato {
+
+        private final long geracaoClientes;
+        private final long geracaoServicos;
+        private final List<Agenda> agendas;
+
+        private Retrato(long geracaoClientes, long geracaoServicos, List<Agenda> agendas) {
+            this.geracaoClientes = geracaoClientes;
+            this.geracaoServicos = geracaoServicos;
+            this.agendas = List.copyOf(agendas);
+        }
+
+        private boolean atual() {
+            return geracaoClientes == clientesCache.getGeracao()
+                    && geracaoServicos == catalogoServicosCache.getGeracao();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.carepetz.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Carga de entradas de um AsyncCache do Caffeine fora do lock do mapa
+ * O cache síncrono executa a carga dentro do compute do ConcurrentHashMap, segurando um
+ * monitor durante a consulta ao banco, o que prende a thread portadora de uma thread virtual.
+ * Aqui o mapa recebe só um futuro vazio; quem o inseriu faz a consulta fora do lock e as
+ * demais leituras da mesma chave esperam o futuro, o que apenas estaciona a thread virtual
+ */
+final class CargaForaDoMapa {
+
+    private CargaForaDoMapa() {
+    }
+
+    /**
+     * Valor da chave, carregado por uma única leitura quando ausente; null se o carregador não encontrar nada
+     */
+    static <K, V> V obter(AsyncCache<K, V> cache, K chave, Function<K, V> carregador) {
+        CompletableFuture<V> novo = new CompletableFuture<>();
+        CompletableFuture<V> futuro = cache.get(chave, (k, executor) -> novo);
+        if (futuro == novo) {
+            completar(novo, () -> carregador.apply(chave));
+        }
+        return aguardar(futuro);
+    }
+
+    /**
+     * Valores das chaves encontradas; as ausentes do cache são carregadas juntas em uma única chamada
+     */
+    static <K, V> Map<K, V> obterTodos(AsyncCache<K, V> cache, Set<K> chaves,
+                                       Function<Set<K>, Map<K, V>> carregador) {
+        CompletableFuture<Map<K, V>> novo = new CompletableFuture<>();
+        AtomicReference<Set<K>> ausentes = new AtomicReference<>();
+        CompletableFuture<Map<K, V>> futuro = cache.getAll(chaves, (faltantes, executor) -> {
+            ausentes.set(Set.copyOf(faltantes));
+            return novo;
+        });
+        if (ausentes.get() != null) {
+            completar(novo, () -> carregador.apply(ausentes.get()));
+        }
+        return aguardar(futuro);
+    }
+
+    private static <V> void completar(CompletableFuture<V> futuro, Supplier<V> carga) {
+        try {
+            futuro.complete(carga.get());
+        } catch (RuntimeException | Error e) {
+            // O Caffeine descarta a entrada que falhou; a próxima leitura tenta de novo
+            futuro.completeExceptionally(e);
+        }
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.out.ServicoRepository;
+import com.carepetz.infrastructure.adapter.ServicoRepositoryAdapter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de leitura do catálogo de serviços em volta da porta ServicoRepository
+ * O catálogo inteiro fica em um retrato imutável indexado por ID e por código,
+ * carregado com uma única consulta e descartado a cada gravação confirmada.
+ * Cada retrato guarda a geração em que a carga começou: uma carga concorrente
+ * com uma gravação nasce desatualizada e é ignorada na leitura seguinte.
+ * A transação que grava lê um retrato só dela até o fim, para linhas ainda não
+ * confirmadas nunca chegarem ao retrato compartilhado
+ */
+@Component
+@Primary
+public class CatalogoServicosCache implements ServicoRepository, MeterBinder {
+
+    private final ServicoRepositoryAdapter servicoRepositoryAdapter;
+    private final AtomicReference<Retrato> retrato = new AtomicReference<>();
+    private final AtomicLong geracao = new AtomicLong();
+    private final ReentrantLock carga = new ReentrantLock();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    @Autowired
+    public CatalogoServicosCache(ServicoRepositoryAdapter servicoRepositoryAdapter) {
+        this.servicoRepositoryAdapter = servicoRepositoryAdapter;
+    }
+
+    @Override
+    public Servico salvar(Servico servico) {
+        try {
+            return servicoRepositoryAdapter.salvar(servico);
+        } finally {
+            invalidarAposConfirmacao();
+        }
+    }
+
+    @Override
+    public Optional<Servico> buscarPorId(Long id) {
+        return Optional.ofNullable(retratoAtual().porId.get(id)).map(CatalogoServicosCache::copiar);
+    }
+
+    @Override
+    public List<Servico> buscarPorIds(Collection<Long> ids) {
+        Map<Long, Servico> porId = retratoAtual().porId;
+        return ids.stream()
+                .distinct()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(CatalogoServicosCache::copiar)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Servico> buscarPorCodigo(String codigoServico) {
+        return Optional.ofNullable(retratoAtual().porCodigo.get(codigoServico)).map(CatalogoServicosCache::copiar);
+    }
+
+    @Override
+    public List<Servico> buscarTodos() {
+        return retratoAtual().todos.stream()
+                .map(CatalogoServicosCache::copiar)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void excluir(Long id) {
+        try {
+            servicoRepositoryAdapter.excluir(id);
+        } finally {
+            invalidarAposConfirmacao();
+        }
+    }
+
+    @Override
+    public boolean existe(Long id) {
+        return retratoAtual().porId.containsKey(id);
+    }
+
+    @Override
+    public boolean existePorCodigo(String codigoServico) {
+        return retratoAtual().porCodigo.containsKey(codigoServico);
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    /**
+     * Muda a cada invalidação; quem guarda dados derivados do catálogo compara a geração
+     */
+    public long getGeracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Descarta o retrato atual; a próxima leitura recarrega o catálogo
+     */
+    public void invalidar() {
+        geracao.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("carepetz.cache.servicos", acertos, LongAdder::sum)
+                .tag("resultado", "acerto")
+                .description("Leituras do catálogo de serviços atendidas pelo retrato em memória")
+                .register(registry);
+        FunctionCounter.builder("carepetz.cache.servicos", falhas, LongAdder::sum)
+                .tag("resultado", "falha")
+                .description("Leituras do catálogo de serviços que recarregaram o retrato")
+                .register(registry);
+    }
+
+    private Retrato retratoAtual() {
+        RetratoDaTransacao daTransacao = (RetratoDaTransacao) TransactionSynchronizationManager.getResource(this);
+        if (daTransacao != null) {
+            if (daTransacao.retrato == null) {
+                falhas.increment();
+                daTransacao.retrato = new Retrato(geracao.get(), servicoRepositoryAdapter.buscarTodos());
+            } else {
+                acertos.increment();
+            }
+            return daTransacao.retrato;
+        }
+        
+        Retrato atual = retrato.get();
+        if (atual != null && atual.geracao == geracao.get()) {
+            acertos.increment();
+            return atual;
+        }
+        
+        falhas.increment();
+        // Leituras simultâneas esperam uma única carga em vez de consultar o banco cada uma
+        carga.lock();
+        try {
+            atual = retrato.get();
+            long geracaoCarga = geracao.get();
+            if (atual != null && atual.geracao == geracaoCarga) {
+                return atual;
+            }
+            Retrato carregado = new Retrato(geracaoCarga, servicoRepositoryAdapter.buscarTodos());
+            retrato.set(carregado);
+            return carregado;
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void invalidarAposConfirmacao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidar();
+            return;
+        }
+        // A própria transação passa a ler pelo adaptador; as demais seguem com o retrato
+        // confirmado, que só é descartado ao final
+        RetratoDaTransacao daTransacao = (RetratoDaTransacao) TransactionSynchronizationManager.getResource(this);
+        if (daTransacao != null) {
+            daTransacao.retrato = null;
+            return;
+        }
+        RetratoDaTransacao novo = new RetratoDaTransacao();
+        TransactionSynchronizationManager.bindResource(this, novo);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(CatalogoServicosCache.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(CatalogoServicosCache.this, novo);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CatalogoServicosCache.this);
+                invalidar();
+            }
+        });
+    }
+
+    /**
+     * Servico do domínio é mutável, então quem lê recebe uma cópia e o retrato nunca muda
+     */
+    static Servico copiar(Servico servico) {
+        Servico copia = new Servico(servico.getDescricaoServico(), servico.getValorServico());
+        copia.setId(servico.getId());
+        copia.setCodigoServico(servico.getCodigoServico());
+        copia.setVersao(servico.getVersao());
+        return copia;
+    }
+
+    /**
+     * Retrato da transação que gravou no catálogo, recarregado a cada gravação dela
+     */
+    private static final class RetratoDaTransacao {
+
+        private Retrato retrato;
+    }
+
+    private static final class Retrato {
+
+        private final long geracao;
+        private final List<Servico> todos;
+        private final Map<Long, Servico> porId;
+        private final Map<String, Servico> porCodigo;
+
+        private Retrato(long geracao, List<Servico> servicos) {
+            this.geracao = geracao;
+            this.todos = List.copyOf(servicos);
+            this.porId = servicos.stream()
+                    .collect(Collectors.toUnmodifiableMap(Servico::getId, Function.identity()));
+            this.porCodigo = servicos.stream()
+                    .collect(Collectors.toUnmodifiableMap(Servico::getCodigoServico, Function.identity()));
+        }
+    }
+}
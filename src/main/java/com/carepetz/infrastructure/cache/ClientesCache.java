@@ -0,0 +1,178 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.port.out.ClienteRepository;
+import com.carepetz.infrastructure.adapter.ClienteRepositoryAdapter;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de leitura limitado em volta da porta ClienteRepository
+ * Guarda apenas os clientes consultados recentemente, com tamanho máximo (política W-TinyLFU)
+ * e TTL, e descarta a entrada do cliente a cada gravação ou exclusão.
+ * Clientes inexistentes não são guardados, então um cadastro novo é visto na hora.
+ * As cargas rodam fora do lock do mapa (veja CargaForaDoMapa), sem prender threads virtuais
+ */
+@Component
+@Primary
+public class ClientesCache implements ClienteRepository, MeterBinder {
+
+    public static final String NOME_CACHE = "clientes";
+
+    private final ClienteRepositoryAdapter clienteRepositoryAdapter;
+    private final AsyncCache<Long, Cliente> clientes;
+    private final AtomicLong geracao = new AtomicLong();
+
+    @Autowired
+    public ClientesCache(ClienteRepositoryAdapter clienteRepositoryAdapter,
+                         @Value("${carepetz.cache.clientes.tamanho-maximo:10000}") long tamanhoMaximo,
+                         @Value("${carepetz.cache.clientes.ttl-minutos:10}") long ttlMinutos) {
+        this.clienteRepositoryAdapter = clienteRepositoryAdapter;
+        this.clientes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public Cliente salvar(Cliente cliente) {
+        try {
+            return clienteRepositoryAdapter.salvar(cliente);
+        } finally {
+            invalidarAposConfirmacao(cliente.getId());
+        }
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorId(Long id) {
+        return Optional.ofNullable(carregar(id)).map(ClientesCache::copiar);
+    }
+
+    @Override
+    public List<Cliente> buscarPorIds(Collection<Long> ids) {
+        // Os ausentes do cache são carregados juntos em uma consulta IN
+        return CargaForaDoMapa.obterTodos(clientes, Set.copyOf(ids), this::carregarTodos).values().stream()
+                .map(ClientesCache::copiar)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorCodigo(String codigoCliente) {
+        return clienteRepositoryAdapter.buscarPorCodigo(codigoCliente);
+    }
+
+    @Override
+    public List<Cliente> buscarTodos() {
+        return clienteRepositoryAdapter.buscarTodos();
+    }
+
+    @Override
+    public void excluir(Long id) {
+        try {
+            clienteRepositoryAdapter.excluir(id);
+        } finally {
+            invalidarAposConfirmacao(id);
+        }
+    }
+
+    @Override
+    public boolean existe(Long id) {
+        return carregar(id) != null;
+    }
+
+    @Override
+    public boolean existePorCodigo(String codigoCliente) {
+        return clienteRepositoryAdapter.existePorCodigo(codigoCliente);
+    }
+
+    public CacheStats getEstatisticas() {
+        return clientes.synchronous().stats();
+    }
+
+    /**
+     * Quantidade de clientes em memória, depois de aplicar as remoções pendentes
+     */
+    public long getQuantidade() {
+        clientes.synchronous().cleanUp();
+        return clientes.synchronous().estimatedSize();
+    }
+
+    /**
+     * Muda a cada cliente alterado ou excluído; quem guarda dados derivados dos clientes compara a geração
+     */
+    public long getGeracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Descarta todas as entradas; as próximas leituras voltam ao banco
+     */
+    public void invalidarTodos() {
+        geracao.incrementAndGet();
+        clientes.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, clientes, NOME_CACHE);
+    }
+
+    private void invalidarAposConfirmacao(Long id) {
+        if (id == null) {
+            return;
+        }
+        // Descarta já e de novo ao final: uma leitura durante a transação pode ter guardado a versão antiga
+        geracao.incrementAndGet();
+        clientes.synchronous().invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    geracao.incrementAndGet();
+                    clientes.synchronous().invalidate(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Cliente do domínio é mutável, então quem lê recebe uma cópia e a entrada nunca muda
+     */
+    static Cliente copiar(Cliente cliente) {
+        Cliente copia = new Cliente(cliente.getNomeCliente(), cliente.getCelularCliente(), cliente.getEmailCliente());
+        copia.setId(cliente.getId());
+        copia.setCodigoCliente(cliente.getCodigoCliente());
+        copia.setVersao(cliente.getVersao());
+        return copia;
+    }
+
+    private Cliente carregar(Long id) {
+        return CargaForaDoMapa.obter(clientes, id, chave -> clienteRepositoryAdapter.buscarPorId(chave).orElse(null));
+    }
+
+    private Map<Long, Cliente> carregarTodos(Set<Long> ids) {
+        return clienteRepositoryAdapter.buscarPorIds(List.copyOf(ids)).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+    }
+}
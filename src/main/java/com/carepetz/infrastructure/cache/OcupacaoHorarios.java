@@ -0,0 +1,167 @@
+package com.carepetz.infrastructure.cache;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice em memória dos horários ocupados da agenda
+ * Mantém um bitmap por dia com um bit por minuto; a consulta não acessa o banco
+ * nem aloca objetos. O banco continua sendo a fonte da verdade: um bit livre pode
+ * estar atrasado em relação a uma gravação concorrente, e a restrição única decide
+ * Dias passados não recebem novos agendamentos; na primeira gravação após a virada
+ * do dia eles são descartados, para o índice não crescer com todas as datas já agendadas
+ */
+public class OcupacaoHorarios {
+
+    static final int MINUTOS_POR_DIA = 24 * 60;
+    static final int PALAVRAS_POR_DIA = (MINUTOS_POR_DIA + Long.SIZE - 1) / Long.SIZE;
+
+    private final Map<LocalDate, AtomicLongArray> dias = new ConcurrentHashMap<>();
+    private final Map<Long, Long> horarioPorAgenda = new ConcurrentHashMap<>();
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final Clock relogio;
+
+    /**
+     * Dia (epoch day) em que os dias anteriores foram descartados pela última vez; protegido pela trava
+     */
+    private long diaCorrente;
+
+    public OcupacaoHorarios() {
+        this(Clock.systemDefaultZone());
+    }
+
+    OcupacaoHorarios(Clock relogio) {
+        this.relogio = relogio;
+        this.diaCorrente = LocalDate.now(relogio).toEpochDay();
+    }
+
+    public boolean ocupado(LocalDate data, LocalTime hora) {
+        AtomicLongArray bitmap = dias.get(data);
+        if (bitmap == null) {
+            return false;
+        }
+        int minuto = minutoDoDia(hora);
+        return (bitmap.get(minuto >>> 6) & (1L << minuto)) != 0;
+    }
+
+    /**
+     * Indica se o horário está ocupado pela própria agenda informada
+     */
+    public boolean ocupadoPor(Long agendaId, LocalDate data, LocalTime hora) {
+        Long chave = horarioPorAgenda.get(agendaId);
+        return chave != null && chave == chave(data, hora);
+    }
+
+    /**
+     * Horário registrado para a agenda; vazio se ela não está no índice, como uma agenda
+     * de dia passado
+     */
+    public Optional<LocalDateTime> horarioDe(Long agendaId) {
+        Long chave = horarioPorAgenda.get(agendaId);
+        if (chave == null) {
+            return Optional.empty();
+        }
+        LocalDate data = LocalDate.ofEpochDay(Math.floorDiv(chave, MINUTOS_POR_DIA));
+        int minuto = (int) Math.floorMod(chave, MINUTOS_POR_DIA);
+        return Optional.of(data.atTime(minuto / 60, minuto % 60));
+    }
+
+    public void registrar(Long agendaId, LocalDate data, LocalTime hora) {
+        long chave = chave(data, hora);
+        escrita.lock();
+        try {
+            descartarDiasPassados();
+            Long anterior = horarioPorAgenda.put(agendaId, chave);
+            if (anterior != null && anterior != chave) {
+                alterarBit(anterior, false);
+            }
+            alterarBit(chave, true);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public void remover(Long agendaId) {
+        escrita.lock();
+        try {
+            Long anterior = horarioPorAgenda.remove(agendaId);
+            if (anterior != null) {
+                alterarBit(anterior, false);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Desmarca um horário que o banco confirmou estar livre, como o de uma agenda
+     * removida sem passar pelo índice. Caminho raro, por isso a agenda dona do
+     * horário é procurada percorrendo o mapa em vez de manter um mapa inverso
+     */
+    public void liberar(LocalDate data, LocalTime hora) {
+        long chave = chave(data, hora);
+        escrita.lock();
+        try {
+            horarioPorAgenda.values().removeIf(horario -> horario == chave);
+            alterarBit(chave, false);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public int quantidadeAgendas() {
+        return horarioPorAgenda.size();
+    }
+
+    public int quantidadeDias() {
+        return dias.size();
+    }
+
+    /**
+     * Remove os dias anteriores a hoje e as agendas neles, uma vez por virada do dia
+     */
+    private void descartarDiasPassados() {
+        LocalDate hoje = LocalDate.now(relogio);
+        if (hoje.toEpochDay() <= diaCorrente) {
+            return;
+        }
+        diaCorrente = hoje.toEpochDay();
+        long inicioDeHoje = hoje.toEpochDay() * MINUTOS_POR_DIA;
+        horarioPorAgenda.values().removeIf(horario -> horario < inicioDeHoje);
+        dias.keySet().removeIf(dia -> dia.isBefore(hoje));
+    }
+
+    private void alterarBit(long chave, boolean ocupar) {
+        LocalDate data = LocalDate.ofEpochDay(Math.floorDiv(chave, MINUTOS_POR_DIA));
+        int minuto = (int) Math.floorMod(chave, MINUTOS_POR_DIA);
+        long mascara = 1L << minuto;
+
+        AtomicLongArray bitmap = ocupar
+                ? dias.computeIfAbsent(data, d -> new AtomicLongArray(PALAVRAS_POR_DIA))
+                : dias.get(data);
+        if (bitmap == null) {
+            return;
+        }
+        // Leitores não usam a trava, por isso a palavra é atualizada atomicamente
+        if (ocupar) {
+            bitmap.getAndAccumulate(minuto >>> 6, mascara, (atual, m) -> atual | m);
+        } else {
+            bitmap.getAndAccumulate(minuto >>> 6, mascara, (atual, m) -> atual & ~m);
+        }
+    }
+
+    private static long chave(LocalDate data, LocalTime hora) {
+        return data.toEpochDay() * MINUTOS_POR_DIA + minutoDoDia(hora);
+    }
+
+    private static int minutoDoDia(LocalTime hora) {
+        return hora.getHour() * 60 + hora.getMinute();
+    }
+}
@@ -1,22 +1,52 @@
 package com.carepetz.infrastructure.controller;
 
+import com.carepetz.domain.exception.AgendaDuplicadaException;
+import com.carepetz.domain.exception.AgendaNaoEncontradaException;
+import com.carepetz.domain.exception.ConflitoHorarioException;
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Agenda;
 import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.DisponibilidadeDia;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.PaginaAgenda;
+import com.carepetz.domain.model.ResultadoLoteAgenda;
 import com.carepetz.domain.model.Servico;
 import com.carepetz.domain.port.in.AgendaUseCase;
 import com.carepetz.domain.port.in.ClienteUseCase;
 import com.carepetz.domain.port.in.ServicoUseCase;
 import com.carepetz.infrastructure.dto.AgendaDTO;
+import com.carepetz.infrastructure.dto.DisponibilidadeDiaDTO;
+import com.carepetz.infrastructure.dto.ErroItemLoteDTO;
+import com.carepetz.infrastructure.dto.PaginaAgendaDTO;
+import com.carepetz.infrastructure.dto.ResultadoLoteAgendaDTO;
+import com.carepetz.infrastructure.dto.SerieAgendaDTO;
 import com.carepetz.infrastructure.mapper.AgendaDTOMapper;
+import com.carepetz.infrastructure.mapper.CursorAgendaMapper;
+import com.carepetz.infrastructure.mapper.DisponibilidadeDiaDTOMapper;
+import com.carepetz.infrastructure.mapper.SerieAgendaDTOMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -31,51 +61,68 @@ import java.util.stream.Collectors;
 @Tag(name = "Agendas", description = "API para gerenciamento de agendamentos")
 public class AgendaController {
 
+    private static final int LINHAS_POR_FLUSH = 500;
+
     private final AgendaUseCase agendaUseCase;
     private final ClienteUseCase clienteUseCase;
     private final ServicoUseCase servicoUseCase;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public AgendaController(AgendaUseCase agendaUseCase, 
                            ClienteUseCase clienteUseCase,
-                           ServicoUseCase servicoUseCase) {
+                           ServicoUseCase servicoUseCase,
+                           ObjectMapper objectMapper) {
         this.agendaUseCase = agendaUseCase;
         this.clienteUseCase = clienteUseCase;
         this.servicoUseCase = servicoUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Criar um novo agendamento", description = "Cria um novo agendamento no sistema")
     @PostMapping
     public ResponseEntity<AgendaDTO> criarAgenda(@Valid @RequestBody AgendaDTO agendaDTO) {
         try {
-            Agenda agenda = AgendaDTOMapper.toDomain(agendaDTO);
-            
-            // Buscar e definir o cliente
-            if (agendaDTO.getClienteId() != null) {
-                Optional<Cliente> cliente = clienteUseCase.buscarClientePorId(agendaDTO.getClienteId());
-                if (cliente.isPresent()) {
-                    agenda.setCliente(cliente.get());
-                } else {
-                    return ResponseEntity.badRequest().build(); // Cliente não encontrado
-                }
-            }
+            // Cliente e serviço são carregados pelo caso de uso junto com a gravação
+            Agenda agendaCriada = agendaUseCase.criarAgenda(criarAgendaComReferencias(agendaDTO));
             
-            // Buscar e definir o serviço
-            if (agendaDTO.getServicoId() != null) {
-                Optional<Servico> servico = servicoUseCase.buscarServicoPorId(agendaDTO.getServicoId());
-                if (servico.isPresent()) {
-                    agenda.setServico(servico.get());
-                } else {
-                    return ResponseEntity.badRequest().build(); // Serviço não encontrado
-                }
-            }
-            
-            Agenda agendaCriada = agendaUseCase.criarAgenda(agenda);
-            
-            // Buscar nomes para exibição
             AgendaDTO responseDTO = criarAgendaDTOComNomes(agendaCriada);
-            
             return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
+        } catch (ConflitoHorarioException | AgendaDuplicadaException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Criar agendamentos em lote", 
+               description = "Cria vários agendamentos em uma única transação; itens inválidos são devolvidos com o motivo")
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteAgendaDTO> criarAgendas(@RequestBody List<AgendaDTO> agendasDTO) {
+        try {
+            List<Agenda> agendas = agendasDTO.stream()
+                    .map(this::criarAgendaComReferencias)
+                    .collect(Collectors.toList());
+            
+            ResultadoLoteAgenda resultado = agendaUseCase.criarAgendas(agendas);
+            return criarRespostaLote(resultado);
+        } catch (ConflitoHorarioException | AgendaDuplicadaException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Criar série de agendamentos recorrentes", 
+               description = "Cria as ocorrências semanais ou mensais de uma série em uma única transação; ocorrências em conflito são devolvidas com o motivo")
+    @PostMapping("/serie")
+    public ResponseEntity<ResultadoLoteAgendaDTO> criarSerie(@Valid @RequestBody SerieAgendaDTO serieDTO) {
+        try {
+            ResultadoLoteAgenda resultado = agendaUseCase.criarSerie(
+                    SerieAgendaDTOMapper.toAgendaModelo(serieDTO), SerieAgendaDTOMapper.toRecorrencia(serieDTO));
+            return criarRespostaLote(resultado);
+        } catch (ConflitoHorarioException | AgendaDuplicadaException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -89,7 +136,7 @@ public class AgendaController {
             Optional<Agenda> agenda = agendaUseCase.buscarAgendaPorId(id);
             return agenda.map(a -> {
                 AgendaDTO dto = criarAgendaDTOComNomes(a);
-                return ResponseEntity.ok(dto);
+                return RespostaCondicional.comVersao(a.getVersao(), dto);
             }).orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -98,47 +145,141 @@ public class AgendaController {
 
     @Operation(summary = "Listar todos os agendamentos", description = "Retorna uma lista com todos os agendamentos")
     @GetMapping
-    public ResponseEntity<List<AgendaDTO>> listarTodosAgendamentos() {
-        List<Agenda> agendas = agendaUseCase.listarTodasAgendas();
-        List<AgendaDTO> agendasDTO = agendas.stream()
+    public ResponseEntity<List<AgendaDTO>> listarTodosAgendamentos(WebRequest request) {
+        // A lista exibe nomes de clientes e serviços, então depende também das versões deles
+        String etag = RespostaCondicional.etag(agendaUseCase.versaoAgendas(),
+                clienteUseCase.versaoClientes(), servicoUseCase.versaoServicos());
+        return RespostaCondicional.responder(request, etag, () -> agendaUseCase.listarTodasAgendas()
+                .stream()
                 .map(this::criarAgendaDTOComNomes)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(agendasDTO);
+                .collect(Collectors.toList()));
+    }
+
+    @Operation(summary = "Listar agendamentos do dia",
+               description = "Retorna os agendamentos da data informada, ordenados por horário")
+    @GetMapping("/dia/{data}")
+    public ResponseEntity<List<AgendaDTO>> listarAgendamentosDoDia(
+            @Parameter(description = "Data (yyyy-MM-dd)") @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            WebRequest request) {
+        String etag = RespostaCondicional.etag(agendaUseCase.versaoAgendas(),
+                clienteUseCase.versaoClientes(), servicoUseCase.versaoServicos());
+        return RespostaCondicional.responder(request, etag, () -> agendaUseCase.listarAgendasPorData(data)
+                .stream()
+                .map(this::criarAgendaDTOComNomes)
+                .collect(Collectors.toList()));
+    }
+
+    @Operation(summary = "Listar agendamentos paginados", 
+               description = "Retorna uma página de agendamentos ordenada por data, hora e ID, navegando pelo cursor da página anterior")
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaAgendaDTO> listarAgendamentosPaginados(
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de agendamentos por página") @RequestParam(defaultValue = "50") int tamanho) {
+        try {
+            PaginaAgenda pagina = agendaUseCase.listarAgendasPaginadas(CursorAgendaMapper.toDomain(cursor), tamanho);
+            return ResponseEntity.ok(criarPaginaAgendaDTO(pagina));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Buscar agendamentos por filtros", 
+               description = "Retorna uma página dos agendamentos que atendem aos filtros informados, ordenada por data, hora e ID")
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaAgendaDTO> buscarAgendamentos(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "ID do cliente") @RequestParam(required = false) Long clienteId,
+            @Parameter(description = "ID do serviço") @RequestParam(required = false) Long servicoId,
+            @Parameter(description = "Valor mínimo do serviço") @RequestParam(required = false) BigDecimal valorMinimo,
+            @Parameter(description = "Valor máximo do serviço") @RequestParam(required = false) BigDecimal valorMaximo,
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de agendamentos por página") @RequestParam(defaultValue = "50") int tamanho) {
+        try {
+            FiltroAgenda filtro = new FiltroAgenda(dataInicio, dataFim, clienteId, servicoId, valorMinimo, valorMaximo);
+            PaginaAgenda pagina = agendaUseCase.buscarAgendas(filtro, CursorAgendaMapper.toDomain(cursor), tamanho);
+            return ResponseEntity.ok(criarPaginaAgendaDTO(pagina));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Consultar horários livres", 
+               description = "Retorna, para cada dia do período, os horários livres dentro do expediente informado")
+    @GetMapping("/disponibilidade")
+    public ResponseEntity<List<DisponibilidadeDiaDTO>> consultarHorariosLivres(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Horário de abertura (HH:mm)") @RequestParam(defaultValue = "08:00") @DateTimeFormat(pattern = "HH:mm") LocalTime abertura,
+            @Parameter(description = "Horário de fechamento (HH:mm)") @RequestParam(defaultValue = "18:00") @DateTimeFormat(pattern = "HH:mm") LocalTime fechamento,
+            @Parameter(description = "Intervalo entre horários em minutos") @RequestParam(defaultValue = "30") int intervalo) {
+        try {
+            List<DisponibilidadeDia> disponibilidade = agendaUseCase.buscarHorariosLivres(
+                    dataInicio, dataFim, abertura, fechamento, intervalo);
+            List<DisponibilidadeDiaDTO> disponibilidadeDTO = disponibilidade.stream()
+                    .map(DisponibilidadeDiaDTOMapper::toDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(disponibilidadeDTO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Exportar todos os agendamentos", 
+               description = "Transmite o histórico completo de agendamentos em JSON delimitado por linha (NDJSON)")
+    @GetMapping(value = "/exportacao", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarAgendamentos() {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.setRootValueSeparator(null);
+                int[] linhas = {0};
+                agendaUseCase.exportarAgendas(agenda -> {
+                    try {
+                        writer.writeValue(gerador, criarAgendaDTOComNomes(agenda));
+                        gerador.writeRaw('\n');
+                        if (++linhas[0] % LINHAS_POR_FLUSH == 0) {
+                            gerador.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
     }
 
     @Operation(summary = "Atualizar agendamento", description = "Atualiza os dados de um agendamento existente")
     @PutMapping("/{id}")
     public ResponseEntity<AgendaDTO> atualizarAgenda(
             @Parameter(description = "ID do agendamento") @PathVariable Long id,
+            @Parameter(description = "ETag lida no GET; com ela, a atualização é recusada (412) se o registro mudou desde então")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody AgendaDTO agendaDTO) {
+        Long versaoEsperada = RespostaCondicional.versaoEsperada(ifMatch);
         try {
-            Agenda agenda = AgendaDTOMapper.toDomain(agendaDTO);
-            
-            // Buscar e definir o cliente
-            if (agendaDTO.getClienteId() != null) {
-                Optional<Cliente> cliente = clienteUseCase.buscarClientePorId(agendaDTO.getClienteId());
-                if (cliente.isPresent()) {
-                    agenda.setCliente(cliente.get());
-                } else {
-                    return ResponseEntity.badRequest().build(); // Cliente não encontrado
-                }
-            }
-            
-            // Buscar e definir o serviço
-            if (agendaDTO.getServicoId() != null) {
-                Optional<Servico> servico = servicoUseCase.buscarServicoPorId(agendaDTO.getServicoId());
-                if (servico.isPresent()) {
-                    agenda.setServico(servico.get());
-                } else {
-                    return ResponseEntity.badRequest().build(); // Serviço não encontrado
-                }
-            }
+            // Cliente e serviço são carregados pelo caso de uso junto com a gravação
+            Agenda agenda = criarAgendaComReferencias(agendaDTO);
+            agenda.setVersao(versaoEsperada);
             
             Agenda agendaAtualizada = agendaUseCase.atualizarAgenda(id, agenda);
             AgendaDTO responseDTO = criarAgendaDTOComNomes(agendaAtualizada);
-            return ResponseEntity.ok(responseDTO);
-        } catch (IllegalArgumentException e) {
+            return RespostaCondicional.comVersao(agendaAtualizada.getVersao(), responseDTO);
+        } catch (ConflitoHorarioException | AgendaDuplicadaException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ConflitoVersaoException e) {
+            // Sem If-Match o conflito só sobra depois das novas tentativas do serviço
+            return ResponseEntity.status(versaoEsperada != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (AgendaNaoEncontradaException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            // Cliente ou serviço inexistente e dados inválidos, como no POST
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -166,6 +307,55 @@ public class AgendaController {
         }
     }
 
+    /**
+     * Método auxiliar para responder uma criação em lote: 201 quando todos os itens
+     * foram criados, 207 quando algum item foi recusado
+     */
+    private ResponseEntity<ResultadoLoteAgendaDTO> criarRespostaLote(ResultadoLoteAgenda resultado) {
+        List<AgendaDTO> criadas = resultado.getCriadas().stream()
+                .map(this::criarAgendaDTOComNomes)
+                .collect(Collectors.toList());
+        List<ErroItemLoteDTO> erros = resultado.getErros().stream()
+                .map(erro -> new ErroItemLoteDTO(erro.getIndice(), erro.getMensagem()))
+                .collect(Collectors.toList());
+        
+        HttpStatus status = resultado.possuiErros() ? HttpStatus.MULTI_STATUS : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(new ResultadoLoteAgendaDTO(criadas, erros));
+    }
+
+    /**
+     * Método auxiliar para criar Agenda apenas com os IDs de cliente e serviço,
+     * que são carregados pelo caso de uso
+     */
+    private Agenda criarAgendaComReferencias(AgendaDTO agendaDTO) {
+        if (agendaDTO == null) {
+            return null;
+        }
+        
+        Agenda agenda = AgendaDTOMapper.toDomain(agendaDTO);
+        if (agendaDTO.getClienteId() != null) {
+            Cliente cliente = new Cliente();
+            cliente.setId(agendaDTO.getClienteId());
+            agenda.setCliente(cliente);
+        }
+        if (agendaDTO.getServicoId() != null) {
+            Servico servico = new Servico();
+            servico.setId(agendaDTO.getServicoId());
+            agenda.setServico(servico);
+        }
+        return agenda;
+    }
+
+    /**
+     * Método auxiliar para criar PaginaAgendaDTO com o cursor opaco da próxima página
+     */
+    private PaginaAgendaDTO criarPaginaAgendaDTO(PaginaAgenda pagina) {
+        List<AgendaDTO> itens = pagina.getItens().stream()
+                .map(this::criarAgendaDTOComNomes)
+                .collect(Collectors.toList());
+        return new PaginaAgendaDTO(itens, CursorAgendaMapper.toToken(pagina.getProximoCursor()));
+    }
+
     /**
      * Método auxiliar para criar AgendaDTO com nomes de cliente e serviço
      */
@@ -0,0 +1,77 @@
+package com.carepetz.infrastructure.controller;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.port.in.ConsultaAgendaReativaUseCase;
+import com.carepetz.infrastructure.dto.AgendaDTO;
+import com.carepetz.infrastructure.mapper.AgendaDTOMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Controlador REST das listagens reativas de agendas
+ * Adaptador de entrada da arquitetura hexagonal. As respostas são NDJSON transmitidas
+ * pelo suporte do Spring MVC a Flux: a thread da requisição é liberada logo, e uma nova
+ * linha só é pedida ao banco depois que a anterior foi escrita para o cliente
+ */
+@RestController
+@RequestMapping("/api/agendas/fluxo")
+@CrossOrigin(origins = "http://localhost:4200")
+@Tag(name = "Agendas", description = "API para gerenciamento de agendamentos")
+public class AgendaReativaController {
+
+    private final ConsultaAgendaReativaUseCase consultaAgendaReativaUseCase;
+
+    @Autowired
+    public AgendaReativaController(ConsultaAgendaReativaUseCase consultaAgendaReativaUseCase) {
+        this.consultaAgendaReativaUseCase = consultaAgendaReativaUseCase;
+    }
+
+    @Operation(summary = "Transmitir todos os agendamentos",
+               description = "Transmite todos os agendamentos, inclusive os arquivados, em NDJSON ordenado por data, hora e ID, no ritmo de leitura do cliente")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AgendaDTO> transmitirAgendamentos() {
+        return consultaAgendaReativaUseCase.transmitirAgendas()
+                .map(AgendaReativaController::toDTO);
+    }
+
+    @Operation(summary = "Transmitir agendamentos filtrados",
+               description = "Transmite em NDJSON todos os agendamentos que atendem aos filtros informados, sem paginação, no ritmo de leitura do cliente")
+    @GetMapping(value = "/busca", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<AgendaDTO>> transmitirBusca(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "ID do cliente") @RequestParam(required = false) Long clienteId,
+            @Parameter(description = "ID do serviço") @RequestParam(required = false) Long servicoId,
+            @Parameter(description = "Valor mínimo do serviço") @RequestParam(required = false) BigDecimal valorMinimo,
+            @Parameter(description = "Valor máximo do serviço") @RequestParam(required = false) BigDecimal valorMaximo) {
+        try {
+            FiltroAgenda filtro = new FiltroAgenda(dataInicio, dataFim, clienteId, servicoId, valorMinimo, valorMaximo);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(consultaAgendaReativaUseCase.transmitirBusca(filtro)
+                            .map(AgendaReativaController::toDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * O adaptador de leitura já traz cliente e serviço na mesma linha
+     */
+    private static AgendaDTO toDTO(Agenda agenda) {
+        return AgendaDTOMapper.toDTOWithNames(agenda,
+                agenda.getCliente() != null ? agenda.getCliente().getNomeCliente() : "",
+                agenda.getServico() != null ? agenda.getServico().getDescricaoServico() : "");
+    }
+}
@@ -1,17 +1,27 @@
 package com.carepetz.infrastructure.controller;
 
+import com.carepetz.domain.exception.ConflitoVersaoException;
+import com.carepetz.domain.model.Agenda;
 import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.PaginaAgenda;
+import com.carepetz.domain.port.in.AgendaUseCase;
 import com.carepetz.domain.port.in.ClienteUseCase;
+import com.carepetz.infrastructure.dto.AgendaDTO;
 import com.carepetz.infrastructure.dto.ClienteDTO;
+import com.carepetz.infrastructure.dto.PaginaAgendaDTO;
+import com.carepetz.infrastructure.mapper.AgendaDTOMapper;
 import com.carepetz.infrastructure.mapper.ClienteDTOMapper;
+import com.carepetz.infrastructure.mapper.CursorAgendaMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,10 +38,12 @@ import java.util.stream.Collectors;
 public class ClienteController {
 
     private final ClienteUseCase clienteUseCase;
+    private final AgendaUseCase agendaUseCase;
 
     @Autowired
-    public ClienteController(ClienteUseCase clienteUseCase) {
+    public ClienteController(ClienteUseCase clienteUseCase, AgendaUseCase agendaUseCase) {
         this.clienteUseCase = clienteUseCase;
+        this.agendaUseCase = agendaUseCase;
     }
 
     @Operation(summary = "Criar um novo cliente", description = "Cria um novo cliente no sistema")
@@ -53,33 +65,57 @@ public class ClienteController {
             @Parameter(description = "ID do cliente") @PathVariable Long id) {
         try {
             Optional<Cliente> cliente = clienteUseCase.buscarClientePorId(id);
-            return cliente.map(c -> ResponseEntity.ok(ClienteDTOMapper.toDTO(c)))
+            return cliente.map(c -> RespostaCondicional.comVersao(c.getVersao(), ClienteDTOMapper.toDTO(c)))
                           .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @Operation(summary = "Listar histórico de agendamentos do cliente", 
+               description = "Retorna uma página dos agendamentos do cliente, do mais recente para o mais antigo, navegando pelo cursor da página anterior")
+    @GetMapping("/{id}/agendas")
+    public ResponseEntity<PaginaAgendaDTO> listarHistoricoAgendamentos(
+            @Parameter(description = "ID do cliente") @PathVariable Long id,
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de agendamentos por página") @RequestParam(defaultValue = "50") int tamanho) {
+        try {
+            PaginaAgenda pagina = agendaUseCase.listarHistoricoCliente(id, CursorAgendaMapper.toDomain(cursor), tamanho);
+            List<AgendaDTO> itens = pagina.getItens().stream()
+                    .map(this::criarAgendaDTOHistorico)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new PaginaAgendaDTO(itens, CursorAgendaMapper.toToken(pagina.getProximoCursor())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Listar todos os clientes", description = "Retorna uma lista com todos os clientes")
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> listarTodosClientes() {
-        List<Cliente> clientes = clienteUseCase.listarTodosClientes();
-        List<ClienteDTO> clientesDTO = clientes.stream()
+    public ResponseEntity<List<ClienteDTO>> listarTodosClientes(WebRequest request) {
+        String etag = RespostaCondicional.etag(clienteUseCase.versaoClientes());
+        return RespostaCondicional.responder(request, etag, () -> clienteUseCase.listarTodosClientes()
+                .stream()
                 .map(ClienteDTOMapper::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(clientesDTO);
+                .collect(Collectors.toList()));
     }
 
     @Operation(summary = "Atualizar cliente", description = "Atualiza os dados de um cliente existente")
     @PutMapping("/{id}")
     public ResponseEntity<ClienteDTO> atualizarCliente(
             @Parameter(description = "ID do cliente") @PathVariable Long id,
+            @Parameter(description = "ETag lida no GET; com ela, a atualização é recusada (412) se o registro mudou desde então")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ClienteDTO clienteDTO) {
+        Long versaoEsperada = RespostaCondicional.versaoEsperada(ifMatch);
         try {
             Cliente cliente = ClienteDTOMapper.toDomain(clienteDTO);
+            cliente.setVersao(versaoEsperada);
             Cliente clienteAtualizado = clienteUseCase.atualizarCliente(id, cliente);
             ClienteDTO responseDTO = ClienteDTOMapper.toDTO(clienteAtualizado);
-            return ResponseEntity.ok(responseDTO);
+            return RespostaCondicional.comVersao(clienteAtualizado.getVersao(), responseDTO);
+        } catch (ConflitoVersaoException e) {
+            return ResponseEntity.status(versaoEsperada != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -108,4 +144,11 @@ public class ClienteController {
             return ResponseEntity.badRequest().body(false);
         }
     }
+
+    /**
+     * Método auxiliar para criar AgendaDTO do histórico, que já traz a descrição do serviço
+     */
+    private AgendaDTO criarAgendaDTOHistorico(Agenda agenda) {
+        return AgendaDTOMapper.toDTOWithNames(agenda, null, agenda.getServico().getDescricaoServico());
+    }
 }
@@ -0,0 +1,57 @@
+package com.carepetz.infrastructure.controller;
+
+import com.carepetz.domain.model.FaturamentoServico;
+import com.carepetz.domain.port.in.RelatorioUseCase;
+import com.carepetz.infrastructure.dto.FaturamentoServicoDTO;
+import com.carepetz.infrastructure.mapper.FaturamentoServicoDTOMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Controlador REST para relatórios
+ * Adaptador de entrada da arquitetura hexagonal
+ */
+@RestController
+@RequestMapping("/api/relatorios")
+@CrossOrigin(origins = "http://localhost:4200")
+@Tag(name = "Relatórios", description = "API para relatórios gerenciais")
+public class RelatorioController {
+
+    private final RelatorioUseCase relatorioUseCase;
+
+    @Autowired
+    public RelatorioController(RelatorioUseCase relatorioUseCase) {
+        this.relatorioUseCase = relatorioUseCase;
+    }
+
+    @Operation(summary = "Faturamento por serviço", 
+               description = "Retorna quantidade de agendamentos e faturamento por serviço, agrupados por dia ou por mês")
+    @GetMapping("/faturamento")
+    public ResponseEntity<List<FaturamentoServicoDTO>> gerarFaturamentoPorServico(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Agrupamento: DIARIO ou MENSAL") @RequestParam(defaultValue = "DIARIO") String agrupamento) {
+        try {
+            FaturamentoServico.Agrupamento porPeriodo =
+                    FaturamentoServico.Agrupamento.valueOf(agrupamento.toUpperCase(Locale.ROOT));
+            List<FaturamentoServicoDTO> faturamento = relatorioUseCase
+                    .gerarFaturamentoPorServico(dataInicio, dataFim, porPeriodo)
+                    .stream()
+                    .map(FaturamentoServicoDTOMapper::toDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(faturamento);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
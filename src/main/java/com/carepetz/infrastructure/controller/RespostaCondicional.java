@@ -0,0 +1,79 @@
+package com.carepetz.infrastructure.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Respostas condicionais (ETag / If-None-Match) das listagens
+ * O ETag é formado pelas versões dos agregados exibidos, então um 304 é respondido
+ * sem consultar o banco nem serializar o corpo.
+ * Os registros individuais levam a própria versão gravada como ETag, devolvida no If-Match das atualizações
+ */
+final class RespostaCondicional {
+
+    /**
+     * Distingue as versões desta instância das de execuções anteriores, que recomeçam do zero
+     */
+    private static final String INSTANCIA = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    /**
+     * Versão esperada quando o If-Match não traz uma ETag de registro: nunca confere
+     */
+    static final long VERSAO_INEXISTENTE = -1L;
+
+    private static final Pattern ETAG_REGISTRO = Pattern.compile("\"(\\d{1,18})\"");
+
+    private RespostaCondicional() {
+    }
+
+    static String etag(long... versoes) {
+        return Arrays.stream(versoes)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining("-", "\"" + INSTANCIA + "-", "\""));
+    }
+
+    static <T> ResponseEntity<T> responder(WebRequest request, String etag, Supplier<T> corpo) {
+        // no-cache: o navegador guarda a resposta, mas revalida com If-None-Match a cada uso
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(corpo.get());
+    }
+
+    /**
+     * 200 com a versão do registro como ETag forte; registros sem versão (arquivados) vão sem ETag
+     */
+    static <T> ResponseEntity<T> comVersao(Long versao, T corpo) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (versao != null) {
+            resposta.eTag("\"" + versao + "\"");
+        }
+        return resposta.body(corpo);
+    }
+
+    /**
+     * Versão esperada pelo If-Match; nula sem o cabeçalho ou com "*", que aceita qualquer versão
+     */
+    static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Matcher etag = ETAG_REGISTRO.matcher(ifMatch.trim());
+        return etag.matches() ? Long.valueOf(etag.group(1)) : VERSAO_INEXISTENTE;
+    }
+}
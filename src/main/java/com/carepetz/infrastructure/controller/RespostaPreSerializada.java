@@ -0,0 +1,183 @@
+package com.carepetz.infrastructure.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Resposta pré-serializada de uma listagem que muda raramente
+ * Guarda o JSON já codificado em UTF-8 e compactado em gzip, com os ETags de cada variante,
+ * e só o refaz quando a versão muda; cada requisição apenas escreve os mesmos bytes.
+ * Um corpo montado durante uma gravação fica com a versão anterior e é refeito na
+ * requisição seguinte
+ */
+final class RespostaPreSerializada {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Retrato> retrato = new AtomicReference<>();
+    private final ReentrantLock montagem = new ReentrantLock();
+
+    RespostaPreSerializada(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    ResponseEntity<byte[]> responder(WebRequest request, long versao, Supplier<?> corpo) {
+        Retrato atual = retratoDaVersao(versao, corpo);
+        boolean gzip = aceitaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? atual.etagGzip : atual.etag;
+
+        // O corpo varia com Accept-Encoding, então caches intermediários precisam separar as variantes
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        byte[] bytes = gzip ? atual.gzip : atual.json;
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(bytes.length);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return resposta.body(bytes);
+    }
+
+    private Retrato retratoDaVersao(long versao, Supplier<?> corpo) {
+        Retrato atual = retrato.get();
+        if (atual != null && atual.versao == versao) {
+            return atual;
+        }
+
+        // Requisições simultâneas após uma gravação esperam uma única montagem
+        montagem.lock();
+        try {
+            atual = retrato.get();
+            if (atual != null && atual.versao == versao) {
+                return atual;
+            }
+            Retrato montado = new Retrato(versao, serializar(corpo.get()));
+            retrato.set(montado);
+            return montado;
+        } finally {
+            montagem.unlock();
+        }
+    }
+
+    private byte[] serializar(Object corpo) {
+        try {
+            return objectMapper.writeValueAsBytes(corpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a resposta", e);
+        }
+    }
+
+    /**
+     * Aceita gzip se o cliente o listou sem q=0; sem menção explícita, vale o curinga *.
+     * Percorre o cabeçalho por índices, sem criar objetos por requisição
+     */
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        int gzip = -1;
+        int qualquer = -1;
+        int inicio = 0;
+        while (inicio < acceptEncoding.length()) {
+            int fim = acceptEncoding.indexOf(',', inicio);
+            if (fim < 0) {
+                fim = acceptEncoding.length();
+            }
+            int parametros = acceptEncoding.indexOf(';', inicio);
+            int fimNome = parametros >= 0 && parametros < fim ? parametros : fim;
+            int aceita = fimNome < fim && qualidadeZero(acceptEncoding, fimNome + 1, fim) ? 0 : 1;
+            if (nomeIgual(acceptEncoding, inicio, fimNome, GZIP)) {
+                gzip = aceita;
+            } else if (nomeIgual(acceptEncoding, inicio, fimNome, "*")) {
+                qualquer = aceita;
+            }
+            inicio = fim + 1;
+        }
+        return gzip >= 0 ? gzip == 1 : qualquer == 1;
+    }
+
+    private static boolean nomeIgual(String texto, int inicio, int fim, String nome) {
+        while (inicio < fim && texto.charAt(inicio) == ' ') {
+            inicio++;
+        }
+        while (fim > inicio && texto.charAt(fim - 1) == ' ') {
+            fim--;
+        }
+        return fim - inicio == nome.length() && texto.regionMatches(true, inicio, nome, 0, nome.length());
+    }
+
+    private static boolean qualidadeZero(String texto, int inicio, int fim) {
+        int q = texto.indexOf("q=", inicio);
+        if (q < 0 || q >= fim) {
+            return false;
+        }
+        boolean algumDigito = false;
+        for (int i = q + 2; i < fim; i++) {
+            char c = texto.charAt(i);
+            if (c == '0') {
+                algumDigito = true;
+            } else if (c != '.' && c != ' ') {
+                return false;
+            }
+        }
+        return algumDigito;
+    }
+
+    private static byte[] compactar(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static final class Retrato {
+
+        private final long versao;
+        private final String etag;
+        private final String etagGzip;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private Retrato(long versao, byte[] json) {
+            this.versao = versao;
+            this.etag = RespostaCondicional.etag(versao);
+            // Variantes com bytes diferentes precisam de ETags fortes diferentes
+            this.etagGzip = etag.substring(0, etag.length() - 1) + "-" + GZIP + "\"";
+            this.json = json;
+            this.gzip = compactar(json);
+        }
+    }
+}
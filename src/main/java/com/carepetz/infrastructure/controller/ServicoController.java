@@ -1,19 +1,27 @@
 package com.carepetz.infrastructure.controller;
 
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Servico;
 import com.carepetz.domain.port.in.ServicoUseCase;
 import com.carepetz.infrastructure.dto.ServicoDTO;
 import com.carepetz.infrastructure.mapper.ServicoDTOMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,10 +36,12 @@ import java.util.stream.Collectors;
 public class ServicoController {
 
     private final ServicoUseCase servicoUseCase;
+    private final RespostaPreSerializada catalogo;
 
     @Autowired
-    public ServicoController(ServicoUseCase servicoUseCase) {
+    public ServicoController(ServicoUseCase servicoUseCase, ObjectMapper objectMapper) {
         this.servicoUseCase = servicoUseCase;
+        this.catalogo = new RespostaPreSerializada(objectMapper);
     }
 
     @Operation(summary = "Criar um novo serviço", description = "Cria um novo serviço no sistema")
@@ -53,7 +63,7 @@ public class ServicoController {
             @Parameter(description = "ID do serviço") @PathVariable Long id) {
         try {
             Optional<Servico> servico = servicoUseCase.buscarServicoPorId(id);
-            return servico.map(s -> ResponseEntity.ok(ServicoDTOMapper.toDTO(s)))
+            return servico.map(s -> RespostaCondicional.comVersao(s.getVersao(), ServicoDTOMapper.toDTO(s)))
                           .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -61,25 +71,33 @@ public class ServicoController {
     }
 
     @Operation(summary = "Listar todos os serviços", description = "Retorna uma lista com todos os serviços")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = ServicoDTO.class))))
     @GetMapping
-    public ResponseEntity<List<ServicoDTO>> listarTodosServicos() {
-        List<Servico> servicos = servicoUseCase.listarTodosServicos();
-        List<ServicoDTO> servicosDTO = servicos.stream()
+    public ResponseEntity<byte[]> listarTodosServicos(WebRequest request) {
+        // O catálogo só é consultado, mapeado e serializado de novo quando um serviço muda
+        return catalogo.responder(request, servicoUseCase.versaoServicos(), () -> servicoUseCase.listarTodosServicos()
+                .stream()
                 .map(ServicoDTOMapper::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(servicosDTO);
+                .collect(Collectors.toList()));
     }
 
     @Operation(summary = "Atualizar serviço", description = "Atualiza os dados de um serviço existente")
     @PutMapping("/{id}")
     public ResponseEntity<ServicoDTO> atualizarServico(
             @Parameter(description = "ID do serviço") @PathVariable Long id,
+            @Parameter(description = "ETag lida no GET; com ela, a atualização é recusada (412) se o registro mudou desde então")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ServicoDTO servicoDTO) {
+        Long versaoEsperada = RespostaCondicional.versaoEsperada(ifMatch);
         try {
             Servico servico = ServicoDTOMapper.toDomain(servicoDTO);
+            servico.setVersao(versaoEsperada);
             Servico servicoAtualizado = servicoUseCase.atualizarServico(id, servico);
             ServicoDTO responseDTO = ServicoDTOMapper.toDTO(servicoAtualizado);
-            return ResponseEntity.ok(responseDTO);
+            return RespostaCondicional.comVersao(servicoAtualizado.getVersao(), responseDTO);
+        } catch (ConflitoVersaoException e) {
+            return ResponseEntity.status(versaoEsperada != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,45 @@
+package com.carepetz.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO para horários livres de um dia - Saída de dados da API
+ * Os horários seguem o formato HH:mm para manter a resposta de um mês em poucos KB
+ */
+public class DisponibilidadeDiaDTO {
+
+    @JsonProperty("data")
+    private LocalDate data;
+
+    @JsonProperty("horarios")
+    private List<String> horarios;
+
+    // Construtor padrão
+    public DisponibilidadeDiaDTO() {}
+
+    // Construtor completo
+    public DisponibilidadeDiaDTO(LocalDate data, List<String> horarios) {
+        this.data = data;
+        this.horarios = horarios;
+    }
+
+    // Getters e Setters
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public List<String> getHorarios() {
+        return horarios;
+    }
+
+    public void setHorarios(List<String> horarios) {
+        this.horarios = horarios;
+    }
+}
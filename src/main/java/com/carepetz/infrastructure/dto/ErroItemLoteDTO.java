@@ -0,0 +1,42 @@
+package com.carepetz.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO para erro de um item do lote - Saída de dados da API
+ * O índice é a posição do item na lista enviada
+ */
+public class ErroItemLoteDTO {
+
+    @JsonProperty("indice")
+    private int indice;
+
+    @JsonProperty("mensagem")
+    private String mensagem;
+
+    // Construtor padrão
+    public ErroItemLoteDTO() {}
+
+    // Construtor completo
+    public ErroItemLoteDTO(int indice, String mensagem) {
+        this.indice = indice;
+        this.mensagem = mensagem;
+    }
+
+    // Getters e Setters
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,81 @@
+package com.carepetz.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO para faturamento de um serviço em um período - Saída de dados da API
+ */
+public class FaturamentoServicoDTO {
+
+    @JsonProperty("periodo")
+    private LocalDate periodo;
+
+    @JsonProperty("servicoId")
+    private Long servicoId;
+
+    @JsonProperty("descricaoServico")
+    private String descricaoServico;
+
+    @JsonProperty("quantidade")
+    private long quantidade;
+
+    @JsonProperty("valorTotal")
+    private BigDecimal valorTotal;
+
+    // Construtor padrão
+    public FaturamentoServicoDTO() {}
+
+    // Construtor completo
+    public FaturamentoServicoDTO(LocalDate periodo, Long servicoId, String descricaoServico,
+                                 long quantidade, BigDecimal valorTotal) {
+        this.periodo = periodo;
+        this.servicoId = servicoId;
+        this.descricaoServico = descricaoServico;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+    }
+
+    // Getters e Setters
+    public LocalDate getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(LocalDate periodo) {
+        this.periodo = periodo;
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    public void setServicoId(Long servicoId) {
+        this.servicoId = servicoId;
+    }
+
+    public String getDescricaoServico() {
+        return descricaoServico;
+    }
+
+    public void setDescricaoServico(String descricaoServico) {
+        this.descricaoServico = descricaoServico;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+}
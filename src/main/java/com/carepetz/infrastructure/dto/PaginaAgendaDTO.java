@@ -0,0 +1,44 @@
+package com.carepetz.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO para página de agendas - Saída de dados da API
+ * O cursor da próxima página é opaco para o cliente e nulo na última página
+ */
+public class PaginaAgendaDTO {
+
+    @JsonProperty("itens")
+    private List<AgendaDTO> itens;
+
+    @JsonProperty("proximoCursor")
+    private String proximoCursor;
+
+    // Construtor padrão
+    public PaginaAgendaDTO() {}
+
+    // Construtor completo
+    public PaginaAgendaDTO(List<AgendaDTO> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    // Getters e Setters
+    public List<AgendaDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<AgendaDTO> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
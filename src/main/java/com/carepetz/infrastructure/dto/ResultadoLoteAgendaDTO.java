@@ -0,0 +1,43 @@
+package com.carepetz.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO para resultado da criação de agendas em lote - Saída de dados da API
+ */
+public class ResultadoLoteAgendaDTO {
+
+    @JsonProperty("criadas")
+    private List<AgendaDTO> criadas;
+
+    @JsonProperty("erros")
+    private List<ErroItemLoteDTO> erros;
+
+    // Construtor padrão
+    public ResultadoLoteAgendaDTO() {}
+
+    // Construtor completo
+    public ResultadoLoteAgendaDTO(List<AgendaDTO> criadas, List<ErroItemLoteDTO> erros) {
+        this.criadas = criadas;
+        this.erros = erros;
+    }
+
+    // Getters e Setters
+    public List<AgendaDTO> getCriadas() {
+        return criadas;
+    }
+
+    public void setCriadas(List<AgendaDTO> criadas) {
+        this.criadas = criadas;
+    }
+
+    public List<ErroItemLoteDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroItemLoteDTO> erros) {
+        this.erros = erros;
+    }
+}
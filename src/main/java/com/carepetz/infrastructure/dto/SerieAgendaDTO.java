@@ -0,0 +1,103 @@
+package com.carepetz.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO para série de agendamentos recorrentes - Entrada de dados da API
+ * A primeira ocorrência é a data de início
+ */
+public class SerieAgendaDTO {
+
+    @JsonProperty("clienteId")
+    @NotNull(message = "ID do cliente é obrigatório")
+    private Long clienteId;
+
+    @JsonProperty("servicoId")
+    @NotNull(message = "ID do serviço é obrigatório")
+    private Long servicoId;
+
+    @JsonProperty("dataInicio")
+    @NotNull(message = "Data de início é obrigatória")
+    private LocalDate dataInicio;
+
+    @JsonProperty("horaAgenda")
+    @NotNull(message = "Hora do agendamento é obrigatória")
+    private LocalTime horaAgenda;
+
+    @JsonProperty("frequencia")
+    @NotNull(message = "Frequência é obrigatória (SEMANAL ou MENSAL)")
+    private String frequencia;
+
+    @JsonProperty("intervalo")
+    @Min(value = 1, message = "Intervalo deve ser positivo")
+    private int intervalo = 1;
+
+    @JsonProperty("ocorrencias")
+    @Min(value = 1, message = "Quantidade de ocorrências deve ser positiva")
+    private int ocorrencias;
+
+    // Construtor padrão
+    public SerieAgendaDTO() {}
+
+    // Getters e Setters
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    public void setServicoId(Long servicoId) {
+        this.servicoId = servicoId;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalTime getHoraAgenda() {
+        return horaAgenda;
+    }
+
+    public void setHoraAgenda(LocalTime horaAgenda) {
+        this.horaAgenda = horaAgenda;
+    }
+
+    public String getFrequencia() {
+        return frequencia;
+    }
+
+    public void setFrequencia(String frequencia) {
+        this.frequencia = frequencia;
+    }
+
+    public int getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(int intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public int getOcorrencias() {
+        return ocorrencias;
+    }
+
+    public void setOcorrencias(int ocorrencias) {
+        this.ocorrencias = ocorrencias;
+    }
+}
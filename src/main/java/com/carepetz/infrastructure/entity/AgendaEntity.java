@@ -11,14 +11,45 @@ import java.util.UUID;
  * Representa a tabela de agendas no banco de dados
  */
 @Entity
-@Table(name = "agendas")
+@Table(name = "agendas",
+        uniqueConstraints = {
+                @UniqueConstraint(name = AgendaEntity.UK_DATA_HORA, columnNames = {"data_agenda", "hora_agenda"}),
+                @UniqueConstraint(name = AgendaEntity.UK_CODIGO, columnNames = "codigo_agenda")
+        },
+        indexes = {
+                @Index(name = "idx_agendas_data_hora_id", columnList = "data_agenda, hora_agenda, id"),
+                @Index(name = "idx_agendas_cliente_data_hora", columnList = "cliente_id, data_agenda DESC, hora_agenda DESC"),
+                @Index(name = "idx_agendas_servico_data_hora", columnList = "servico_id, data_agenda, hora_agenda")
+        })
+@NamedEntityGraph(
+        name = AgendaEntity.GRAFO_CLIENTE_SERVICO,
+        attributeNodes = {
+                @NamedAttributeNode("cliente"),
+                @NamedAttributeNode("servico")
+        })
 public class AgendaEntity {
 
+    /**
+     * Grafo de leitura que carrega cliente e serviço junto com a agenda
+     */
+    public static final String GRAFO_CLIENTE_SERVICO = "Agenda.clienteServico";
+
+    /**
+     * Restrição que garante um único agendamento por horário
+     */
+    public static final String UK_DATA_HORA = "uk_agendas_data_hora";
+
+    /**
+     * Restrição que garante a unicidade do código da agenda
+     */
+    public static final String UK_CODIGO = "uk_agendas_codigo";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agendas_seq")
+    @SequenceGenerator(name = "agendas_seq", sequenceName = "agendas_seq", allocationSize = 50)
     private Long id;
 
-    @Column(name = "codigo_agenda", unique = true, nullable = false)
+    @Column(name = "codigo_agenda", nullable = false)
     private String codigoAgenda;
 
     @Column(name = "data_agenda", nullable = false)
@@ -38,6 +69,13 @@ public class AgendaEntity {
     @Column(name = "valor_servico", nullable = false, precision = 10, scale = 2)
     private BigDecimal valorServico;
 
+    /**
+     * Conferida e incrementada pelas atualizações (controle otimista)
+     */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     public AgendaEntity() {
         this.codigoAgenda = UUID.randomUUID().toString();
         this.dataAgenda = LocalDate.now();
@@ -99,11 +137,12 @@ public class AgendaEntity {
         return servico;
     }
 
+    /**
+     * Apenas associa o serviço; o valor é copiado pelo domínio, o que permite
+     * associar uma referência sem carregar o serviço do banco
+     */
     public void setServico(ServicoEntity servico) {
         this.servico = servico;
-        if (servico != null) {
-            this.valorServico = servico.getValorServico();
-        }
     }
 
     public BigDecimal getValorServico() {
@@ -113,4 +152,12 @@ public class AgendaEntity {
     public void setValorServico(BigDecimal valorServico) {
         this.valorServico = valorServico;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
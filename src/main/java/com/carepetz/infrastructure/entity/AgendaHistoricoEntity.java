@@ -0,0 +1,89 @@
+package com.carepetz.infrastructure.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Entidade JPA para agendas arquivadas
+ * Representa a tabela agendas_historico, para onde as agendas passadas são movidas
+ * com o mesmo ID; as linhas só são gravadas pelo arquivamento e nunca alteradas
+ */
+@Entity
+@Immutable
+@Table(name = "agendas_historico",
+        indexes = {
+                @Index(name = "idx_agendas_historico_data_hora_id", columnList = "data_agenda, hora_agenda, id"),
+                @Index(name = "idx_agendas_historico_cliente_data_hora", columnList = "cliente_id, data_agenda DESC, hora_agenda DESC"),
+                @Index(name = "idx_agendas_historico_servico_data_hora", columnList = "servico_id, data_agenda, hora_agenda")
+        })
+@NamedEntityGraph(
+        name = AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO,
+        attributeNodes = {
+                @NamedAttributeNode("cliente"),
+                @NamedAttributeNode("servico")
+        })
+public class AgendaHistoricoEntity {
+
+    /**
+     * Grafo de leitura que carrega cliente e serviço junto com a agenda arquivada
+     */
+    public static final String GRAFO_CLIENTE_SERVICO = "AgendaHistorico.clienteServico";
+
+    @Id
+    private Long id;
+
+    @Column(name = "codigo_agenda", nullable = false)
+    private String codigoAgenda;
+
+    @Column(name = "data_agenda", nullable = false)
+    private LocalDate dataAgenda;
+
+    @Column(name = "hora_agenda", nullable = false)
+    private LocalTime horaAgenda;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    private ClienteEntity cliente;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "servico_id", nullable = false)
+    private ServicoEntity servico;
+
+    @Column(name = "valor_servico", nullable = false, precision = 10, scale = 2)
+    private BigDecimal valorServico;
+
+    public AgendaHistoricoEntity() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getCodigoAgenda() {
+        return codigoAgenda;
+    }
+
+    public LocalDate getDataAgenda() {
+        return dataAgenda;
+    }
+
+    public LocalTime getHoraAgenda() {
+        return horaAgenda;
+    }
+
+    public ClienteEntity getCliente() {
+        return cliente;
+    }
+
+    public ServicoEntity getServico() {
+        return servico;
+    }
+
+    public BigDecimal getValorServico() {
+        return valorServico;
+    }
+}
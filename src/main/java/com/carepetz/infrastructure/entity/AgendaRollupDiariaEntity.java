@@ -0,0 +1,56 @@
+package com.carepetz.infrastructure.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Entidade JPA para o consolidado diário de agendas por serviço
+ * Mantida na mesma transação de cada gravação de agenda; linhas zeradas por
+ * exclusões permanecem e são ignoradas pelos relatórios
+ */
+@Entity
+@Table(name = "agenda_rollup_diaria")
+public class AgendaRollupDiariaEntity {
+
+    @EmbeddedId
+    private AgendaRollupDiariaId id;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    @Column(name = "valor_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorTotal;
+
+    public AgendaRollupDiariaEntity() {}
+
+    public AgendaRollupDiariaEntity(AgendaRollupDiariaId id, long quantidade, BigDecimal valorTotal) {
+        this.id = id;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+    }
+
+    // Getters e Setters
+    public AgendaRollupDiariaId getId() {
+        return id;
+    }
+
+    public void setId(AgendaRollupDiariaId id) {
+        this.id = id;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+}
@@ -0,0 +1,50 @@
+package com.carepetz.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Chave do consolidado diário: data da agenda e serviço prestado
+ */
+@Embeddable
+public class AgendaRollupDiariaId implements Serializable {
+
+    @Column(name = "data_agenda", nullable = false)
+    private LocalDate dataAgenda;
+
+    @Column(name = "servico_id", nullable = false)
+    private Long servicoId;
+
+    public AgendaRollupDiariaId() {}
+
+    public AgendaRollupDiariaId(LocalDate dataAgenda, Long servicoId) {
+        this.dataAgenda = dataAgenda;
+        this.servicoId = servicoId;
+    }
+
+    public LocalDate getDataAgenda() {
+        return dataAgenda;
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        AgendaRollupDiariaId that = (AgendaRollupDiariaId) obj;
+        return Objects.equals(dataAgenda, that.dataAgenda) &&
+               Objects.equals(servicoId, that.servicoId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataAgenda, servicoId);
+    }
+}
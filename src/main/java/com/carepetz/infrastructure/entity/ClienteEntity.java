@@ -1,6 +1,8 @@
 package com.carepetz.infrastructure.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.UUID;
 
 /**
@@ -8,11 +10,17 @@ import java.util.UUID;
  * Representa a tabela de clientes no banco de dados
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ClienteEntity.REGIAO_CACHE)
 @Table(name = "clientes")
 public class ClienteEntity {
 
+    /** Região do cache de segundo nível (perfil cache) */
+    public static final String REGIAO_CACHE = "carepetz.clientes";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clientes_seq")
+    @SequenceGenerator(name = "clientes_seq", sequenceName = "clientes_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "codigo_cliente", unique = true, nullable = false)
@@ -27,6 +35,10 @@ public class ClienteEntity {
     @Column(name = "email_cliente", nullable = false)
     private String emailCliente;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     public ClienteEntity() {
         this.codigoCliente = UUID.randomUUID().toString();
     }
@@ -78,4 +90,12 @@ public class ClienteEntity {
     public void setEmailCliente(String emailCliente) {
         this.emailCliente = emailCliente;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -1,6 +1,8 @@
 package com.carepetz.infrastructure.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.util.UUID;
 
@@ -9,11 +11,17 @@ import java.util.UUID;
  * Representa a tabela de servicos no banco de dados
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ServicoEntity.REGIAO_CACHE)
 @Table(name = "servicos")
 public class ServicoEntity {
 
+    /** Região do cache de segundo nível (perfil cache) */
+    public static final String REGIAO_CACHE = "carepetz.servicos";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servicos_seq")
+    @SequenceGenerator(name = "servicos_seq", sequenceName = "servicos_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "codigo_servico", unique = true, nullable = false)
@@ -25,6 +33,10 @@ public class ServicoEntity {
     @Column(name = "valor_servico", nullable = false, precision = 10, scale = 2)
     private BigDecimal valorServico;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     public ServicoEntity() {
         this.codigoServico = UUID.randomUUID().toString();
     }
@@ -67,4 +79,12 @@ public class ServicoEntity {
     public void setValorServico(BigDecimal valorServico) {
         this.valorServico = valorServico;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -0,0 +1,47 @@
+package com.carepetz.infrastructure.job;
+
+import com.carepetz.domain.port.in.AgendaUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Tarefa agendada que move as agendas mais antigas que o horizonte configurado
+ * para agendas_historico, mantendo pequena a tabela usada pela operação
+ * Adaptador de entrada da arquitetura hexagonal
+ */
+@Component
+@ConditionalOnProperty(name = "carepetz.arquivamento.habilitado", havingValue = "true", matchIfMissing = true)
+public class ArquivamentoAgendasJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoAgendasJob.class);
+
+    private final AgendaUseCase agendaUseCase;
+    private final int horizonteDias;
+    private final int tamanhoLote;
+
+    @Autowired
+    public ArquivamentoAgendasJob(AgendaUseCase agendaUseCase,
+                                  @Value("${carepetz.arquivamento.horizonte-dias:90}") int horizonteDias,
+                                  @Value("${carepetz.arquivamento.tamanho-lote:500}") int tamanhoLote) {
+        if (horizonteDias < 1) {
+            throw new IllegalArgumentException("Horizonte do arquivamento deve ser de ao menos 1 dia");
+        }
+        this.agendaUseCase = agendaUseCase;
+        this.horizonteDias = horizonteDias;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(cron = "${carepetz.arquivamento.cron:0 30 3 * * *}")
+    public void arquivar() {
+        LocalDate dataLimite = LocalDate.now().minusDays(horizonteDias);
+        int arquivadas = agendaUseCase.arquivarAgendasAnteriores(dataLimite, tamanhoLote);
+        log.info("{} agendas anteriores a {} movidas para o histórico", arquivadas, dataLimite);
+    }
+}
@@ -16,7 +16,9 @@ public class AgendaDTOMapper {
         
         Agenda agenda = new Agenda();
         agenda.setId(dto.getId());
-        agenda.setCodigoAgenda(dto.getCodigoAgenda());
+        if (dto.getCodigoAgenda() != null) {
+            agenda.setCodigoAgenda(dto.getCodigoAgenda());
+        }
         agenda.setDataAgenda(dto.getDataAgenda());
         agenda.setHoraAgenda(dto.getHoraAgenda());
         agenda.setValorServico(dto.getValorServico());
@@ -1,7 +1,11 @@
 package com.carepetz.infrastructure.mapper;
 
 import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.Servico;
 import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.AgendaHistoricoEntity;
+import com.carepetz.infrastructure.repository.AgendaClienteProjecao;
 
 /**
  * Mapper para conversão entre Agenda e AgendaEntity
@@ -20,6 +24,7 @@ public class AgendaMapper {
         agenda.setDataAgenda(entity.getDataAgenda());
         agenda.setHoraAgenda(entity.getHoraAgenda());
         agenda.setValorServico(entity.getValorServico());
+        agenda.setVersao(entity.getVersao());
         
         if (entity.getCliente() != null) {
             agenda.setCliente(ClienteMapper.toDomain(entity.getCliente()));
@@ -32,6 +37,49 @@ public class AgendaMapper {
         return agenda;
     }
 
+    public static Agenda toDomain(AgendaHistoricoEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        
+        Agenda agenda = new Agenda();
+        agenda.setId(entity.getId());
+        agenda.setCodigoAgenda(entity.getCodigoAgenda());
+        agenda.setDataAgenda(entity.getDataAgenda());
+        agenda.setHoraAgenda(entity.getHoraAgenda());
+        agenda.setCliente(ClienteMapper.toDomain(entity.getCliente()));
+        agenda.setServico(ServicoMapper.toDomain(entity.getServico()));
+        agenda.setValorServico(entity.getValorServico());
+        return agenda;
+    }
+
+    /**
+     * Monta a agenda do histórico do cliente; cliente e serviço vêm apenas com
+     * o que a projeção traz
+     */
+    public static Agenda toDomain(AgendaClienteProjecao projecao, Long clienteId) {
+        if (projecao == null) {
+            return null;
+        }
+        
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteId);
+        
+        Servico servico = new Servico();
+        servico.setId(projecao.getServicoId());
+        servico.setDescricaoServico(projecao.getDescricaoServico());
+        
+        Agenda agenda = new Agenda();
+        agenda.setId(projecao.getId());
+        agenda.setCodigoAgenda(projecao.getCodigoAgenda());
+        agenda.setDataAgenda(projecao.getDataAgenda());
+        agenda.setHoraAgenda(projecao.getHoraAgenda());
+        agenda.setCliente(cliente);
+        agenda.setServico(servico);
+        agenda.setValorServico(projecao.getValorServico());
+        return agenda;
+    }
+
     public static AgendaEntity toEntity(Agenda domain) {
         if (domain == null) {
             return null;
@@ -43,6 +91,7 @@ public class AgendaMapper {
         entity.setDataAgenda(domain.getDataAgenda());
         entity.setHoraAgenda(domain.getHoraAgenda());
         entity.setValorServico(domain.getValorServico());
+        entity.setVersao(domain.getVersao());
         
         if (domain.getCliente() != null) {
             entity.setCliente(ClienteMapper.toEntity(domain.getCliente()));
@@ -20,6 +20,7 @@ public class ClienteMapper {
         cliente.setNomeCliente(entity.getNomeCliente());
         cliente.setCelularCliente(entity.getCelularCliente());
         cliente.setEmailCliente(entity.getEmailCliente());
+        cliente.setVersao(entity.getVersao());
         
         return cliente;
     }
@@ -35,6 +36,7 @@ public class ClienteMapper {
         entity.setNomeCliente(domain.getNomeCliente());
         entity.setCelularCliente(domain.getCelularCliente());
         entity.setEmailCliente(domain.getEmailCliente());
+        entity.setVersao(domain.getVersao());
         
         return entity;
     }
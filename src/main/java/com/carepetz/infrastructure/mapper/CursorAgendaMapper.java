@@ -0,0 +1,42 @@
+package com.carepetz.infrastructure.mapper;
+
+import com.carepetz.domain.model.CursorAgenda;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Mapper para conversão entre CursorAgenda e o token opaco exposto pela API
+ * O token é a posição (data, hora, id) codificada em Base64 URL-safe
+ */
+public class CursorAgendaMapper {
+
+    private static final String SEPARADOR = "|";
+
+    public static String toToken(CursorAgenda cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        
+        String posicao = cursor.getDataAgenda() + SEPARADOR + cursor.getHoraAgenda() + SEPARADOR + cursor.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorAgenda toDomain(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = posicao.split(Pattern.quote(SEPARADOR));
+            return new CursorAgenda(LocalDate.parse(partes[0]), LocalTime.parse(partes[1]), Long.valueOf(partes[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+}
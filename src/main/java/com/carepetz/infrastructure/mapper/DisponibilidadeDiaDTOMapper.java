@@ -0,0 +1,27 @@
+package com.carepetz.infrastructure.mapper;
+
+import com.carepetz.domain.model.DisponibilidadeDia;
+import com.carepetz.infrastructure.dto.DisponibilidadeDiaDTO;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mapper para conversão entre DisponibilidadeDia e DisponibilidadeDiaDTO
+ */
+public class DisponibilidadeDiaDTOMapper {
+
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("HH:mm");
+
+    public static DisponibilidadeDiaDTO toDTO(DisponibilidadeDia domain) {
+        if (domain == null) {
+            return null;
+        }
+        
+        List<String> horarios = domain.getHorariosLivres().stream()
+                .map(FORMATO_HORA::format)
+                .collect(Collectors.toList());
+        return new DisponibilidadeDiaDTO(domain.getData(), horarios);
+    }
+}
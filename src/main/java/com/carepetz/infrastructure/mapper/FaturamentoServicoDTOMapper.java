@@ -0,0 +1,19 @@
+package com.carepetz.infrastructure.mapper;
+
+import com.carepetz.domain.model.FaturamentoServico;
+import com.carepetz.infrastructure.dto.FaturamentoServicoDTO;
+
+/**
+ * Mapper para conversão entre FaturamentoServico e FaturamentoServicoDTO
+ */
+public class FaturamentoServicoDTOMapper {
+
+    public static FaturamentoServicoDTO toDTO(FaturamentoServico domain) {
+        if (domain == null) {
+            return null;
+        }
+        
+        return new FaturamentoServicoDTO(domain.getPeriodo(), domain.getServicoId(), domain.getDescricaoServico(),
+                domain.getQuantidade(), domain.getValorTotal());
+    }
+}
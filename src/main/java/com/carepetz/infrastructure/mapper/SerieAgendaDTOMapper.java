@@ -0,0 +1,43 @@
+package com.carepetz.infrastructure.mapper;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.Recorrencia;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.infrastructure.dto.SerieAgendaDTO;
+
+import java.util.Locale;
+
+/**
+ * Mapper para conversão de SerieAgendaDTO em agenda modelo e recorrência
+ */
+public class SerieAgendaDTOMapper {
+
+    /**
+     * Agenda da primeira ocorrência, com cliente e serviço apenas por ID
+     */
+    public static Agenda toAgendaModelo(SerieAgendaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        
+        Cliente cliente = new Cliente();
+        cliente.setId(dto.getClienteId());
+        Servico servico = new Servico();
+        servico.setId(dto.getServicoId());
+        
+        return new Agenda(cliente, servico, dto.getDataInicio(), dto.getHoraAgenda());
+    }
+
+    public static Recorrencia toRecorrencia(SerieAgendaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        if (dto.getFrequencia() == null) {
+            throw new IllegalArgumentException("Frequência da recorrência é obrigatória");
+        }
+        
+        Recorrencia.Frequencia frequencia = Recorrencia.Frequencia.valueOf(dto.getFrequencia().trim().toUpperCase(Locale.ROOT));
+        return new Recorrencia(frequencia, dto.getIntervalo(), dto.getOcorrencias());
+    }
+}
@@ -19,6 +19,7 @@ public class ServicoMapper {
         servico.setCodigoServico(entity.getCodigoServico());
         servico.setDescricaoServico(entity.getDescricaoServico());
         servico.setValorServico(entity.getValorServico());
+        servico.setVersao(entity.getVersao());
         
         return servico;
     }
@@ -33,6 +34,7 @@ public class ServicoMapper {
         entity.setCodigoServico(domain.getCodigoServico());
         entity.setDescricaoServico(domain.getDescricaoServico());
         entity.setValorServico(domain.getValorServico());
+        entity.setVersao(domain.getVersao());
         
         return entity;
     }
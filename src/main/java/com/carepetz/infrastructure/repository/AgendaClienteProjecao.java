@@ -0,0 +1,25 @@
+package com.carepetz.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção com as colunas exibidas no histórico de agendamentos de um cliente
+ */
+public interface AgendaClienteProjecao {
+
+    Long getId();
+
+    String getCodigoAgenda();
+
+    LocalDate getDataAgenda();
+
+    LocalTime getHoraAgenda();
+
+    BigDecimal getValorServico();
+
+    Long getServicoId();
+
+    String getDescricaoServico();
+}
@@ -0,0 +1,79 @@
+package com.carepetz.infrastructure.repository;
+
+import com.carepetz.domain.model.CursorAgenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Especificações da busca de agendas
+ * Só os critérios informados entram no WHERE, para que o banco escolha o índice
+ * composto que começa pela coluna mais seletiva (cliente, serviço ou data)
+ * Servem tanto para AgendaEntity quanto para AgendaHistoricoEntity, que têm os mesmos atributos
+ */
+public class AgendaEspecificacoes {
+
+    /**
+     * Ordenação da busca, a mesma do índice (data_agenda, hora_agenda, id)
+     */
+    public static final Sort ORDENACAO = Sort.by("dataAgenda", "horaAgenda", "id");
+
+    public static <T> Specification<T> porFiltro(FiltroAgenda filtro, CursorAgenda cursor) {
+        return Specification.allOf(
+                dataAPartirDe(filtro.getDataInicio()),
+                dataAte(filtro.getDataFim()),
+                doCliente(filtro.getClienteId()),
+                doServico(filtro.getServicoId()),
+                valorAPartirDe(filtro.getValorMinimo()),
+                valorAte(filtro.getValorMaximo()),
+                aposCursor(cursor));
+    }
+
+    private static <T> Specification<T> dataAPartirDe(LocalDate data) {
+        return (root, query, cb) -> data == null ? null : cb.greaterThanOrEqualTo(root.get("dataAgenda"), data);
+    }
+
+    private static <T> Specification<T> dataAte(LocalDate data) {
+        return (root, query, cb) -> data == null ? null : cb.lessThanOrEqualTo(root.get("dataAgenda"), data);
+    }
+
+    private static <T> Specification<T> doCliente(Long clienteId) {
+        // Compara a chave estrangeira, sem JOIN com clientes
+        return (root, query, cb) -> clienteId == null ? null : cb.equal(root.get("cliente").get("id"), clienteId);
+    }
+
+    private static <T> Specification<T> doServico(Long servicoId) {
+        return (root, query, cb) -> servicoId == null ? null : cb.equal(root.get("servico").get("id"), servicoId);
+    }
+
+    private static <T> Specification<T> valorAPartirDe(BigDecimal valor) {
+        return (root, query, cb) -> valor == null ? null : cb.greaterThanOrEqualTo(root.get("valorServico"), valor);
+    }
+
+    private static <T> Specification<T> valorAte(BigDecimal valor) {
+        return (root, query, cb) -> valor == null ? null : cb.lessThanOrEqualTo(root.get("valorServico"), valor);
+    }
+
+    private static <T> Specification<T> aposCursor(CursorAgenda cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Path<LocalDate> data = root.get("dataAgenda");
+            Path<LocalTime> hora = root.get("horaAgenda");
+            Path<Long> id = root.get("id");
+            return cb.and(
+                    cb.greaterThanOrEqualTo(data, cursor.getDataAgenda()),
+                    cb.or(
+                            cb.greaterThan(data, cursor.getDataAgenda()),
+                            cb.and(cb.equal(data, cursor.getDataAgenda()), cb.greaterThan(hora, cursor.getHoraAgenda())),
+                            cb.and(cb.equal(data, cursor.getDataAgenda()), cb.equal(hora, cursor.getHoraAgenda()),
+                                    cb.greaterThan(id, cursor.getId()))));
+        };
+    }
+}
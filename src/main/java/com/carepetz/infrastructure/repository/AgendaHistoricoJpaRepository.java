@@ -0,0 +1,118 @@
+package com.carepetz.infrastructure.repository;
+
+import com.carepetz.infrastructure.entity.AgendaHistoricoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repositório JPA para AgendaHistoricoEntity
+ * Espelha as leituras por período, por cliente e paginadas de AgendaJpaRepository, usadas
+ * apenas quando o período pedido alcança datas já arquivadas
+ */
+@Repository
+public interface AgendaHistoricoJpaRepository extends JpaRepository<AgendaHistoricoEntity, Long>,
+        JpaSpecificationExecutor<AgendaHistoricoEntity> {
+
+    @Override
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    List<AgendaHistoricoEntity> findAll();
+
+    @Override
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    Optional<AgendaHistoricoEntity> findById(Long id);
+
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    Optional<AgendaHistoricoEntity> findByCodigoAgenda(String codigoAgenda);
+
+    boolean existsByCodigoAgenda(String codigoAgenda);
+
+    @Query("SELECT h.codigoAgenda FROM AgendaHistoricoEntity h WHERE h.codigoAgenda IN :codigos")
+    List<String> buscarCodigosExistentes(@Param("codigos") Collection<String> codigos);
+
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    List<AgendaHistoricoEntity> findByClienteId(Long clienteId);
+
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    List<AgendaHistoricoEntity> findByDataAgendaBetween(LocalDate dataInicio, LocalDate dataFim);
+
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    @Query("SELECT h FROM AgendaHistoricoEntity h " +
+           "ORDER BY h.dataAgenda, h.horaAgenda, h.id")
+    List<AgendaHistoricoEntity> buscarPrimeiraPagina(Limit limite);
+
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    @Query("SELECT h FROM AgendaHistoricoEntity h " +
+           "WHERE h.dataAgenda >= :data " +
+           "AND (h.dataAgenda > :data " +
+           "OR (h.dataAgenda = :data AND h.horaAgenda > :hora) " +
+           "OR (h.dataAgenda = :data AND h.horaAgenda = :hora AND h.id > :id)) " +
+           "ORDER BY h.dataAgenda, h.horaAgenda, h.id")
+    List<AgendaHistoricoEntity> buscarPaginaApos(@Param("data") LocalDate data,
+                                                 @Param("hora") LocalTime hora,
+                                                 @Param("id") Long id,
+                                                 Limit limite);
+
+    @Query("SELECT MAX(h.dataAgenda) FROM AgendaHistoricoEntity h")
+    Optional<LocalDate> buscarDataMaisRecente();
+
+    /**
+     * Copia as agendas informadas para o histórico, mantendo os IDs. Declara a tabela alterada
+     * para não esvaziar o cache de segundo nível inteiro (perfil cache)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "agendas_historico"))
+    @Query(value = "INSERT INTO agendas_historico " +
+                   "(id, codigo_agenda, data_agenda, hora_agenda, cliente_id, servico_id, valor_servico) " +
+                   "SELECT a.id, a.codigo_agenda, a.data_agenda, a.hora_agenda, a.cliente_id, a.servico_id, a.valor_servico " +
+                   "FROM agendas a WHERE a.id IN (:ids)",
+           nativeQuery = true)
+    int copiarDeAgendas(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT h.id AS id, h.codigoAgenda AS codigoAgenda, h.dataAgenda AS dataAgenda, " +
+           "h.horaAgenda AS horaAgenda, h.valorServico AS valorServico, " +
+           "s.id AS servicoId, s.descricaoServico AS descricaoServico " +
+           "FROM AgendaHistoricoEntity h JOIN h.servico s " +
+           "WHERE h.cliente.id = :clienteId " +
+           "ORDER BY h.dataAgenda DESC, h.horaAgenda DESC")
+    List<AgendaClienteProjecao> buscarPrimeiraPaginaPorCliente(@Param("clienteId") Long clienteId,
+                                                               Limit limite);
+
+    @Query("SELECT h.id AS id, h.codigoAgenda AS codigoAgenda, h.dataAgenda AS dataAgenda, " +
+           "h.horaAgenda AS horaAgenda, h.valorServico AS valorServico, " +
+           "s.id AS servicoId, s.descricaoServico AS descricaoServico " +
+           "FROM AgendaHistoricoEntity h JOIN h.servico s " +
+           "WHERE h.cliente.id = :clienteId " +
+           "AND h.dataAgenda <= :data " +
+           "AND (h.dataAgenda < :data OR h.horaAgenda < :hora) " +
+           "ORDER BY h.dataAgenda DESC, h.horaAgenda DESC")
+    List<AgendaClienteProjecao> buscarPaginaPorClienteAntes(@Param("clienteId") Long clienteId,
+                                                            @Param("data") LocalDate data,
+                                                            @Param("hora") LocalTime hora,
+                                                            Limit limite);
+
+    /**
+     * Percorre todo o histórico sem materializar o resultado; deve ser consumido
+     * dentro de uma transação e fechado ao final
+     */
+    @EntityGraph(AgendaHistoricoEntity.GRAFO_CLIENTE_SERVICO)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + AgendaJpaRepository.TAMANHO_LOTE_STREAM))
+    @Query("SELECT h FROM AgendaHistoricoEntity h " +
+           "ORDER BY h.dataAgenda, h.horaAgenda, h.id")
+    Stream<AgendaHistoricoEntity> percorrerTodas();
+}
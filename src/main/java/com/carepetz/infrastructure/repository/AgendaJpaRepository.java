@@ -1,32 +1,170 @@
 package com.carepetz.infrastructure.repository;
 
 import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório JPA para AgendaEntity
+ * As consultas de leitura usam o grafo "Agenda.clienteServico" para trazer
+ * cliente e serviço no mesmo SELECT (sem N+1)
  */
 @Repository
-public interface AgendaJpaRepository extends JpaRepository<AgendaEntity, Long> {
+public interface AgendaJpaRepository extends JpaRepository<AgendaEntity, Long>, JpaSpecificationExecutor<AgendaEntity> {
     
+    /**
+     * Quantidade de linhas trazidas do banco por ida ao servidor nas leituras em stream
+     */
+    int TAMANHO_LOTE_STREAM = 500;
+    
+    @Override
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
+    List<AgendaEntity> findAll();
+    
+    @Override
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
+    Optional<AgendaEntity> findById(Long id);
+    
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
     Optional<AgendaEntity> findByCodigoAgenda(String codigoAgenda);
     
     boolean existsByCodigoAgenda(String codigoAgenda);
     
+    @Query("SELECT a.codigoAgenda FROM AgendaEntity a WHERE a.codigoAgenda IN :codigos")
+    List<String> buscarCodigosExistentes(@Param("codigos") Collection<String> codigos);
+    
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
     List<AgendaEntity> findByClienteId(Long clienteId);
     
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
     List<AgendaEntity> findByDataAgenda(LocalDate dataAgenda);
     
+    /**
+     * Horário da agenda, lido apenas pela chave primária, sem cliente e serviço
+     */
+    @Query("SELECT a.id AS id, a.dataAgenda AS dataAgenda, a.horaAgenda AS horaAgenda " +
+           "FROM AgendaEntity a WHERE a.id = :id")
+    Optional<HorarioAgendaProjecao> buscarHorarioPorId(@Param("id") Long id);
+    
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
     List<AgendaEntity> findByDataAgendaBetween(LocalDate dataInicio, LocalDate dataFim);
     
+    /**
+     * Atualiza a agenda em um único UPDATE, associando cliente e serviço por referência.
+     * Só altera a linha que ainda estiver na versão informada; zero linhas significa agenda
+     * inexistente ou já alterada
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AgendaEntity a SET a.codigoAgenda = :codigo, a.dataAgenda = :data, a.horaAgenda = :hora, " +
+           "a.valorServico = :valor, a.cliente = :cliente, a.servico = :servico, a.versao = a.versao + 1 " +
+           "WHERE a.id = :id AND a.versao = :versao")
+    int atualizar(@Param("id") Long id,
+                  @Param("versao") Long versao,
+                  @Param("codigo") String codigoAgenda,
+                  @Param("data") LocalDate dataAgenda,
+                  @Param("hora") LocalTime horaAgenda,
+                  @Param("valor") BigDecimal valorServico,
+                  @Param("cliente") ClienteEntity cliente,
+                  @Param("servico") ServicoEntity servico);
+    
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
+    @Query("SELECT a FROM AgendaEntity a " +
+           "ORDER BY a.dataAgenda, a.horaAgenda, a.id")
+    List<AgendaEntity> buscarPrimeiraPagina(Limit limite);
+    
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
+    @Query("SELECT a FROM AgendaEntity a " +
+           "WHERE a.dataAgenda >= :data " +
+           "AND (a.dataAgenda > :data " +
+           "OR (a.dataAgenda = :data AND a.horaAgenda > :hora) " +
+           "OR (a.dataAgenda = :data AND a.horaAgenda = :hora AND a.id > :id)) " +
+           "ORDER BY a.dataAgenda, a.horaAgenda, a.id")
+    List<AgendaEntity> buscarPaginaApos(@Param("data") LocalDate data,
+                                        @Param("hora") LocalTime hora,
+                                        @Param("id") Long id,
+                                        Limit limite);
+    
+    /**
+     * Histórico do cliente, do mais recente para o mais antigo, lido pelo índice
+     * (cliente_id, data_agenda DESC, hora_agenda DESC); data e hora são únicas e
+     * bastam como chave da ordenação
+     */
+    @Query("SELECT a.id AS id, a.codigoAgenda AS codigoAgenda, a.dataAgenda AS dataAgenda, " +
+           "a.horaAgenda AS horaAgenda, a.valorServico AS valorServico, " +
+           "s.id AS servicoId, s.descricaoServico AS descricaoServico " +
+           "FROM AgendaEntity a JOIN a.servico s " +
+           "WHERE a.cliente.id = :clienteId " +
+           "ORDER BY a.dataAgenda DESC, a.horaAgenda DESC")
+    List<AgendaClienteProjecao> buscarPrimeiraPaginaPorCliente(@Param("clienteId") Long clienteId,
+                                                               Limit limite);
+    
+    @Query("SELECT a.id AS id, a.codigoAgenda AS codigoAgenda, a.dataAgenda AS dataAgenda, " +
+           "a.horaAgenda AS horaAgenda, a.valorServico AS valorServico, " +
+           "s.id AS servicoId, s.descricaoServico AS descricaoServico " +
+           "FROM AgendaEntity a JOIN a.servico s " +
+           "WHERE a.cliente.id = :clienteId " +
+           "AND a.dataAgenda <= :data " +
+           "AND (a.dataAgenda < :data OR a.horaAgenda < :hora) " +
+           "ORDER BY a.dataAgenda DESC, a.horaAgenda DESC")
+    List<AgendaClienteProjecao> buscarPaginaPorClienteAntes(@Param("clienteId") Long clienteId,
+                                                            @Param("data") LocalDate data,
+                                                            @Param("hora") LocalTime hora,
+                                                            Limit limite);
+    
+    /**
+     * Percorre todas as agendas sem materializar o resultado; deve ser consumido
+     * dentro de uma transação e fechado ao final
+     */
+    @EntityGraph(AgendaEntity.GRAFO_CLIENTE_SERVICO)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TAMANHO_LOTE_STREAM))
+    @Query("SELECT a FROM AgendaEntity a " +
+           "ORDER BY a.dataAgenda, a.horaAgenda, a.id")
+    Stream<AgendaEntity> percorrerTodas();
+    
+    /**
+     * IDs das agendas anteriores à data, lidos do índice (data_agenda, hora_agenda, id)
+     */
+    @Query("SELECT a.id FROM AgendaEntity a WHERE a.dataAgenda < :data " +
+           "ORDER BY a.dataAgenda, a.horaAgenda, a.id")
+    List<Long> buscarIdsAnterioresA(@Param("data") LocalDate data, Limit limite);
+    
+    @Modifying
+    @Query("DELETE FROM AgendaEntity a WHERE a.id IN :ids")
+    int excluirTodas(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT a.id AS id, a.dataAgenda AS dataAgenda, a.horaAgenda AS horaAgenda " +
+           "FROM AgendaEntity a WHERE a.dataAgenda >= :data")
+    List<HorarioAgendaProjecao> buscarHorariosAPartirDe(@Param("data") LocalDate data);
+    
+    /**
+     * Horários ocupados no período, lidos apenas do índice (data_agenda, hora_agenda, id)
+     */
+    @Query("SELECT a.id AS id, a.dataAgenda AS dataAgenda, a.horaAgenda AS horaAgenda " +
+           "FROM AgendaEntity a WHERE a.dataAgenda BETWEEN :dataInicio AND :dataFim")
+    List<HorarioAgendaProjecao> buscarHorariosEntre(@Param("dataInicio") LocalDate dataInicio,
+                                                    @Param("dataFim") LocalDate dataFim);
+    
     @Query("SELECT COUNT(a) > 0 FROM AgendaEntity a " +
            "WHERE a.dataAgenda = :data " +
            "AND a.horaAgenda = :hora " +
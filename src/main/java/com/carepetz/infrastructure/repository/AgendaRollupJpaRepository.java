@@ -0,0 +1,71 @@
+package com.carepetz.infrastructure.repository;
+
+import com.carepetz.infrastructure.entity.AgendaRollupDiariaEntity;
+import com.carepetz.infrastructure.entity.AgendaRollupDiariaId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório JPA para o consolidado diário de agendas
+ * Os ajustes leem as agendas no próprio banco e somam por (data, serviço) em um
+ * único MERGE, qualquer que seja a quantidade de agendas. Os MERGEs declaram a tabela que
+ * alteram, para não esvaziar o cache de segundo nível inteiro (perfil cache)
+ */
+@Repository
+public interface AgendaRollupJpaRepository extends JpaRepository<AgendaRollupDiariaEntity, AgendaRollupDiariaId> {
+
+    /**
+     * Bloqueia as linhas dos serviços até o fim da transação. Serializa a criação das linhas
+     * novas do consolidado, que não existem para receber o lock do MERGE
+     */
+    @Query(value = "SELECT id FROM servicos WHERE id IN (:servicoIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> bloquearServicos(@Param("servicoIds") Collection<Long> servicoIds);
+
+    /**
+     * Soma as agendas informadas ao consolidado; deve ser chamado depois do flush dos INSERTs/UPDATEs
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "agenda_rollup_diaria"))
+    @Query(value = "MERGE INTO agenda_rollup_diaria r " +
+                   "USING (SELECT a.data_agenda, a.servico_id, COUNT(*) AS quantidade, SUM(a.valor_servico) AS valor_total " +
+                   "FROM agendas a WHERE a.id IN (:ids) GROUP BY a.data_agenda, a.servico_id) v " +
+                   "ON (r.data_agenda = v.data_agenda AND r.servico_id = v.servico_id) " +
+                   "WHEN MATCHED THEN UPDATE SET quantidade = r.quantidade + v.quantidade, " +
+                   "valor_total = r.valor_total + v.valor_total " +
+                   "WHEN NOT MATCHED THEN INSERT (data_agenda, servico_id, quantidade, valor_total) " +
+                   "VALUES (v.data_agenda, v.servico_id, v.quantidade, v.valor_total)",
+           nativeQuery = true)
+    int acumular(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Subtrai as agendas informadas do consolidado; deve ser chamado antes do UPDATE ou DELETE
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "agenda_rollup_diaria"))
+    @Query(value = "MERGE INTO agenda_rollup_diaria r " +
+                   "USING (SELECT a.data_agenda, a.servico_id, COUNT(*) AS quantidade, SUM(a.valor_servico) AS valor_total " +
+                   "FROM agendas a WHERE a.id IN (:ids) GROUP BY a.data_agenda, a.servico_id) v " +
+                   "ON (r.data_agenda = v.data_agenda AND r.servico_id = v.servico_id) " +
+                   "WHEN MATCHED THEN UPDATE SET quantidade = r.quantidade - v.quantidade, " +
+                   "valor_total = r.valor_total - v.valor_total",
+           nativeQuery = true)
+    int retirar(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id.dataAgenda AS dataAgenda, s.id AS servicoId, s.descricaoServico AS descricaoServico, " +
+           "r.quantidade AS quantidade, r.valorTotal AS valorTotal " +
+           "FROM AgendaRollupDiariaEntity r JOIN ServicoEntity s ON s.id = r.id.servicoId " +
+           "WHERE r.id.dataAgenda BETWEEN :dataInicio AND :dataFim AND r.quantidade > 0 " +
+           "ORDER BY r.id.dataAgenda, s.id")
+    List<FaturamentoDiarioProjecao> buscarFaturamentoEntre(@Param("dataInicio") LocalDate dataInicio,
+                                                           @Param("dataFim") LocalDate dataFim);
+}
@@ -1,18 +1,42 @@
 package com.carepetz.infrastructure.repository;
 
 import com.carepetz.infrastructure.entity.ClienteEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 /**
  * Repositório JPA para ClienteEntity
+ * As consultas por código vão para o cache de consultas quando o perfil cache está ativo
  */
 @Repository
 public interface ClienteJpaRepository extends JpaRepository<ClienteEntity, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ClienteEntity> findByCodigoCliente(String codigoCliente);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByCodigoCliente(String codigoCliente);
+    
+    /**
+     * Atualiza o cliente em um único UPDATE, sem o SELECT do merge, se ainda estiver na versão informada
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ClienteEntity c SET c.codigoCliente = :codigo, c.nomeCliente = :nome, c.celularCliente = :celular, c.emailCliente = :email, " +
+           "c.versao = c.versao + 1 WHERE c.id = :id AND c.versao = :versao")
+    int atualizar(@Param("id") Long id,
+                  @Param("versao") Long versao,
+                  @Param("codigo") String codigoCliente,
+                  @Param("nome") String nomeCliente,
+                  @Param("celular") String celularCliente,
+                  @Param("email") String emailCliente);
 }
@@ -0,0 +1,20 @@
+package com.carepetz.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projeção de uma linha do consolidado diário com a descrição do serviço
+ */
+public interface FaturamentoDiarioProjecao {
+
+    LocalDate getDataAgenda();
+
+    Long getServicoId();
+
+    String getDescricaoServico();
+
+    long getQuantidade();
+
+    BigDecimal getValorTotal();
+}
@@ -0,0 +1,16 @@
+package com.carepetz.infrastructure.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção com apenas o horário ocupado por cada agenda
+ */
+public interface HorarioAgendaProjecao {
+
+    Long getId();
+
+    LocalDate getDataAgenda();
+
+    LocalTime getHoraAgenda();
+}
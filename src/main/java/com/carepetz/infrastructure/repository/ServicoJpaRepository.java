@@ -1,18 +1,42 @@
 package com.carepetz.infrastructure.repository;
 
 import com.carepetz.infrastructure.entity.ServicoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 /**
  * Repositório JPA para ServicoEntity
+ * As consultas por código vão para o cache de consultas quando o perfil cache está ativo
  */
 @Repository
 public interface ServicoJpaRepository extends JpaRepository<ServicoEntity, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ServicoEntity> findByCodigoServico(String codigoServico);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByCodigoServico(String codigoServico);
+    
+    /**
+     * Atualiza o serviço em um único UPDATE, sem o SELECT do merge, se ainda estiver na versão informada
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ServicoEntity s SET s.codigoServico = :codigo, s.descricaoServico = :descricao, s.valorServico = :valor, " +
+           "s.versao = s.versao + 1 WHERE s.id = :id AND s.versao = :versao")
+    int atualizar(@Param("id") Long id,
+                  @Param("versao") Long versao,
+                  @Param("codigo") String codigoServico,
+                  @Param("descricao") String descricaoServico,
+                  @Param("valor") BigDecimal valorServico);
 }
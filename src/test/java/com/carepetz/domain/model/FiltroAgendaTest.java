@@ -0,0 +1,58 @@
+package com.carepetz.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para FiltroAgenda
+ */
+@DisplayName("Testes do FiltroAgenda")
+class FiltroAgendaTest {
+
+    @Test
+    @DisplayName("Deve aceitar filtro sem nenhum critério")
+    void deveAceitarFiltroVazio() {
+        // Act
+        FiltroAgenda filtro = new FiltroAgenda(null, null, null, null, null, null);
+
+        // Assert
+        assertNull(filtro.getDataInicio());
+        assertNull(filtro.getValorMaximo());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com início após o fim")
+    void deveRejeitarPeriodoInvertido() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiltroAgenda(hoje.plusDays(1), hoje, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar faixa de valor invertida ou negativa")
+    void deveRejeitarFaixaDeValorInvalida() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiltroAgenda(null, null, null, null, new BigDecimal("80.00"), new BigDecimal("50.00")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiltroAgenda(null, null, null, null, new BigDecimal("-1.00"), null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar IDs de cliente ou serviço não positivos")
+    void deveRejeitarIdsInvalidos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiltroAgenda(null, null, 0L, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiltroAgenda(null, null, null, -3L, null, null));
+    }
+}
@@ -0,0 +1,69 @@
+package com.carepetz.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários da Recorrencia
+ */
+@DisplayName("Testes da Recorrencia")
+class RecorrenciaTest {
+
+    @Test
+    @DisplayName("Deve expandir série semanal a partir da data de início")
+    void deveExpandirSerieSemanal() {
+        // Arrange
+        Recorrencia recorrencia = new Recorrencia(Recorrencia.Frequencia.SEMANAL, 1, 52);
+        LocalDate inicio = LocalDate.of(2030, 1, 7);
+
+        // Act
+        List<LocalDate> datas = recorrencia.expandir(inicio);
+
+        // Assert
+        assertEquals(52, datas.size());
+        assertEquals(inicio, datas.get(0));
+        assertEquals(inicio.plusWeeks(1), datas.get(1));
+        assertEquals(inicio.plusWeeks(51), datas.get(51));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o intervalo na série quinzenal")
+    void deveRespeitarIntervaloQuinzenal() {
+        // Arrange
+        Recorrencia recorrencia = new Recorrencia(Recorrencia.Frequencia.SEMANAL, 2, 3);
+
+        // Act
+        List<LocalDate> datas = recorrencia.expandir(LocalDate.of(2030, 1, 7));
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 21), LocalDate.of(2030, 2, 4)), datas);
+    }
+
+    @Test
+    @DisplayName("Deve manter o dia do mês na série mensal após meses mais curtos")
+    void deveManterDiaDoMesNaSerieMensal() {
+        // Arrange
+        Recorrencia recorrencia = new Recorrencia(Recorrencia.Frequencia.MENSAL, 1, 3);
+
+        // Act
+        List<LocalDate> datas = recorrencia.expandir(LocalDate.of(2030, 1, 31));
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2030, 1, 31), LocalDate.of(2030, 2, 28), LocalDate.of(2030, 3, 31)), datas);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a recorrência é inválida")
+    void deveLancarExcecaoQuandoRecorrenciaInvalida() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new Recorrencia(null, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new Recorrencia(Recorrencia.Frequencia.SEMANAL, 0, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Recorrencia(Recorrencia.Frequencia.SEMANAL, 1, Recorrencia.MAXIMO_OCORRENCIAS + 1));
+    }
+}
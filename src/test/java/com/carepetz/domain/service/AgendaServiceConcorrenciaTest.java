@@ -0,0 +1,197 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.exception.ConflitoHorarioException;
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.out.ClienteRepository;
+import com.carepetz.domain.port.out.ServicoRepository;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import com.carepetz.infrastructure.repository.ClienteJpaRepository;
+import com.carepetz.infrastructure.repository.ServicoJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração de concorrência do AgendaService
+ * Vários atendentes disputam os mesmos horários ao mesmo tempo
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Testes de concorrência do AgendaService")
+class AgendaServiceConcorrenciaTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendaServiceConcorrenciaTest.class);
+    private static final int THREADS = 16;
+    private static final int HORARIOS = 10;
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private AgendaJpaRepository agendaJpaRepository;
+
+    @Autowired
+    private ClienteJpaRepository clienteJpaRepository;
+
+    @Autowired
+    private ServicoJpaRepository servicoJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cliente cliente;
+    private Servico servico;
+    private LocalDate data;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.salvar(new Cliente("João Silva", "(11) 99999-9999", "joao@email.com"));
+        servico = servicoRepository.salvar(new Servico("PETZ CARE", new BigDecimal("80.00")));
+        data = LocalDate.now().plusDays(7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendaJpaRepository.deleteAllInBatch();
+        clienteJpaRepository.deleteAllInBatch();
+        servicoJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas um agendamento quando várias threads disputam os mesmos horários")
+    void deveAceitarApenasUmAgendamentoPorHorario() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger criadas = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                List<Integer> ordem = new ArrayList<>();
+                for (int h = 0; h < HORARIOS; h++) {
+                    ordem.add(h);
+                }
+                Collections.shuffle(ordem);
+
+                largada.await();
+                for (int h : ordem) {
+                    try {
+                        agendaService.criarAgenda(new Agenda(cliente, servico, data, LocalTime.of(8, 0).plusMinutes(30L * h)));
+                        criadas.incrementAndGet();
+                    } catch (ConflitoHorarioException e) {
+                        conflitos.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(HORARIOS, criadas.get());
+        assertEquals(THREADS * HORARIOS - HORARIOS, conflitos.get());
+        assertEquals(HORARIOS, agendaJpaRepository.findByDataAgenda(data).size());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ConflitoHorarioException ao mover agenda para horário ocupado")
+    void deveLancarConflitoAoMoverParaHorarioOcupado() {
+        // Arrange
+        agendaService.criarAgenda(new Agenda(cliente, servico, data, LocalTime.of(9, 0)));
+        Agenda outra = agendaService.criarAgenda(new Agenda(cliente, servico, data, LocalTime.of(10, 0)));
+
+        // Act & Assert
+        Agenda movida = new Agenda(cliente, servico, data, LocalTime.of(9, 0));
+        movida.setCodigoAgenda(outra.getCodigoAgenda());
+        assertThrows(ConflitoHorarioException.class,
+                () -> agendaService.atualizarAgenda(outra.getId(), movida));
+    }
+
+    @Test
+    @DisplayName("Deve agendar com no máximo dois comandos SQL por agendamento sob carga concorrente")
+    void deveAgendarComNoMaximoDoisComandosPorAgendamento() throws Exception {
+        // Arrange
+        int agendamentosPorThread = 25;
+        LocalDate dataCarga = LocalDate.now().plusDays(400);
+        Cliente referenciaCliente = new Cliente();
+        referenciaCliente.setId(cliente.getId());
+        Servico referenciaServico = new Servico();
+        referenciaServico.setId(servico.getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            LocalDate dia = dataCarga.plusDays(t);
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int h = 0; h < agendamentosPorThread; h++) {
+                    Agenda agenda = new Agenda(referenciaCliente, referenciaServico, dia, LocalTime.of(8, 0).plusMinutes(20L * h));
+                    agendaService.criarAgenda(agenda);
+                }
+                return null;
+            }));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        executor.shutdown();
+
+        // Assert
+        int agendamentos = THREADS * agendamentosPorThread;
+        long comandos = statistics.getPrepareStatementCount();
+        // INSERT + MERGE do consolidado por agendamento, mais o bloqueio do serviço no primeiro agendamento
+        // de cada dia, os blocos de IDs da sequence e a carga única dos caches de clientes e serviços
+        long limite = 2L * agendamentos + THREADS + (agendamentos / 50 + 1) + 2;
+        log.info("{} agendamentos com {} threads em {} ms: {} comandos SQL (limite {})",
+                agendamentos, THREADS, duracaoMs, comandos, limite);
+        assertEquals(agendamentos, statistics.getEntityInsertCount());
+        assertTrue(comandos <= limite, () -> comandos + " comandos SQL para " + agendamentos + " agendamentos; limite " + limite);
+    }
+}
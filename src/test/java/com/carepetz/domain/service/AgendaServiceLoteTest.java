@@ -0,0 +1,169 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.Recorrencia;
+import com.carepetz.domain.model.ResultadoLoteAgenda;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.out.ClienteRepository;
+import com.carepetz.domain.port.out.ServicoRepository;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import com.carepetz.infrastructure.repository.AgendaRollupJpaRepository;
+import com.carepetz.infrastructure.repository.ClienteJpaRepository;
+import com.carepetz.infrastructure.repository.FaturamentoDiarioProjecao;
+import com.carepetz.infrastructure.repository.ServicoJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração da criação de agendas em lote
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Testes da criação em lote do AgendaService")
+class AgendaServiceLoteTest {
+
+    private static final int QUANTIDADE_AGENDAS = 1000;
+    private static final int HORARIOS_POR_DIA = 20;
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private AgendaJpaRepository agendaJpaRepository;
+
+    @Autowired
+    private AgendaRollupJpaRepository agendaRollupJpaRepository;
+
+    @Autowired
+    private ClienteJpaRepository clienteJpaRepository;
+
+    @Autowired
+    private ServicoJpaRepository servicoJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cliente cliente;
+    private Servico servico;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.salvar(new Cliente("João Silva", "(11) 99999-9999", "joao@email.com"));
+        servico = servicoRepository.salvar(new Servico("PETZ CARE", new BigDecimal("80.00")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendaJpaRepository.deleteAllInBatch();
+        agendaRollupJpaRepository.deleteAllInBatch();
+        clienteJpaRepository.deleteAllInBatch();
+        servicoJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve criar mil agendas validando o lote com uma consulta por verificação")
+    void deveCriarMilAgendasEmLote() {
+        // Arrange
+        List<Agenda> lote = new ArrayList<>();
+        LocalDate primeiroDia = LocalDate.now().plusDays(1);
+        for (int i = 0; i < QUANTIDADE_AGENDAS; i++) {
+            lote.add(new Agenda(referenciaCliente(), referenciaServico(),
+                    primeiroDia.plusDays(i / HORARIOS_POR_DIA), LocalTime.of(8, 0).plusMinutes(30L * (i % HORARIOS_POR_DIA))));
+        }
+
+        // Act
+        ResultadoLoteAgenda resultado = agendaService.criarAgendas(lote);
+        long consultas = statistics.getQueryExecutionCount();
+
+        // Assert
+        assertFalse(resultado.possuiErros());
+        assertEquals(QUANTIDADE_AGENDAS, resultado.getCriadas().size());
+        assertTrue(resultado.getCriadas().stream().allMatch(agenda -> agenda.getId() != null));
+        // Clientes, serviços, códigos, horários e o bloqueio do serviço para criar as linhas novas
+        // do consolidado: uma consulta cada, sem carga de entidade por item
+        assertEquals(5, consultas);
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertEquals(QUANTIDADE_AGENDAS, statistics.getEntityInsertCount());
+        assertEquals(QUANTIDADE_AGENDAS, agendaJpaRepository.count());
+        // O consolidado diário foi somado no mesmo lote
+        List<FaturamentoDiarioProjecao> consolidado = agendaRollupJpaRepository.buscarFaturamentoEntre(
+                primeiroDia, primeiroDia.plusDays(QUANTIDADE_AGENDAS / HORARIOS_POR_DIA));
+        assertEquals(QUANTIDADE_AGENDAS / HORARIOS_POR_DIA, consolidado.size());
+        assertEquals(QUANTIDADE_AGENDAS, consolidado.stream().mapToLong(FaturamentoDiarioProjecao::getQuantidade).sum());
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nenhuma agenda quando todos os itens são inválidos")
+    void naoDeveGravarQuandoTodosItensInvalidos() {
+        // Arrange
+        Agenda passada = new Agenda(referenciaCliente(), referenciaServico(), LocalDate.now().minusDays(1), LocalTime.of(8, 0));
+
+        // Act
+        ResultadoLoteAgenda resultado = agendaService.criarAgendas(List.of(passada));
+
+        // Assert
+        assertTrue(resultado.getCriadas().isEmpty());
+        assertEquals(1, resultado.getErros().size());
+        assertEquals(0, agendaJpaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve criar série semanal de 52 ocorrências com quantidade constante de consultas")
+    void deveCriarSerieSemanalComConsultasConstantes() {
+        // Arrange
+        LocalDate inicio = LocalDate.now().plusDays(1);
+        agendaService.criarAgenda(new Agenda(referenciaCliente(), referenciaServico(), inicio.plusWeeks(10), LocalTime.of(9, 0)));
+        Agenda modelo = new Agenda(referenciaCliente(), referenciaServico(), inicio, LocalTime.of(9, 0));
+        statistics.clear();
+
+        // Act
+        ResultadoLoteAgenda resultado = agendaService.criarSerie(modelo, new Recorrencia(Recorrencia.Frequencia.SEMANAL, 1, 52));
+        long consultas = statistics.getQueryExecutionCount();
+
+        // Assert
+        assertEquals(51, resultado.getCriadas().size());
+        assertEquals(1, resultado.getErros().size());
+        assertEquals(10, resultado.getErros().get(0).getIndice());
+        // Cliente e serviço vêm dos caches em memória: vão ao banco só a verificação de horários
+        // e o bloqueio do serviço para criar as linhas novas do consolidado
+        assertEquals(3, consultas);
+        assertEquals(52, agendaJpaRepository.count());
+    }
+
+    private Cliente referenciaCliente() {
+        Cliente referencia = new Cliente();
+        referencia.setId(cliente.getId());
+        return referencia;
+    }
+
+    private Servico referenciaServico() {
+        Servico referencia = new Servico();
+        referencia.setId(servico.getId());
+        return referencia;
+    }
+}
@@ -0,0 +1,430 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.exception.ConflitoHorarioException;
+import com.carepetz.domain.exception.ConflitoVersaoException;
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.DisponibilidadeDia;
+import com.carepetz.domain.model.ResultadoLoteAgenda;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.out.AgendaRepository;
+import com.carepetz.domain.port.out.ClienteRepository;
+import com.carepetz.domain.port.out.ServicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para AgendaService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do AgendaService")
+class AgendaServiceTest {
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private ServicoRepository servicoRepository;
+
+    @InjectMocks
+    private AgendaService agendaService;
+
+    private LocalDate amanha;
+    private Cliente cliente;
+    private Servico servico;
+
+    @BeforeEach
+    void setUp() {
+        amanha = LocalDate.now().plusDays(1);
+
+        cliente = new Cliente("João Silva", "(11) 99999-9999", "joao@email.com");
+        cliente.setId(1L);
+        servico = new Servico("PETZ CARE", new BigDecimal("80.00"));
+        servico.setId(2L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas os horários livres de cada dia do período")
+    void deveRetornarHorariosLivres() {
+        // Arrange
+        when(agendaRepository.buscarHorariosOcupados(amanha, amanha.plusDays(1)))
+                .thenReturn(Map.of(amanha, Set.of(LocalTime.of(8, 30), LocalTime.of(9, 15))));
+
+        // Act
+        List<DisponibilidadeDia> disponibilidade = agendaService.buscarHorariosLivres(
+                amanha, amanha.plusDays(1), LocalTime.of(8, 0), LocalTime.of(10, 0), 30);
+
+        // Assert
+        assertEquals(2, disponibilidade.size());
+        assertEquals(amanha, disponibilidade.get(0).getData());
+        assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(9, 30)),
+                disponibilidade.get(0).getHorariosLivres());
+        assertEquals(4, disponibilidade.get(1).getHorariosLivres().size());
+        verify(agendaRepository, times(1)).buscarHorariosOcupados(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar dias passados do período")
+    void deveIgnorarDiasPassados() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+        when(agendaRepository.buscarHorariosOcupados(hoje, amanha)).thenReturn(Map.of());
+
+        // Act
+        List<DisponibilidadeDia> disponibilidade = agendaService.buscarHorariosLivres(
+                hoje.minusDays(5), amanha, LocalTime.of(8, 0), LocalTime.of(9, 0), 60);
+
+        // Assert
+        assertEquals(2, disponibilidade.size());
+        assertEquals(hoje, disponibilidade.get(0).getData());
+    }
+
+    @Test
+    @DisplayName("Deve retornar lista vazia quando todo o período já passou")
+    void deveRetornarVazioParaPeriodoPassado() {
+        // Act
+        List<DisponibilidadeDia> disponibilidade = agendaService.buscarHorariosLivres(
+                LocalDate.now().minusDays(10), LocalDate.now().minusDays(1), LocalTime.of(8, 0), LocalTime.of(9, 0), 30);
+
+        // Assert
+        assertTrue(disponibilidade.isEmpty());
+        verifyNoInteractions(agendaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o período excede o limite de dias")
+    void deveLancarExcecaoQuandoPeriodoExcedeLimite() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> agendaService.buscarHorariosLivres(
+                amanha, amanha.plusDays(AgendaService.DIAS_MAXIMOS_DISPONIBILIDADE), LocalTime.of(8, 0), LocalTime.of(18, 0), 30));
+        verifyNoInteractions(agendaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o expediente é inválido")
+    void deveLancarExcecaoQuandoExpedienteInvalido() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> agendaService.buscarHorariosLivres(
+                amanha, amanha, LocalTime.of(18, 0), LocalTime.of(8, 0), 30));
+        assertThrows(IllegalArgumentException.class, () -> agendaService.buscarHorariosLivres(
+                amanha, amanha, LocalTime.of(8, 0), LocalTime.of(18, 0), 0));
+        verifyNoInteractions(agendaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve criar lote válido com uma consulta por tipo de dependência")
+    void deveCriarLoteValido() {
+        // Arrange
+        List<Agenda> lote = List.of(
+                agendaComReferencias(1L, 2L, LocalTime.of(8, 0)),
+                agendaComReferencias(1L, 2L, LocalTime.of(9, 0)),
+                agendaComReferencias(1L, 2L, LocalTime.of(10, 0)));
+        when(clienteRepository.buscarPorIds(Set.of(1L))).thenReturn(List.of(cliente));
+        when(servicoRepository.buscarPorIds(Set.of(2L))).thenReturn(List.of(servico));
+        when(agendaRepository.buscarCodigosExistentes(anyCollection())).thenReturn(Set.of());
+        when(agendaRepository.buscarHorariosOcupados(amanha, amanha)).thenReturn(Map.of());
+        when(agendaRepository.salvarTodas(anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        // Act
+        ResultadoLoteAgenda resultado = agendaService.criarAgendas(lote);
+
+        // Assert
+        assertFalse(resultado.possuiErros());
+        assertEquals(3, resultado.getCriadas().size());
+        assertEquals(new BigDecimal("80.00"), resultado.getCriadas().get(0).getValorServico());
+        assertEquals("João Silva", resultado.getCriadas().get(0).getCliente().getNomeCliente());
+        verify(clienteRepository, times(1)).buscarPorIds(any());
+        verify(servicoRepository, times(1)).buscarPorIds(any());
+        verify(agendaRepository, times(1)).buscarHorariosOcupados(any(), any());
+        verify(agendaRepository, never()).existeConflitoHorario(any(), any(), any());
+        verify(agendaRepository, times(1)).salvarTodas(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve reportar erros por item e criar apenas os itens válidos")
+    void deveReportarErrosPorItem() {
+        // Arrange
+        List<Agenda> lote = List.of(
+                agendaComReferencias(1L, 2L, LocalTime.of(8, 0)),
+                agendaComReferencias(99L, 2L, LocalTime.of(9, 0)),
+                agendaComReferencias(1L, 2L, LocalTime.of(10, 0)),
+                agendaComReferencias(1L, 2L, LocalTime.of(8, 0)));
+        when(clienteRepository.buscarPorIds(Set.of(1L, 99L))).thenReturn(List.of(cliente));
+        when(servicoRepository.buscarPorIds(Set.of(2L))).thenReturn(List.of(servico));
+        when(agendaRepository.buscarCodigosExistentes(anyCollection())).thenReturn(Set.of());
+        when(agendaRepository.buscarHorariosOcupados(amanha, amanha))
+                .thenReturn(Map.of(amanha, Set.of(LocalTime.of(10, 0))));
+        when(agendaRepository.salvarTodas(anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        // Act
+        ResultadoLoteAgenda resultado = agendaService.criarAgendas(lote);
+
+        // Assert
+        assertEquals(1, resultado.getCriadas().size());
+        assertEquals(LocalTime.of(8, 0), resultado.getCriadas().get(0).getHoraAgenda());
+        assertEquals(3, resultado.getErros().size());
+        assertEquals(1, resultado.getErros().get(0).getIndice());
+        assertEquals("Cliente não encontrado", resultado.getErros().get(0).getMensagem());
+        assertEquals(2, resultado.getErros().get(1).getIndice());
+        assertEquals(ConflitoHorarioException.MENSAGEM, resultado.getErros().get(1).getMensagem());
+        assertEquals(3, resultado.getErros().get(2).getIndice());
+        assertEquals(ConflitoHorarioException.MENSAGEM, resultado.getErros().get(2).getMensagem());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o lote excede o tamanho máximo")
+    void deveLancarExcecaoQuandoLoteExcedeTamanhoMaximo() {
+        // Arrange
+        List<Agenda> lote = new ArrayList<>();
+        for (int i = 0; i <= AgendaService.TAMANHO_MAXIMO_LOTE; i++) {
+            lote.add(agendaComReferencias(1L, 2L, LocalTime.of(8, 0)));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> agendaService.criarAgendas(lote));
+        assertThrows(IllegalArgumentException.class, () -> agendaService.criarAgendas(List.of()));
+        verifyNoInteractions(agendaRepository, clienteRepository, servicoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve criar agenda consultando apenas o cliente e lendo o serviço do catálogo")
+    void deveCriarAgendaComUmaCargaDeDependencias() {
+        // Arrange
+        Agenda agenda = agendaComReferencias(1L, 2L, LocalTime.of(8, 0));
+        when(clienteRepository.buscarPorId(1L)).thenReturn(Optional.of(cliente));
+        when(servicoRepository.buscarPorId(2L)).thenReturn(Optional.of(servico));
+        when(agendaRepository.salvar(agenda)).thenReturn(agenda);
+
+        // Act
+        Agenda criada = agendaService.criarAgenda(agenda);
+
+        // Assert
+        assertEquals(new BigDecimal("80.00"), criada.getValorServico());
+        verify(agendaRepository, never()).existePorCodigo(anyString());
+        verify(clienteRepository, times(1)).buscarPorId(1L);
+        verify(servicoRepository, times(1)).buscarPorId(2L);
+        verify(clienteRepository, never()).existe(any());
+        verify(servicoRepository, never()).existe(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o cliente da agenda não existe")
+    void deveLancarExcecaoQuandoClienteNaoExiste() {
+        // Arrange
+        Agenda agenda = agendaComReferencias(99L, 2L, LocalTime.of(8, 0));
+        when(clienteRepository.buscarPorId(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> agendaService.criarAgenda(agenda));
+        assertEquals("Cliente não encontrado", exception.getMessage());
+        verify(agendaRepository, never()).salvar(any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a atualização quando a versão enviada não for a gravada")
+    void deveRecusarVersaoEnviadaDesatualizada() {
+        // Arrange
+        Agenda agenda = agendaParaAtualizar();
+        agenda.setVersao(1L);
+        when(clienteRepository.buscarPorId(1L)).thenReturn(Optional.of(cliente));
+        when(servicoRepository.buscarPorId(2L)).thenReturn(Optional.of(servico));
+        when(agendaRepository.buscarHorario(5L)).thenReturn(Optional.of(amanha.atTime(9, 0)));
+        when(agendaRepository.salvar(agenda)).thenThrow(new ConflitoVersaoException());
+        when(agendaRepository.existe(5L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ConflitoVersaoException.class, () -> agendaService.atualizarAgenda(5L, agenda));
+        assertEquals(1L, agenda.getVersao());
+        verify(agendaRepository, never()).buscarPorId(any());
+        verify(agendaRepository, times(1)).salvar(agenda);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a versão enviada sem ler a agenda antes, com o horário de origem do índice")
+    void deveGravarVersaoEnviadaSemLeituraPrevia() {
+        // Arrange
+        Agenda agenda = agendaParaAtualizar();
+        agenda.setVersao(3L);
+        when(clienteRepository.buscarPorId(1L)).thenReturn(Optional.of(cliente));
+        when(servicoRepository.buscarPorId(2L)).thenReturn(Optional.of(servico));
+        when(agendaRepository.buscarHorario(5L)).thenReturn(Optional.of(amanha.atTime(9, 0)));
+        when(agendaRepository.salvar(agenda)).thenReturn(agenda);
+
+        // Act
+        Agenda atualizada = agendaService.atualizarAgenda(5L, agenda);
+
+        // Assert
+        assertSame(agenda, atualizada);
+        assertEquals(3L, agenda.getVersao());
+        verify(agendaRepository, never()).buscarPorId(any());
+        verify(agendaRepository, never()).existe(any());
+    }
+
+    @Test
+    @DisplayName("Deve tratar como não encontrada a versão enviada para uma agenda inexistente")
+    void deveRecusarVersaoEnviadaParaAgendaInexistente() {
+        // Arrange
+        Agenda agenda = agendaParaAtualizar();
+        agenda.setVersao(0L);
+        when(clienteRepository.buscarPorId(1L)).thenReturn(Optional.of(cliente));
+        when(servicoRepository.buscarPorId(2L)).thenReturn(Optional.of(servico));
+        when(agendaRepository.buscarHorario(5L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> agendaService.atualizarAgenda(5L, agenda));
+        assertEquals("Agenda não encontrada com ID: 5", exception.getMessage());
+        verify(agendaRepository, never()).buscarPorId(any());
+        verify(agendaRepository, never()).salvar(any());
+    }
+
+    @Test
+    @DisplayName("Deve tratar como não encontrada a agenda excluída durante a gravação da versão enviada")
+    void deveRecusarVersaoEnviadaParaAgendaExcluidaNaGravacao() {
+        // Arrange
+        Agenda agenda = agendaParaAtualizar();
+        agenda.setVersao(0L);
+        when(clienteRepository.buscarPorId(1L)).thenReturn(Optional.of(cliente));
+        when(servicoRepository.buscarPorId(2L)).thenReturn(Optional.of(servico));
+        when(agendaRepository.buscarHorario(5L)).thenReturn(Optional.of(amanha.atTime(9, 0)));
+        when(agendaRepository.salvar(agenda)).thenThrow(new ConflitoVersaoException());
+        when(agendaRepository.existe(5L)).thenReturn(false);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> agendaService.atualizarAgenda(5L, agenda));
+        assertEquals("Agenda não encontrada com ID: 5", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo com a versão relida quando outra gravação vencer")
+    void deveRepetirAtualizacaoComVersaoRelida() {
+        // Arrange
+        Agenda agenda = agendaParaAtualizar();
+        List<Long> versoesGravadas = new ArrayList<>();
+        when(clienteRepository.buscarPorId(1L)).thenReturn(Optional.of(cliente));
+        when(servicoRepository.buscarPorId(2L)).thenReturn(Optional.of(servico));
+        when(agendaRepository.buscarPorId(5L))
+                .thenReturn(Optional.of(agendaGravada(5L, 0L)))
+                .thenReturn(Optional.of(agendaGravada(5L, 1L)));
+        when(agendaRepository.salvar(agenda)).thenAnswer(invocacao -> {
+            versoesGravadas.add(agenda.getVersao());
+            if (versoesGravadas.size() == 1) {
+                throw new ConflitoVersaoException();
+            }
+            return agenda;
+        });
+
+        // Act
+        Agenda atualizada = agendaService.atualizarAgenda(5L, agenda);
+
+        // Assert
+        assertSame(agenda, atualizada);
+        assertEquals(List.of(0L, 1L), versoesGravadas);
+        verify(agendaRepository, times(2)).buscarPorId(5L);
+        verify(clienteRepository, never()).existe(any());
+        verify(servicoRepository, never()).existe(any());
+        assertEquals("João Silva", atualizada.getCliente().getNomeCliente());
+    }
+
+    @Test
+    @DisplayName("Deve tratar a agenda arquivada, sem versão, como não encontrada na atualização")
+    void deveRecusarAtualizacaoDeAgendaArquivada() {
+        // Arrange
+        Agenda agenda = agendaParaAtualizar();
+        when(clienteRepository.buscarPorId(1L)).thenReturn(Optional.of(cliente));
+        when(servicoRepository.buscarPorId(2L)).thenReturn(Optional.of(servico));
+        when(agendaRepository.buscarPorId(5L)).thenReturn(Optional.of(agendaGravada(5L, null)));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> agendaService.atualizarAgenda(5L, agenda));
+        assertEquals("Agenda não encontrada com ID: 5", exception.getMessage());
+        verify(agendaRepository, never()).salvar(any());
+    }
+
+    @Test
+    @DisplayName("Deve excluir sem consultar antes se a agenda existe")
+    void deveExcluirSemConsultarExistencia() {
+        // Arrange
+        when(agendaRepository.excluir(5L)).thenReturn(true);
+        when(agendaRepository.excluir(6L)).thenReturn(false);
+
+        // Act
+        agendaService.excluirAgenda(5L);
+
+        // Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> agendaService.excluirAgenda(6L));
+        assertEquals("Agenda não encontrada com ID: 6", exception.getMessage());
+        assertEquals(1, agendaService.versaoAgendas());
+        verify(agendaRepository, never()).existe(any());
+    }
+
+    private Agenda agendaParaAtualizar() {
+        Agenda agenda = agendaComReferencias(1L, 2L, LocalTime.of(10, 0));
+        agenda.setValorServico(new BigDecimal("80.00"));
+        return agenda;
+    }
+
+    private Agenda agendaGravada(Long id, Long versaoGravada) {
+        Agenda gravada = agendaComReferencias(1L, 2L, LocalTime.of(9, 0));
+        gravada.setId(id);
+        gravada.setVersao(versaoGravada);
+        return gravada;
+    }
+
+    private Agenda agendaComReferencias(Long clienteId, Long servicoId, LocalTime hora) {
+        Cliente referenciaCliente = new Cliente();
+        referenciaCliente.setId(clienteId);
+        Servico referenciaServico = new Servico();
+        referenciaServico.setId(servicoId);
+        return new Agenda(referenciaCliente, referenciaServico, amanha, hora);
+    }
+
+    @Test
+    @DisplayName("Deve arquivar em lotes até um lote incompleto")
+    void deveArquivarEmLotesAteLoteIncompleto() {
+        // Arrange
+        LocalDate limite = LocalDate.now().minusDays(90);
+        when(agendaRepository.arquivarLote(limite, 100)).thenReturn(100, 100, 37);
+
+        // Act
+        int arquivadas = agendaService.arquivarAgendasAnteriores(limite, 100);
+
+        // Assert
+        assertEquals(237, arquivadas);
+        verify(agendaRepository, times(3)).arquivarLote(limite, 100);
+    }
+
+    @Test
+    @DisplayName("Não deve arquivar a partir de data futura")
+    void naoDeveArquivarComDataFutura() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> agendaService.arquivarAgendasAnteriores(amanha, 100));
+        verify(agendaRepository, never()).arquivarLote(any(), anyInt());
+    }
+}
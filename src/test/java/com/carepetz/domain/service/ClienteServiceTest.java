@@ -1,5 +1,6 @@
 package com.carepetz.domain.service;
 
+import com.carepetz.domain.exception.ConflitoVersaoException;
 import com.carepetz.domain.model.Cliente;
 import com.carepetz.domain.port.out.ClienteRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -156,7 +158,7 @@ class ClienteServiceTest {
     void deveAtualizarClienteComSucesso() {
         // Arrange
         Long id = 1L;
-        when(clienteRepository.existe(id)).thenReturn(true);
+        when(clienteRepository.buscarPorId(id)).thenReturn(Optional.of(clienteGravado(id, 0L)));
         when(clienteRepository.salvar(any(Cliente.class))).thenReturn(clienteValido);
 
         // Act
@@ -172,7 +174,7 @@ class ClienteServiceTest {
     void deveLancarExcecaoAoAtualizarClienteInexistente() {
         // Arrange
         Long id = 999L;
-        when(clienteRepository.existe(id)).thenReturn(false);
+        when(clienteRepository.buscarPorId(id)).thenReturn(Optional.empty());
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
@@ -183,6 +185,88 @@ class ClienteServiceTest {
         assertEquals("Cliente não encontrado com ID: " + id, exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Deve atualizar pela versão enviada sem consultar o cliente antes")
+    void deveAtualizarPelaVersaoEnviadaSemConsultar() {
+        // Arrange
+        clienteValido.setVersao(4L);
+        when(clienteRepository.salvar(clienteValido)).thenReturn(clienteValido);
+
+        // Act
+        clienteService.atualizarCliente(1L, clienteValido);
+
+        // Assert
+        verify(clienteRepository, never()).buscarPorId(any());
+        verify(clienteRepository, never()).existe(any());
+        verify(clienteRepository, times(1)).salvar(clienteValido);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o conflito da versão enviada sem tentar de novo")
+    void deveDevolverConflitoDaVersaoEnviada() {
+        // Arrange
+        clienteValido.setVersao(4L);
+        when(clienteRepository.salvar(clienteValido)).thenThrow(new ConflitoVersaoException());
+        when(clienteRepository.existe(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ConflitoVersaoException.class, () -> clienteService.atualizarCliente(1L, clienteValido));
+        verify(clienteRepository, times(1)).salvar(any());
+        assertEquals(0, clienteService.versaoClientes());
+    }
+
+    @Test
+    @DisplayName("Deve tratar como não encontrado o cliente inexistente com versão enviada")
+    void deveTratarComoNaoEncontradoClienteInexistenteComVersao() {
+        // Arrange
+        clienteValido.setVersao(4L);
+        when(clienteRepository.salvar(clienteValido)).thenThrow(new ConflitoVersaoException());
+        when(clienteRepository.existe(99L)).thenReturn(false);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> clienteService.atualizarCliente(99L, clienteValido));
+        assertEquals("Cliente não encontrado com ID: 99", exception.getMessage());
+        verify(clienteRepository, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo com a versão relida quando outra gravação vencer")
+    void deveTentarDeNovoComVersaoRelida() {
+        // Arrange
+        Long id = 1L;
+        List<Long> versoesGravadas = new ArrayList<>();
+        when(clienteRepository.buscarPorId(id))
+                .thenReturn(Optional.of(clienteGravado(id, 0L)))
+                .thenReturn(Optional.of(clienteGravado(id, 1L)));
+        when(clienteRepository.salvar(clienteValido)).thenAnswer(invocation -> {
+            versoesGravadas.add(clienteValido.getVersao());
+            if (versoesGravadas.size() == 1) {
+                throw new ConflitoVersaoException();
+            }
+            return clienteValido;
+        });
+
+        // Act
+        clienteService.atualizarCliente(id, clienteValido);
+
+        // Assert
+        assertEquals(List.of(0L, 1L), versoesGravadas);
+    }
+
+    @Test
+    @DisplayName("Deve desistir depois do limite de tentativas")
+    void deveDesistirDepoisDoLimiteDeTentativas() {
+        // Arrange
+        Long id = 1L;
+        when(clienteRepository.buscarPorId(id)).thenReturn(Optional.of(clienteGravado(id, 0L)));
+        when(clienteRepository.salvar(clienteValido)).thenThrow(new ConflitoVersaoException());
+
+        // Act & Assert
+        assertThrows(ConflitoVersaoException.class, () -> clienteService.atualizarCliente(id, clienteValido));
+        verify(clienteRepository, times(RepeticaoConflito.TENTATIVAS)).salvar(clienteValido);
+    }
+
     @Test
     @DisplayName("Deve excluir cliente com sucesso")
     void deveExcluirClienteComSucesso() {
@@ -227,4 +311,28 @@ class ClienteServiceTest {
         // Assert
         assertTrue(existe);
     }
+
+    @Test
+    @DisplayName("Deve incrementar a versão apenas quando a gravação acontece")
+    void deveIncrementarVersaoApenasComGravacao() {
+        // Arrange
+        when(clienteRepository.existePorCodigo(anyString())).thenReturn(false);
+        when(clienteRepository.salvar(any(Cliente.class))).thenReturn(clienteValido);
+        when(clienteRepository.existe(99L)).thenReturn(false);
+        long versaoInicial = clienteService.versaoClientes();
+
+        // Act
+        clienteService.criarCliente(clienteValido);
+        assertThrows(IllegalArgumentException.class, () -> clienteService.excluirCliente(99L));
+
+        // Assert
+        assertEquals(versaoInicial + 1, clienteService.versaoClientes());
+    }
+
+    private Cliente clienteGravado(Long id, Long versao) {
+        Cliente gravado = new Cliente("João Silva", "(11) 99999-9999", "joao@email.com");
+        gravado.setId(id);
+        gravado.setVersao(versao);
+        return gravado;
+    }
 }
@@ -0,0 +1,81 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.model.FaturamentoServico;
+import com.carepetz.domain.port.out.RelatorioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para RelatorioService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do RelatorioService")
+class RelatorioServiceTest {
+
+    @Mock
+    private RelatorioRepository relatorioRepository;
+
+    @InjectMocks
+    private RelatorioService relatorioService;
+
+    @Test
+    @DisplayName("Deve agrupar o faturamento diário por mês e serviço")
+    void deveAgruparFaturamentoPorMes() {
+        // Arrange
+        LocalDate inicio = LocalDate.of(2026, 1, 1);
+        LocalDate fim = LocalDate.of(2026, 2, 28);
+        when(relatorioRepository.buscarFaturamentoDiario(inicio, fim)).thenReturn(List.of(
+                new FaturamentoServico(LocalDate.of(2026, 1, 5), 1L, "Banho", 2, new BigDecimal("80.00")),
+                new FaturamentoServico(LocalDate.of(2026, 1, 5), 2L, "Tosa", 1, new BigDecimal("60.00")),
+                new FaturamentoServico(LocalDate.of(2026, 1, 20), 1L, "Banho", 3, new BigDecimal("120.00")),
+                new FaturamentoServico(LocalDate.of(2026, 2, 3), 1L, "Banho", 1, new BigDecimal("40.00"))));
+
+        // Act
+        List<FaturamentoServico> mensal = relatorioService.gerarFaturamentoPorServico(
+                inicio, fim, FaturamentoServico.Agrupamento.MENSAL);
+
+        // Assert
+        assertEquals(List.of(
+                new FaturamentoServico(LocalDate.of(2026, 1, 1), 1L, "Banho", 5, new BigDecimal("200.00")),
+                new FaturamentoServico(LocalDate.of(2026, 1, 1), 2L, "Tosa", 1, new BigDecimal("60.00")),
+                new FaturamentoServico(LocalDate.of(2026, 2, 1), 1L, "Banho", 1, new BigDecimal("40.00"))), mensal);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o consolidado diário sem reagrupar")
+    void deveDevolverFaturamentoDiario() {
+        // Arrange
+        LocalDate dia = LocalDate.of(2026, 3, 10);
+        List<FaturamentoServico> diario = List.of(new FaturamentoServico(dia, 1L, "Banho", 2, new BigDecimal("80.00")));
+        when(relatorioRepository.buscarFaturamentoDiario(dia, dia)).thenReturn(diario);
+
+        // Act & Assert
+        assertEquals(diario, relatorioService.gerarFaturamentoPorServico(dia, dia, FaturamentoServico.Agrupamento.DIARIO));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período invertido ou maior que o limite sem consultar o repositório")
+    void deveRejeitarPeriodoInvalido() {
+        // Arrange
+        LocalDate inicio = LocalDate.of(2026, 1, 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> relatorioService.gerarFaturamentoPorServico(
+                inicio, inicio.minusDays(1), FaturamentoServico.Agrupamento.DIARIO));
+        assertThrows(IllegalArgumentException.class, () -> relatorioService.gerarFaturamentoPorServico(
+                inicio, inicio.plusDays(RelatorioService.DIAS_MAXIMOS_RELATORIO), FaturamentoServico.Agrupamento.MENSAL));
+        verify(relatorioRepository, never()).buscarFaturamentoDiario(any(), any());
+    }
+}
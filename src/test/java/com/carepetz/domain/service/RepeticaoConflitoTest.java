@@ -0,0 +1,95 @@
+package com.carepetz.domain.service;
+
+import com.carepetz.domain.exception.ConflitoVersaoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários da RepeticaoConflito
+ */
+@DisplayName("Testes da RepeticaoConflito")
+class RepeticaoConflitoTest {
+
+    private final RepeticaoConflito repeticao = new RepeticaoConflito(3, Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resultado da tentativa que vencer o conflito")
+    void deveDevolverResultadoAposConflito() {
+        // Arrange
+        AtomicInteger tentativas = new AtomicInteger();
+
+        // Act
+        String resultado = repeticao.executar(() -> {
+            if (tentativas.incrementAndGet() < 3) {
+                throw new ConflitoVersaoException();
+            }
+            return "gravado";
+        });
+
+        // Assert
+        assertEquals("gravado", resultado);
+        assertEquals(3, tentativas.get());
+    }
+
+    @Test
+    @DisplayName("Deve relançar o conflito depois do limite de tentativas")
+    void deveRelancarConflitoAposLimite() {
+        // Arrange
+        AtomicInteger tentativas = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ConflitoVersaoException.class, () -> repeticao.executar(() -> {
+            tentativas.incrementAndGet();
+            throw new ConflitoVersaoException();
+        }));
+        assertEquals(3, tentativas.get());
+    }
+
+    @Test
+    @DisplayName("Deve repassar outras exceções sem tentar de novo")
+    void deveRepassarOutrasExcecoesSemRepetir() {
+        // Arrange
+        AtomicInteger tentativas = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> repeticao.executar(() -> {
+            tentativas.incrementAndGet();
+            throw new IllegalArgumentException("Agenda não encontrada");
+        }));
+        assertEquals(1, tentativas.get());
+    }
+
+    @Test
+    @DisplayName("Deve parar de tentar e manter a interrupção da thread")
+    void devePararQuandoInterrompida() {
+        // Arrange
+        AtomicInteger tentativas = new AtomicInteger();
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        assertThrows(ConflitoVersaoException.class, () -> repeticao.executar(() -> {
+            tentativas.incrementAndGet();
+            throw new ConflitoVersaoException();
+        }));
+        assertEquals(1, tentativas.get());
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a quantidade de tentativas não for positiva")
+    void deveRejeitarTentativasInvalidas() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RepeticaoConflito(0, Duration.ofMillis(1)));
+    }
+}
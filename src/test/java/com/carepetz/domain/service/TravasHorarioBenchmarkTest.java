@@ -0,0 +1,92 @@
+package com.carepetz.domain.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de disputa das TravasHorario
+ * Mede a vazão com 1, 8 e 64 threads agendando no mesmo horário e em horários distintos.
+ * A seção crítica espera como a ida ao banco da verificação e do INSERT, sem ocupar a CPU;
+ * só roda com -Pbenchmark
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de disputa das travas por horário")
+class TravasHorarioBenchmarkTest {
+
+    private static final int[] THREADS = {1, 8, 64};
+    private static final long SECAO_CRITICA_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long DURACAO_MEDICAO_MS = 2000;
+    private static final LocalDate SABADO = LocalDate.now().plusDays(30);
+    private static final LocalTime ABERTURA = LocalTime.of(8, 0);
+
+    @Test
+    @DisplayName("Deve manter o paralelismo entre horários distintos e serializar o mesmo horário")
+    void deveCompararDisputaPorHorario() throws Exception {
+        // Arrange
+        TravasHorario travas = new TravasHorario();
+        medir(travas, 8, true);
+
+        // Act
+        double[] mesmoHorario = new double[THREADS.length];
+        double[] horariosDistintos = new double[THREADS.length];
+        for (int i = 0; i < THREADS.length; i++) {
+            mesmoHorario[i] = medir(travas, THREADS[i], true);
+            horariosDistintos[i] = medir(travas, THREADS[i], false);
+        }
+
+        // Assert
+        System.out.printf("%8s %22s %22s%n", "threads", "mesmo horário (op/s)", "horários distintos (op/s)");
+        for (int i = 0; i < THREADS.length; i++) {
+            System.out.printf("%8d %,22.0f %,22.0f%n", THREADS[i], mesmoHorario[i], horariosDistintos[i]);
+        }
+        // O mesmo horário não ganha vazão com mais threads; horários distintos ganham
+        assertTrue(mesmoHorario[1] < mesmoHorario[0] * 1.5);
+        assertTrue(horariosDistintos[1] > horariosDistintos[0] * 4);
+    }
+
+    private double medir(TravasHorario travas, int threads, boolean mesmoHorario) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        LongAdder operacoes = new LongAdder();
+        long fim = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURACAO_MEDICAO_MS);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            LocalTime hora = mesmoHorario ? ABERTURA : ABERTURA.plusMinutes(5L * t);
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                while (System.nanoTime() < fim) {
+                    travas.executar(SABADO, hora, () -> {
+                        LockSupport.parkNanos(SECAO_CRITICA_NANOS);
+                        return null;
+                    });
+                    operacoes.increment();
+                }
+                return null;
+            }));
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(DURACAO_MEDICAO_MS * 5, TimeUnit.MILLISECONDS);
+        }
+        long duracao = System.nanoTime() - inicio;
+        executor.shutdown();
+        return operacoes.sum() * 1_000_000_000.0 / duracao;
+    }
+}
@@ -0,0 +1,205 @@
+package com.carepetz.domain.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários das TravasHorario
+ * Várias threads disputam os mesmos horários e horários distintos ao mesmo tempo
+ */
+@DisplayName("Testes das TravasHorario")
+class TravasHorarioTest {
+
+    private static final int THREADS = 16;
+    private static final LocalDate SABADO = LocalDate.of(2030, 6, 1);
+    private static final LocalTime NOVE_HORAS = LocalTime.of(9, 0);
+
+    private final TravasHorario travas = new TravasHorario();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve serializar a verificação e a gravação de um mesmo horário")
+    void deveSerializarMesmoHorario() throws Exception {
+        // Arrange
+        int repeticoes = 500;
+        int[] gravacoes = new int[1];
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < repeticoes; i++) {
+                    travas.executar(SABADO, NOVE_HORAS, () -> {
+                        // Verificação e gravação sem nenhuma outra sincronização
+                        int lido = gravacoes[0];
+                        Thread.yield();
+                        gravacoes[0] = lido + 1;
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(THREADS * repeticoes, gravacoes[0]);
+    }
+
+    @Test
+    @DisplayName("Deve deixar horários de listras diferentes rodarem em paralelo")
+    void deveManterParalelismoEntreHorariosDistintos() throws Exception {
+        // Arrange
+        LocalTime outroHorario = horarioEmOutraListra(SABADO, NOVE_HORAS);
+        CountDownLatch dentroDaSecao = new CountDownLatch(1);
+        CountDownLatch liberarPrimeira = new CountDownLatch(1);
+        Future<?> primeira = executor.submit(() -> travas.executar(SABADO, NOVE_HORAS, () -> {
+            dentroDaSecao.countDown();
+            aguardar(liberarPrimeira);
+            return null;
+        }));
+        assertTrue(dentroDaSecao.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<Boolean> segunda = executor.submit(() -> travas.executar(SABADO, outroHorario, () -> true));
+
+        // Assert
+        assertTrue(segunda.get(5, TimeUnit.SECONDS));
+        liberarPrimeira.countDown();
+        primeira.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Deve mover agendas em sentidos opostos sem impasse")
+    void deveMoverEmSentidosOpostosSemImpasse() throws Exception {
+        // Arrange
+        LocalTime outroHorario = horarioEmOutraListra(SABADO, NOVE_HORAS);
+        int repeticoes = 500;
+        int[] movimentos = new int[1];
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean ida = t % 2 == 0;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < repeticoes; i++) {
+                    LocalTime origem = ida ? NOVE_HORAS : outroHorario;
+                    LocalTime destino = ida ? outroHorario : NOVE_HORAS;
+                    travas.executar(SABADO, origem, SABADO, destino, () -> movimentos[0]++);
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(THREADS * repeticoes, movimentos[0]);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a mudança para um horário da mesma listra")
+    void deveAceitarMudancaNaMesmaListra() {
+        // Act
+        Integer resultado = travas.executar(SABADO, NOVE_HORAS, SABADO, NOVE_HORAS, () -> 42);
+
+        // Assert
+        assertEquals(42, resultado);
+        assertEquals(7, travas.executar(SABADO, NOVE_HORAS, () -> 7));
+    }
+
+    @Test
+    @DisplayName("Deve manter o horário travado até o fim da transação")
+    void deveManterTravaAteFimDaTransacao() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        travas.executar(SABADO, NOVE_HORAS, () -> null);
+        AtomicBoolean concorrenteEntrou = new AtomicBoolean();
+
+        // Act
+        Future<?> concorrente = executor.submit(() ->
+                travas.executar(SABADO, NOVE_HORAS, () -> concorrenteEntrou.getAndSet(true)));
+        Thread.sleep(200);
+        boolean entrouAntesDoFim = concorrenteEntrou.get();
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        concorrente.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(entrouAntesDoFim);
+        assertTrue(concorrenteEntrou.get());
+    }
+
+    @Test
+    @DisplayName("Deve liberar o horário quando a seção crítica falhar")
+    void deveLiberarQuandoSecaoFalhar() throws Exception {
+        // Arrange
+        assertThrows(IllegalStateException.class, () -> travas.executar(SABADO, NOVE_HORAS, () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        // Act
+        Future<Boolean> seguinte = executor.submit(() -> travas.executar(SABADO, NOVE_HORAS, () -> true));
+
+        // Assert
+        assertTrue(seguinte.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a quantidade de listras não for potência de 2")
+    void deveRejeitarQuantidadeDeListrasInvalida() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TravasHorario(0));
+        assertThrows(IllegalArgumentException.class, () -> new TravasHorario(100));
+    }
+
+    private LocalTime horarioEmOutraListra(LocalDate data, LocalTime hora) {
+        LocalTime candidato = hora.plusMinutes(1);
+        while (travas.listra(data, candidato) == travas.listra(data, hora)) {
+            candidato = candidato.plusMinutes(1);
+        }
+        return candidato;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
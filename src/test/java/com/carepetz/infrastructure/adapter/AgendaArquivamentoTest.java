@@ -0,0 +1,221 @@
+package com.carepetz.infrastructure.adapter;
+
+import com.carepetz.domain.exception.AgendaDuplicadaException;
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.PaginaAgenda;
+import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import com.carepetz.infrastructure.mapper.AgendaMapper;
+import com.carepetz.infrastructure.repository.AgendaHistoricoJpaRepository;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do arquivamento de agendas no AgendaRepositoryAdapter
+ * O contexto é descartado após cada teste porque o adaptador guarda o limite já arquivado
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(AgendaRepositoryAdapter.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Testes do arquivamento de agendas")
+class AgendaArquivamentoTest {
+
+    private static final int AGENDAS_PASSADAS = 5;
+
+    @Autowired
+    private AgendaRepositoryAdapter agendaRepositoryAdapter;
+
+    @Autowired
+    private AgendaJpaRepository agendaJpaRepository;
+
+    @Autowired
+    private AgendaHistoricoJpaRepository agendaHistoricoJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ClienteEntity cliente;
+    private LocalDate hoje;
+
+    @BeforeEach
+    void setUp() {
+        hoje = LocalDate.now();
+        cliente = new ClienteEntity("Cliente Antigo", "11999990000", "antigo@email.com");
+        ServicoEntity servico = new ServicoEntity("Banho", new BigDecimal("40.00"));
+        entityManager.persist(cliente);
+        entityManager.persist(servico);
+
+        for (int i = 0; i < AGENDAS_PASSADAS; i++) {
+            entityManager.persist(new AgendaEntity(cliente, servico, hoje.minusDays(200 + i), LocalTime.of(9, 0)));
+        }
+        entityManager.persist(new AgendaEntity(cliente, servico, hoje.plusDays(1), LocalTime.of(9, 0)));
+        entityManager.persist(new AgendaEntity(cliente, servico, hoje.plusDays(2), LocalTime.of(9, 0)));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Deve mover as agendas anteriores ao limite em lotes até esgotá-las")
+    void deveArquivarEmLotes() {
+        // Act
+        int primeiro = agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), 2);
+        int segundo = agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), 2);
+        int terceiro = agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), 2);
+        int quarto = agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), 2);
+
+        // Assert
+        assertEquals(List.of(2, 2, 1, 0), List.of(primeiro, segundo, terceiro, quarto));
+        assertEquals(2, agendaJpaRepository.count());
+        assertEquals(AGENDAS_PASSADAS, agendaHistoricoJpaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o histórico apenas quando o período alcança datas arquivadas")
+    void deveUnirHistoricoApenasQuandoPeriodoAlcancaArquivo() {
+        // Arrange
+        agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), AGENDAS_PASSADAS);
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        List<Agenda> futuras = agendaRepositoryAdapter.buscarPorPeriodo(hoje, hoje.plusDays(10));
+        long comandosFuturas = statistics.getPrepareStatementCount();
+        List<Agenda> todas = agendaRepositoryAdapter.buscarPorPeriodo(hoje.minusDays(365), hoje.plusDays(10));
+
+        // Assert
+        assertEquals(2, futuras.size());
+        assertEquals(1, comandosFuturas);
+        assertEquals(AGENDAS_PASSADAS + 2, todas.size());
+        assertTrue(todas.stream().allMatch(agenda -> agenda.getCliente().getNomeCliente() != null));
+    }
+
+    @Test
+    @DisplayName("Deve continuar o histórico do cliente pelas agendas arquivadas")
+    void deveContinuarHistoricoDoClientePeloArquivo() {
+        // Arrange
+        agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), AGENDAS_PASSADAS);
+        entityManager.clear();
+
+        // Act
+        PaginaAgenda primeira = agendaRepositoryAdapter.buscarPaginaPorCliente(cliente.getId(), null, 4);
+        PaginaAgenda segunda = agendaRepositoryAdapter.buscarPaginaPorCliente(cliente.getId(), primeira.getProximoCursor(), 4);
+
+        // Assert
+        assertEquals(hoje.plusDays(2), primeira.getItens().get(0).getDataAgenda());
+        assertEquals(hoje.minusDays(201), primeira.getItens().get(3).getDataAgenda());
+        assertEquals(3, segunda.getItens().size());
+        assertEquals(hoje.minusDays(204), segunda.getItens().get(2).getDataAgenda());
+        assertFalse(segunda.temProximaPagina());
+    }
+
+    @Test
+    @DisplayName("Deve incluir agendas arquivadas na busca por filtros que alcança o arquivo")
+    void deveIncluirArquivadasNaBusca() {
+        // Arrange
+        agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), AGENDAS_PASSADAS);
+        entityManager.clear();
+
+        // Act
+        PaginaAgenda pagina = agendaRepositoryAdapter.buscarPaginaPorFiltro(
+                new FiltroAgenda(null, null, cliente.getId(), null, null, null), null, 10);
+
+        // Assert
+        assertEquals(AGENDAS_PASSADAS + 2, pagina.getItens().size());
+        assertEquals(hoje.minusDays(204), pagina.getItens().get(0).getDataAgenda());
+        assertEquals(hoje.plusDays(2), pagina.getItens().get(AGENDAS_PASSADAS + 1).getDataAgenda());
+    }
+
+    @Test
+    @DisplayName("Deve incluir agendas arquivadas na listagem completa e na paginada")
+    void deveIncluirArquivadasNasListagens() {
+        // Arrange
+        agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), AGENDAS_PASSADAS);
+        entityManager.clear();
+
+        // Act
+        List<Agenda> todas = agendaRepositoryAdapter.buscarTodas();
+        PaginaAgenda primeira = agendaRepositoryAdapter.buscarPagina(null, 4);
+        PaginaAgenda segunda = agendaRepositoryAdapter.buscarPagina(primeira.getProximoCursor(), 4);
+
+        // Assert
+        assertEquals(AGENDAS_PASSADAS + 2, todas.size());
+        assertEquals(hoje.minusDays(204), primeira.getItens().get(0).getDataAgenda());
+        assertEquals(hoje.minusDays(201), primeira.getItens().get(3).getDataAgenda());
+        assertEquals(List.of(hoje.minusDays(200), hoje.plusDays(1), hoje.plusDays(2)),
+                segunda.getItens().stream().map(Agenda::getDataAgenda).toList());
+        assertFalse(segunda.temProximaPagina());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar pelo código e recusar o código de uma agenda arquivada")
+    void deveConsiderarCodigosArquivados() {
+        // Arrange
+        String codigoArquivado = agendaJpaRepository.findAll().stream()
+                .filter(agenda -> agenda.getDataAgenda().isBefore(hoje))
+                .findFirst()
+                .orElseThrow()
+                .getCodigoAgenda();
+        agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), AGENDAS_PASSADAS);
+        entityManager.clear();
+
+        // Agenda ainda ativa remarcada para uma data já alcançada pelo arquivamento
+        Agenda reaproveitada = AgendaMapper.toDomain(agendaJpaRepository.findAll().get(0));
+        reaproveitada.setCodigoAgenda(codigoArquivado);
+        reaproveitada.setDataAgenda(hoje.minusDays(120));
+
+        // Act & Assert
+        assertTrue(agendaRepositoryAdapter.existePorCodigo(codigoArquivado));
+        assertEquals(Set.of(codigoArquivado),
+                agendaRepositoryAdapter.buscarCodigosExistentes(List.of(codigoArquivado, "codigo-novo")));
+        assertThrows(AgendaDuplicadaException.class, () -> agendaRepositoryAdapter.salvar(reaproveitada));
+    }
+
+    @Test
+    @DisplayName("Deve agendar sem consultar o histórico depois de um arquivamento")
+    void deveAgendarSemConsultarHistorico() {
+        // Arrange
+        agendaRepositoryAdapter.arquivarLote(hoje.minusDays(90), AGENDAS_PASSADAS);
+        Agenda nova = AgendaMapper.toDomain(agendaJpaRepository.findAll().get(0));
+        nova.setId(null);
+        nova.setCodigoAgenda("codigo-novo");
+        nova.setDataAgenda(hoje.plusDays(200));
+        statistics.clear();
+
+        // Act
+        agendaRepositoryAdapter.salvar(nova);
+        long comandos = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertNotNull(nova.getId());
+        // INSERT + bloqueio do serviço no primeiro agendamento do dia + MERGE do consolidado
+        assertEquals(3, comandos);
+    }
+}
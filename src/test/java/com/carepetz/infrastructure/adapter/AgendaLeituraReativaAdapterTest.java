@@ -0,0 +1,173 @@
+package com.carepetz.infrastructure.adapter;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import com.carepetz.infrastructure.repository.AgendaHistoricoJpaRepository;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import com.carepetz.infrastructure.repository.ClienteJpaRepository;
+import com.carepetz.infrastructure.repository.ServicoJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do AgendaLeituraReativaAdapter
+ * Os dados são gravados pelo JPA e confirmados, como em produção, e lidos pelo R2DBC em outra conexão
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "carepetz.arquivamento.habilitado=false"
+        })
+@DisplayName("Testes do AgendaLeituraReativaAdapter")
+class AgendaLeituraReativaAdapterTest {
+
+    @Autowired
+    private AgendaLeituraReativaAdapter agendaLeituraReativaAdapter;
+
+    @Autowired
+    private AgendaRepositoryAdapter agendaRepositoryAdapter;
+
+    @Autowired
+    private AgendaJpaRepository agendaJpaRepository;
+
+    @Autowired
+    private AgendaHistoricoJpaRepository agendaHistoricoJpaRepository;
+
+    @Autowired
+    private ClienteJpaRepository clienteJpaRepository;
+
+    @Autowired
+    private ServicoJpaRepository servicoJpaRepository;
+
+    private ClienteEntity joao;
+    private ClienteEntity maria;
+    private ServicoEntity banho;
+    private ServicoEntity petzCare;
+    private LocalDate passado;
+    private LocalDate futuro;
+
+    @BeforeEach
+    void setUp() {
+        joao = clienteJpaRepository.save(new ClienteEntity("João Silva", "11999990000", "joao@email.com"));
+        maria = clienteJpaRepository.save(new ClienteEntity("Maria Santos", "11888880000", "maria@email.com"));
+        banho = servicoJpaRepository.save(new ServicoEntity("BANHO", new BigDecimal("40.00")));
+        petzCare = servicoJpaRepository.save(new ServicoEntity("PETZ CARE", new BigDecimal("80.00")));
+        passado = LocalDate.now().minusYears(20);
+        futuro = LocalDate.now().plusDays(3000);
+
+        agendaJpaRepository.saveAll(List.of(
+                new AgendaEntity(joao, petzCare, passado.plusDays(1), LocalTime.of(10, 0)),
+                new AgendaEntity(joao, banho, passado, LocalTime.of(9, 0)),
+                new AgendaEntity(joao, banho, futuro, LocalTime.of(9, 0)),
+                new AgendaEntity(joao, petzCare, futuro, LocalTime.of(8, 0)),
+                new AgendaEntity(maria, banho, futuro.plusDays(1), LocalTime.of(9, 0))));
+        agendaRepositoryAdapter.arquivarLote(passado.plusYears(1), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendaHistoricoJpaRepository.deleteAll(agendaHistoricoJpaRepository.findByClienteId(joao.getId()));
+        agendaJpaRepository.deleteAll(agendaJpaRepository.findByClienteId(joao.getId()));
+        agendaJpaRepository.deleteAll(agendaJpaRepository.findByClienteId(maria.getId()));
+        clienteJpaRepository.deleteAll(List.of(joao, maria));
+        servicoJpaRepository.deleteAll(List.of(banho, petzCare));
+    }
+
+    @Test
+    @DisplayName("Deve ler o histórico e a tabela principal em ordem de data, hora e ID, com cliente e serviço")
+    void deveLerHistoricoETabelaPrincipalEmOrdem() {
+        // Act
+        List<Agenda> agendas = agendaLeituraReativaAdapter
+                .buscarPorFiltro(new FiltroAgenda(null, null, joao.getId(), null, null, null))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertNotNull(agendas);
+        assertEquals(List.of(passado, passado.plusDays(1), futuro, futuro),
+                agendas.stream().map(Agenda::getDataAgenda).toList());
+        assertEquals(LocalTime.of(8, 0), agendas.get(2).getHoraAgenda());
+        assertEquals("João Silva", agendas.get(0).getCliente().getNomeCliente());
+        assertEquals("BANHO", agendas.get(0).getServico().getDescricaoServico());
+        assertEquals(0, new BigDecimal("80.00").compareTo(agendas.get(1).getValorServico()));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar apenas os critérios informados no filtro")
+    void deveAplicarCriteriosDoFiltro() {
+        // Act
+        List<Agenda> agendas = agendaLeituraReativaAdapter
+                .buscarPorFiltro(new FiltroAgenda(null, futuro, null, petzCare.getId(), new BigDecimal("60.00"), null))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertNotNull(agendas);
+        assertEquals(2, agendas.size());
+        assertTrue(agendas.stream().allMatch(agenda -> "PETZ CARE".equals(agenda.getServico().getDescricaoServico())));
+    }
+
+    @Test
+    @DisplayName("Deve ler só a tabela principal quando o período começa depois do histórico")
+    void deveLerSoTabelaPrincipalDepoisDoHistorico() {
+        // Act
+        List<Agenda> agendas = agendaLeituraReativaAdapter
+                .buscarPorFiltro(new FiltroAgenda(futuro, null, joao.getId(), null, null, null))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertNotNull(agendas);
+        assertFalse(agendaRepositoryAdapter.alcancaHistorico(futuro));
+        assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(9, 0)),
+                agendas.stream().map(Agenda::getHoraAgenda).toList());
+    }
+
+    @Test
+    @DisplayName("Deve transmitir todas as agendas dos dois clientes na ordem global")
+    void deveTransmitirTodasEmOrdem() {
+        // Act
+        List<Agenda> agendas = agendaLeituraReativaAdapter.buscarTodas()
+                .filter(agenda -> Set.of(joao.getId(), maria.getId()).contains(agenda.getCliente().getId()))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertNotNull(agendas);
+        assertEquals(5, agendas.size());
+        assertEquals("Maria Santos", agendas.get(4).getCliente().getNomeCliente());
+    }
+
+    @Test
+    @DisplayName("Deve entregar apenas as agendas pedidas pelo consumidor")
+    void deveRespeitarDemandaDoConsumidor() {
+        // Act & Assert
+        StepVerifier.create(agendaLeituraReativaAdapter
+                        .buscarPorFiltro(new FiltroAgenda(null, null, joao.getId(), null, null, null)), 1)
+                .expectNextCount(1)
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenRequest(1)
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
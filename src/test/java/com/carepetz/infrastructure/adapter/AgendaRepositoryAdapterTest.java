@@ -0,0 +1,520 @@
+package com.carepetz.infrastructure.adapter;
+
+import com.carepetz.domain.exception.ConflitoVersaoException;
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.CursorAgenda;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.PaginaAgenda;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import com.carepetz.infrastructure.repository.AgendaRollupJpaRepository;
+import com.carepetz.infrastructure.repository.FaturamentoDiarioProjecao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do AgendaRepositoryAdapter
+ * Verificam a quantidade de comandos SQL emitidos nas listagens
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(AgendaRepositoryAdapter.class)
+@DisplayName("Testes do AgendaRepositoryAdapter")
+class AgendaRepositoryAdapterTest {
+
+    private static final int QUANTIDADE_AGENDAS = 20;
+
+    @Autowired
+    private AgendaRepositoryAdapter agendaRepositoryAdapter;
+
+    @Autowired
+    private AgendaRollupJpaRepository agendaRollupJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private LocalDate dataBase;
+
+    @BeforeEach
+    void setUp() {
+        dataBase = LocalDate.now().plusDays(1);
+
+        for (int i = 0; i < QUANTIDADE_AGENDAS; i++) {
+            ClienteEntity cliente = new ClienteEntity("Cliente " + i, "11999990000", "cliente" + i + "@email.com");
+            ServicoEntity servico = new ServicoEntity("Serviço " + i, new BigDecimal("50.00"));
+            entityManager.persist(cliente);
+            entityManager.persist(servico);
+
+            AgendaEntity agenda = new AgendaEntity(cliente, servico,
+                    dataBase.plusDays(i % 3), LocalTime.of(8, 0).plusMinutes(30L * i));
+            entityManager.persist(agenda);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Deve listar todas as agendas com cliente e serviço em um único SELECT")
+    void deveListarTodasAgendasEmUmUnicoSelect() {
+        // Act
+        List<Agenda> agendas = agendaRepositoryAdapter.buscarTodas();
+        agendas.forEach(this::lerNomes);
+
+        // Assert
+        assertEquals(QUANTIDADE_AGENDAS, agendas.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar agendas por cliente em um único SELECT")
+    void deveListarAgendasPorClienteEmUmUnicoSelect() {
+        // Arrange
+        Long clienteId = entityManager
+                .createQuery("SELECT MIN(c.id) FROM ClienteEntity c", Long.class)
+                .getSingleResult();
+        statistics.clear();
+
+        // Act
+        List<Agenda> agendas = agendaRepositoryAdapter.buscarPorClienteId(clienteId);
+        agendas.forEach(this::lerNomes);
+
+        // Assert
+        assertEquals(1, agendas.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar agendas por data em um único SELECT")
+    void deveListarAgendasPorDataEmUmUnicoSelect() {
+        // Act
+        List<Agenda> agendas = agendaRepositoryAdapter.buscarPorData(dataBase);
+        agendas.forEach(this::lerNomes);
+
+        // Assert
+        assertFalse(agendas.isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar agendas por período em um único SELECT")
+    void deveListarAgendasPorPeriodoEmUmUnicoSelect() {
+        // Act
+        List<Agenda> agendas = agendaRepositoryAdapter.buscarPorPeriodo(dataBase, dataBase.plusDays(2));
+        agendas.forEach(this::lerNomes);
+
+        // Assert
+        assertEquals(QUANTIDADE_AGENDAS, agendas.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as agendas por cursor em ordem, com um SELECT por página")
+    void devePercorrerTodasAgendasPorCursor() {
+        // Arrange
+        int tamanhoPagina = 7;
+        List<Agenda> lidas = new ArrayList<>();
+        CursorAgenda cursor = null;
+        int paginas = 0;
+
+        // Act
+        do {
+            PaginaAgenda pagina = agendaRepositoryAdapter.buscarPagina(cursor, tamanhoPagina);
+            pagina.getItens().forEach(this::lerNomes);
+            lidas.addAll(pagina.getItens());
+            cursor = pagina.getProximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(QUANTIDADE_AGENDAS, lidas.size());
+        assertEquals(3, paginas);
+        assertEquals(paginas, statistics.getPrepareStatementCount());
+
+        List<Agenda> ordenadas = new ArrayList<>(lidas);
+        ordenadas.sort(Comparator.comparing(Agenda::getDataAgenda)
+                .thenComparing(Agenda::getHoraAgenda)
+                .thenComparing(Agenda::getId));
+        assertEquals(ordenadas, lidas);
+    }
+
+    @Test
+    @DisplayName("Deve retornar página sem cursor quando não há mais registros")
+    void deveRetornarUltimaPaginaSemCursor() {
+        // Act
+        PaginaAgenda pagina = agendaRepositoryAdapter.buscarPagina(null, QUANTIDADE_AGENDAS);
+
+        // Assert
+        assertEquals(QUANTIDADE_AGENDAS, pagina.getItens().size());
+        assertFalse(pagina.temProximaPagina());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer o histórico do cliente do mais recente ao mais antigo, com um SELECT por página")
+    void devePercorrerHistoricoDoClientePorCursor() {
+        // Arrange
+        ClienteEntity cliente = new ClienteEntity("Cliente Frequente", "11988887777", "frequente@email.com");
+        ServicoEntity servico = new ServicoEntity("Banho", new BigDecimal("40.00"));
+        entityManager.persist(cliente);
+        entityManager.persist(servico);
+        for (int i = 0; i < 12; i++) {
+            entityManager.persist(new AgendaEntity(cliente, servico,
+                    dataBase.plusDays(10 + i / 4), LocalTime.of(7, 0).plusMinutes(10L * i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Agenda> lidas = new ArrayList<>();
+        CursorAgenda cursor = null;
+        int paginas = 0;
+
+        // Act
+        do {
+            PaginaAgenda pagina = agendaRepositoryAdapter.buscarPaginaPorCliente(cliente.getId(), cursor, 5);
+            lidas.addAll(pagina.getItens());
+            cursor = pagina.getProximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(12, lidas.size());
+        assertEquals(3, paginas);
+        assertEquals(paginas, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("Banho", lidas.get(0).getServico().getDescricaoServico());
+        assertEquals(new BigDecimal("40.00"), lidas.get(0).getValorServico());
+
+        List<Agenda> ordenadas = new ArrayList<>(lidas);
+        ordenadas.sort(Comparator.comparing(Agenda::getDataAgenda)
+                .thenComparing(Agenda::getHoraAgenda)
+                .reversed());
+        assertEquals(ordenadas, lidas);
+    }
+
+    @Test
+    @DisplayName("Deve buscar por filtros combinados em um único SELECT, com cliente e serviço carregados")
+    void deveBuscarPorFiltrosEmUmUnicoSelect() {
+        // Arrange
+        AgendaEntity alvo = entityManager
+                .createQuery("SELECT a FROM AgendaEntity a WHERE a.horaAgenda = :hora", AgendaEntity.class)
+                .setParameter("hora", LocalTime.of(10, 0))
+                .getSingleResult();
+        FiltroAgenda filtro = new FiltroAgenda(dataBase, dataBase.plusDays(2), alvo.getCliente().getId(),
+                alvo.getServico().getId(), new BigDecimal("10.00"), new BigDecimal("60.00"));
+        statistics.clear();
+
+        // Act
+        PaginaAgenda pagina = agendaRepositoryAdapter.buscarPaginaPorFiltro(filtro, null, 10);
+        pagina.getItens().forEach(this::lerNomes);
+
+        // Assert
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(alvo.getId(), pagina.getItens().get(0).getId());
+        assertFalse(pagina.temProximaPagina());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve paginar a busca por período por cursor, com um SELECT por página")
+    void devePaginarBuscaPorPeriodo() {
+        // Arrange
+        FiltroAgenda filtro = new FiltroAgenda(dataBase, dataBase.plusDays(1), null, null, null, null);
+        long esperadas = entityManager
+                .createQuery("SELECT COUNT(a) FROM AgendaEntity a WHERE a.dataAgenda <= :data", Long.class)
+                .setParameter("data", dataBase.plusDays(1))
+                .getSingleResult();
+        statistics.clear();
+        List<Agenda> lidas = new ArrayList<>();
+        CursorAgenda cursor = null;
+        int paginas = 0;
+
+        // Act
+        do {
+            PaginaAgenda pagina = agendaRepositoryAdapter.buscarPaginaPorFiltro(filtro, cursor, 5);
+            lidas.addAll(pagina.getItens());
+            cursor = pagina.getProximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(esperadas, lidas.size());
+        assertEquals(paginas, statistics.getPrepareStatementCount());
+        assertTrue(lidas.stream().noneMatch(agenda -> agenda.getDataAgenda().isAfter(dataBase.plusDays(1))));
+
+        List<Agenda> ordenadas = new ArrayList<>(lidas);
+        ordenadas.sort(Comparator.comparing(Agenda::getDataAgenda)
+                .thenComparing(Agenda::getHoraAgenda)
+                .thenComparing(Agenda::getId));
+        assertEquals(ordenadas, lidas);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as agendas em ordem em um único SELECT")
+    void devePercorrerTodasAgendasEmStream() {
+        // Arrange
+        List<Agenda> lidas = new ArrayList<>();
+
+        // Act
+        agendaRepositoryAdapter.percorrerTodas(agenda -> {
+            lerNomes(agenda);
+            lidas.add(agenda);
+        });
+
+        // Assert
+        assertEquals(QUANTIDADE_AGENDAS, lidas.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(lidas.get(0).getDataAgenda().compareTo(lidas.get(lidas.size() - 1).getDataAgenda()) <= 0);
+    }
+
+    @Test
+    @DisplayName("Deve buscar os horários ocupados do período em um único SELECT")
+    void deveBuscarHorariosOcupadosEmUmUnicoSelect() {
+        // Act
+        Map<LocalDate, Set<LocalTime>> ocupados = agendaRepositoryAdapter.buscarHorariosOcupados(dataBase, dataBase.plusDays(1));
+
+        // Assert
+        assertEquals(2, ocupados.size());
+        assertEquals(14, ocupados.values().stream().mapToInt(Set::size).sum());
+        assertTrue(ocupados.get(dataBase).contains(LocalTime.of(8, 0)));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve inserir agenda nova com um único INSERT e o ajuste do consolidado, sem carregar cliente e serviço")
+    void deveInserirAgendaComUmUnicoInsert() {
+        // Arrange
+        Agenda agenda = new Agenda(clienteComNomeAlterado(), servicoPorId(), dataBase.plusDays(5), LocalTime.of(15, 0));
+        statistics.clear();
+
+        // Act
+        Agenda salva = agendaRepositoryAdapter.salvar(agenda);
+
+        // Assert
+        assertNotNull(salva.getId());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // INSERT da agenda + bloqueio do serviço, só no primeiro agendamento do dia + MERGE do consolidado diário
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertNomeClienteInalterado(salva.getCliente().getId());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar agenda existente com um único UPDATE e os ajustes do consolidado, sem SELECT prévio")
+    void deveAtualizarAgendaComUmUnicoUpdate() {
+        // Arrange
+        Agenda agenda = agendaRepositoryAdapter.buscarPorData(dataBase).get(0);
+        agenda.setCliente(clienteComNomeAlterado());
+        agenda.setHoraAgenda(LocalTime.of(21, 0));
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        agendaRepositoryAdapter.salvar(agenda);
+
+        // Assert
+        assertEquals(0, statistics.getEntityLoadCount());
+        // MERGE retirando os valores antigos + UPDATE da agenda + bloqueio do serviço, só no
+        // primeiro agendamento do dia + MERGE somando os novos
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(LocalTime.of(21, 0), entityManager.find(AgendaEntity.class, agenda.getId()).getHoraAgenda());
+        assertNomeClienteInalterado(agenda.getCliente().getId());
+    }
+
+    @Test
+    @DisplayName("Deve ler o horário atual pelo índice em memória e, fora dele, pela chave primária")
+    void deveLerHorarioAtualPeloIndice() {
+        // Arrange
+        agendaRepositoryAdapter.afterSingletonsInstantiated();
+        Agenda indexada = agendaRepositoryAdapter.buscarPorData(dataBase).get(0);
+        // Ainda não confirmada, então fora do índice
+        Agenda nova = agendaRepositoryAdapter.salvar(new Agenda(clienteComNomeAlterado(), servicoPorId(),
+                dataBase.plusDays(5), LocalTime.of(11, 0)));
+        statistics.clear();
+
+        // Act
+        Optional<LocalDateTime> doIndice = agendaRepositoryAdapter.buscarHorario(indexada.getId());
+        long consultasIndice = statistics.getPrepareStatementCount();
+        Optional<LocalDateTime> doBanco = agendaRepositoryAdapter.buscarHorario(nova.getId());
+
+        // Assert
+        assertEquals(Optional.of(indexada.getDataAgenda().atTime(indexada.getHoraAgenda())), doIndice);
+        assertEquals(0, consultasIndice);
+        assertEquals(Optional.of(dataBase.plusDays(5).atTime(11, 0)), doBanco);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão ao atualizar e recusar a gravação com a versão já superada")
+    void deveRecusarAtualizacaoComVersaoSuperada() {
+        // Arrange
+        Agenda primeira = agendaRepositoryAdapter.buscarPorData(dataBase).get(0);
+        Agenda segunda = agendaRepositoryAdapter.buscarPorId(primeira.getId()).orElseThrow();
+        assertEquals(0L, primeira.getVersao());
+        primeira.setHoraAgenda(LocalTime.of(21, 0));
+        segunda.setHoraAgenda(LocalTime.of(21, 30));
+
+        // Act
+        agendaRepositoryAdapter.salvar(primeira);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1L, primeira.getVersao());
+        assertThrows(ConflitoVersaoException.class, () -> agendaRepositoryAdapter.salvar(segunda));
+        AgendaEntity gravada = entityManager.find(AgendaEntity.class, primeira.getId());
+        assertEquals(LocalTime.of(21, 0), gravada.getHoraAgenda());
+        assertEquals(1L, gravada.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve manter o consolidado diário ao inserir, mover, alterar valor e excluir agendas")
+    void deveManterConsolidadoDiario() {
+        // Arrange
+        LocalDate dia = dataBase.plusDays(30);
+        Servico servico = servicoPorId();
+        Agenda primeira = agendaRepositoryAdapter.salvar(new Agenda(clienteComNomeAlterado(), servico, dia, LocalTime.of(9, 0)));
+        Agenda segunda = agendaRepositoryAdapter.salvar(new Agenda(clienteComNomeAlterado(), servico, dia, LocalTime.of(10, 0)));
+
+        // Act
+        segunda.setDataAgenda(dia.plusDays(1));
+        segunda.setValorServico(new BigDecimal("70.00"));
+        agendaRepositoryAdapter.salvar(segunda);
+        agendaRepositoryAdapter.excluir(primeira.getId());
+        entityManager.flush();
+
+        // Assert
+        List<FaturamentoDiarioProjecao> consolidado = agendaRollupJpaRepository.buscarFaturamentoEntre(dia, dia.plusDays(1));
+        assertEquals(1, consolidado.size());
+        assertEquals(dia.plusDays(1), consolidado.get(0).getDataAgenda());
+        assertEquals(servico.getId(), consolidado.get(0).getServicoId());
+        assertEquals(1, consolidado.get(0).getQuantidade());
+        assertEquals(0, new BigDecimal("70.00").compareTo(consolidado.get(0).getValorTotal()));
+    }
+
+    @Test
+    @DisplayName("Deve informar pela quantidade de linhas excluídas se a agenda existia")
+    void deveInformarSeAgendaExcluidaExistia() {
+        // Arrange
+        Agenda agenda = agendaRepositoryAdapter.salvar(new Agenda(clienteComNomeAlterado(), servicoPorId(),
+                dataBase.plusDays(40), LocalTime.of(9, 0)));
+
+        // Act
+        boolean excluida = agendaRepositoryAdapter.excluir(agenda.getId());
+        boolean excluidaDeNovo = agendaRepositoryAdapter.excluir(agenda.getId());
+
+        // Assert
+        assertTrue(excluida);
+        assertFalse(excluidaDeNovo);
+        assertFalse(agendaRepositoryAdapter.existe(agenda.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve responder horário livre pelo índice em memória sem consultar o banco")
+    void deveResponderHorarioLivreSemConsultarBanco() {
+        // Arrange
+        agendaRepositoryAdapter.afterSingletonsInstantiated();
+        statistics.clear();
+
+        // Act
+        boolean conflito = agendaRepositoryAdapter.existeConflitoHorario(dataBase, LocalTime.of(7, 0), null);
+
+        // Assert
+        assertFalse(conflito);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve confirmar no banco o conflito de um horário ocupado")
+    void deveConfirmarConflitoDeHorarioOcupado() {
+        // Arrange
+        agendaRepositoryAdapter.afterSingletonsInstantiated();
+        statistics.clear();
+
+        // Act
+        boolean conflito = agendaRepositoryAdapter.existeConflitoHorario(dataBase, LocalTime.of(8, 0), null);
+
+        // Assert
+        assertTrue(conflito);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Não deve considerar conflito o horário ocupado pela própria agenda")
+    void naoDeveConsiderarConflitoComAPropriaAgenda() {
+        // Arrange
+        agendaRepositoryAdapter.afterSingletonsInstantiated();
+        Long agendaId = entityManager
+                .createQuery("SELECT a.id FROM AgendaEntity a WHERE a.horaAgenda = :hora", Long.class)
+                .setParameter("hora", LocalTime.of(8, 0))
+                .getSingleResult();
+        statistics.clear();
+
+        // Act
+        boolean conflito = agendaRepositoryAdapter.existeConflitoHorario(dataBase, LocalTime.of(8, 0), agendaId);
+
+        // Assert
+        assertFalse(conflito);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private Cliente clienteComNomeAlterado() {
+        ClienteEntity entity = entityManager
+                .createQuery("SELECT c FROM ClienteEntity c ORDER BY c.id", ClienteEntity.class)
+                .setMaxResults(1)
+                .getSingleResult();
+        Cliente cliente = new Cliente("Nome desatualizado", "11000000000", "antigo@email.com");
+        cliente.setId(entity.getId());
+        entityManager.clear();
+        return cliente;
+    }
+
+    private Servico servicoPorId() {
+        Servico servico = new Servico("Serviço", new BigDecimal("50.00"));
+        servico.setId(entityManager
+                .createQuery("SELECT MIN(s.id) FROM ServicoEntity s", Long.class)
+                .getSingleResult());
+        return servico;
+    }
+
+    private void assertNomeClienteInalterado(Long clienteId) {
+        entityManager.clear();
+        assertNotEquals("Nome desatualizado", entityManager.find(ClienteEntity.class, clienteId).getNomeCliente());
+    }
+
+    private void lerNomes(Agenda agenda) {
+        assertNotNull(agenda.getCliente().getNomeCliente());
+        assertNotNull(agenda.getServico().getDescricaoServico());
+    }
+}
@@ -0,0 +1,132 @@
+package com.carepetz.infrastructure.adapter;
+
+import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import com.carepetz.infrastructure.repository.ClienteJpaRepository;
+import com.carepetz.infrastructure.repository.ServicoJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de inserção em lote de agendas
+ * Compara a vazão com e sem batching JDBC; só roda com -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+@DisplayName("Benchmark de inserção em lote")
+class InsercaoLoteBenchmarkTest {
+
+    private static final int QUANTIDADE_AGENDAS = 5000;
+    private static final int RODADAS = 5;
+    private static final int HORARIOS_POR_DIA = 48;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AgendaJpaRepository agendaJpaRepository;
+
+    @Autowired
+    private ClienteJpaRepository clienteJpaRepository;
+
+    @Autowired
+    private ServicoJpaRepository servicoJpaRepository;
+
+    private ClienteEntity cliente;
+    private ServicoEntity servico;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteJpaRepository.save(new ClienteEntity("João Silva", "11999990000", "joao@email.com"));
+        servico = servicoJpaRepository.save(new ServicoEntity("PETZ CARE", new BigDecimal("80.00")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendaJpaRepository.deleteAllInBatch();
+        clienteJpaRepository.deleteAllInBatch();
+        servicoJpaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve inserir mais rápido e com menos comandos usando batching JDBC")
+    void deveCompararInsercaoComESemBatching() {
+        // Arrange
+        inserir(1);
+        inserir(AgendaRepositoryAdapter.TAMANHO_LOTE_INSERCAO);
+
+        // Act
+        Medicao semBatching = medir(1);
+        Medicao comBatching = medir(AgendaRepositoryAdapter.TAMANHO_LOTE_INSERCAO);
+
+        // Assert
+        System.out.printf("Sem batching: %,.0f agendas/s, %d comandos preparados%n",
+                semBatching.agendasPorSegundo(), semBatching.comandos());
+        System.out.printf("Com batching (%d): %,.0f agendas/s, %d comandos preparados%n",
+                AgendaRepositoryAdapter.TAMANHO_LOTE_INSERCAO, comBatching.agendasPorSegundo(), comBatching.comandos());
+        assertTrue(comBatching.comandos() * 10 < semBatching.comandos());
+    }
+
+    private Medicao medir(int tamanhoLote) {
+        long melhorTempo = Long.MAX_VALUE;
+        long comandos = 0;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            statistics.clear();
+            long inicio = System.nanoTime();
+            inserir(tamanhoLote);
+            melhorTempo = Math.min(melhorTempo, System.nanoTime() - inicio);
+            comandos = statistics.getPrepareStatementCount();
+        }
+        return new Medicao(QUANTIDADE_AGENDAS * 1_000_000_000.0 / melhorTempo, comandos);
+    }
+
+    private void inserir(int tamanhoLote) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+            LocalDate primeiroDia = LocalDate.now().plusDays(1);
+            for (int i = 0; i < QUANTIDADE_AGENDAS; i++) {
+                entityManager.persist(new AgendaEntity(cliente, servico,
+                        primeiroDia.plusDays(i / HORARIOS_POR_DIA), LocalTime.of(0, 0).plusMinutes(30L * (i % HORARIOS_POR_DIA))));
+                if ((i + 1) % AgendaRepositoryAdapter.TAMANHO_LOTE_INSERCAO == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        agendaJpaRepository.deleteAllInBatch();
+    }
+
+    private record Medicao(double agendasPorSegundo, long comandos) {
+    }
+}
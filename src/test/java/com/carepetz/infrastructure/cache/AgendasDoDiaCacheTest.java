@@ -0,0 +1,216 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.infrastructure.adapter.AgendaRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do AgendasDoDiaCache
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do AgendasDoDiaCache")
+class AgendasDoDiaCacheTest {
+
+    private static final LocalDate HOJE = LocalDate.now();
+    private static final LocalDate AMANHA = HOJE.plusDays(1);
+
+    @Mock
+    private AgendaRepositoryAdapter agendaRepositoryAdapter;
+
+    @Mock
+    private ClientesCache clientesCache;
+
+    @Mock
+    private CatalogoServicosCache catalogoServicosCache;
+
+    private AgendasDoDiaCache agendasDoDiaCache;
+    private Cliente cliente;
+    private Servico servico;
+
+    @BeforeEach
+    void setUp() {
+        agendasDoDiaCache = new AgendasDoDiaCache(agendaRepositoryAdapter, clientesCache, catalogoServicosCache, 10);
+        cliente = new Cliente("João Silva", "(11) 99999-9999", "joao@email.com");
+        cliente.setId(1L);
+        servico = new Servico("PETZ CARE", new BigDecimal("80.00"));
+        servico.setId(2L);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o dia uma única vez e entregá-lo ordenado por horário")
+    void deveCarregarDiaUmaUnicaVezOrdenado() {
+        // Arrange
+        when(agendaRepositoryAdapter.buscarPorData(HOJE))
+                .thenReturn(List.of(agenda(11L, HOJE, 15), agenda(10L, HOJE, 9), agenda(12L, HOJE, 12)));
+
+        // Act
+        agendasDoDiaCache.buscarPorData(HOJE);
+        List<Agenda> agendas = agendasDoDiaCache.buscarPorData(HOJE);
+
+        // Assert
+        assertEquals(List.of(10L, 12L, 11L), agendas.stream().map(Agenda::getId).toList());
+        assertEquals("João Silva", agendas.get(0).getCliente().getNomeCliente());
+        assertEquals("PETZ CARE", agendas.get(0).getServico().getDescricaoServico());
+        verify(agendaRepositoryAdapter, times(1)).buscarPorData(HOJE);
+        assertEquals(1, agendasDoDiaCache.getEstatisticas().hitCount());
+    }
+
+    @Test
+    @DisplayName("Deve juntar leituras simultâneas do mesmo dia em uma única carga")
+    void deveJuntarLeiturasSimultaneas() throws Exception {
+        // Arrange
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        when(agendaRepositoryAdapter.buscarPorData(HOJE)).thenAnswer(invocacao -> {
+            cargaIniciada.countDown();
+            liberarCarga.await(5, TimeUnit.SECONDS);
+            return List.of(agenda(10L, HOJE, 9));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // Act
+            List<Future<List<Agenda>>> leituras = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                leituras.add(executor.submit(() -> agendasDoDiaCache.buscarPorData(HOJE)));
+            }
+            assertTrue(cargaIniciada.await(5, TimeUnit.SECONDS));
+            liberarCarga.countDown();
+
+            // Assert
+            for (Future<List<Agenda>> leitura : leituras) {
+                assertEquals(1, leitura.get(5, TimeUnit.SECONDS).size());
+            }
+            verify(agendaRepositoryAdapter, times(1)).buscarPorData(HOJE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar apenas o dia da agenda criada")
+    void deveDescartarApenasDiaDaAgendaCriada() {
+        // Arrange
+        Agenda nova = agenda(null, HOJE, 10);
+        when(agendaRepositoryAdapter.buscarPorData(any())).thenReturn(List.of());
+        when(agendaRepositoryAdapter.salvar(nova)).thenReturn(nova);
+        agendasDoDiaCache.buscarPorData(HOJE);
+        agendasDoDiaCache.buscarPorData(AMANHA);
+
+        // Act
+        agendasDoDiaCache.salvar(nova);
+        agendasDoDiaCache.buscarPorData(HOJE);
+        agendasDoDiaCache.buscarPorData(AMANHA);
+
+        // Assert
+        verify(agendaRepositoryAdapter, times(2)).buscarPorData(HOJE);
+        verify(agendaRepositoryAdapter, times(1)).buscarPorData(AMANHA);
+        verify(agendaRepositoryAdapter, never()).buscarHorario(any());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o dia de origem e o de destino ao remarcar uma agenda")
+    void deveDescartarOrigemEDestinoAoRemarcar() {
+        // Arrange
+        Agenda remarcada = agenda(10L, AMANHA, 9);
+        when(agendaRepositoryAdapter.buscarPorData(HOJE))
+                .thenReturn(List.of(agenda(10L, HOJE, 9)))
+                .thenReturn(List.of());
+        when(agendaRepositoryAdapter.buscarPorData(AMANHA))
+                .thenReturn(List.of())
+                .thenReturn(List.of(remarcada));
+        when(agendaRepositoryAdapter.buscarHorario(10L)).thenReturn(Optional.of(HOJE.atTime(9, 0)));
+        when(agendaRepositoryAdapter.salvar(remarcada)).thenReturn(remarcada);
+        agendasDoDiaCache.buscarPorData(HOJE);
+        agendasDoDiaCache.buscarPorData(AMANHA);
+
+        // Act
+        agendasDoDiaCache.salvar(remarcada);
+
+        // Assert
+        assertTrue(agendasDoDiaCache.buscarPorData(HOJE).isEmpty());
+        assertEquals(1, agendasDoDiaCache.buscarPorData(AMANHA).size());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o dia da agenda excluída")
+    void deveDescartarDiaDaAgendaExcluida() {
+        // Arrange
+        when(agendaRepositoryAdapter.buscarPorData(HOJE))
+                .thenReturn(List.of(agenda(10L, HOJE, 9)))
+                .thenReturn(List.of());
+        when(agendaRepositoryAdapter.buscarHorario(10L)).thenReturn(Optional.of(HOJE.atTime(9, 0)));
+        when(agendaRepositoryAdapter.excluir(10L)).thenReturn(true);
+        agendasDoDiaCache.buscarPorData(HOJE);
+
+        // Act
+        boolean excluida = agendasDoDiaCache.excluir(10L);
+
+        // Assert
+        assertTrue(excluida);
+        assertTrue(agendasDoDiaCache.buscarPorData(HOJE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o dia quando um cliente ou serviço mudar")
+    void deveRecarregarQuandoReferenciaMudar() {
+        // Arrange
+        when(agendaRepositoryAdapter.buscarPorData(HOJE)).thenReturn(List.of(agenda(10L, HOJE, 9)));
+        agendasDoDiaCache.buscarPorData(HOJE);
+
+        // Act
+        when(clientesCache.getGeracao()).thenReturn(1L);
+        agendasDoDiaCache.buscarPorData(HOJE);
+        agendasDoDiaCache.buscarPorData(HOJE);
+        when(catalogoServicosCache.getGeracao()).thenReturn(1L);
+        agendasDoDiaCache.buscarPorData(HOJE);
+
+        // Assert
+        verify(agendaRepositoryAdapter, times(3)).buscarPorData(HOJE);
+    }
+
+    @Test
+    @DisplayName("Deve entregar cópias que não alteram o retrato do dia")
+    void deveEntregarCopias() {
+        // Arrange
+        when(agendaRepositoryAdapter.buscarPorData(HOJE)).thenReturn(List.of(agenda(10L, HOJE, 9)));
+
+        // Act
+        Agenda lida = agendasDoDiaCache.buscarPorData(HOJE).get(0);
+        lida.setHoraAgenda(LocalTime.of(23, 0));
+        lida.getCliente().setNomeCliente("Alterado");
+
+        // Assert
+        Agenda relida = agendasDoDiaCache.buscarPorData(HOJE).get(0);
+        assertEquals(LocalTime.of(9, 0), relida.getHoraAgenda());
+        assertEquals("João Silva", relida.getCliente().getNomeCliente());
+    }
+
+    private Agenda agenda(Long id, LocalDate data, int hora) {
+        Agenda agenda = new Agenda(cliente, servico, data, LocalTime.of(hora, 0));
+        agenda.setId(id);
+        return agenda;
+    }
+}
@@ -0,0 +1,164 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.infrastructure.adapter.ClienteRepositoryAdapter;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import com.carepetz.infrastructure.repository.ClienteJpaRepository;
+import com.carepetz.infrastructure.repository.ServicoJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do cache de segundo nível do Hibernate (perfil cache)
+ * Cada chamada aos repositórios abre uma sessão nova, então só o cache de segundo
+ * nível evita as consultas repetidas
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "carepetz.arquivamento.habilitado=false"
+        })
+@ActiveProfiles("cache")
+@DisplayName("Testes do cache de segundo nível")
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private ClienteJpaRepository clienteJpaRepository;
+
+    @Autowired
+    private ServicoJpaRepository servicoJpaRepository;
+
+    @Autowired
+    private ClienteRepositoryAdapter clienteRepositoryAdapter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ClienteEntity cliente;
+    private ServicoEntity servico;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteJpaRepository.save(new ClienteEntity("João Silva", "11999990000", "joao@email.com"));
+        servico = servicoJpaRepository.save(new ServicoEntity("BANHO", new BigDecimal("40.00")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clienteJpaRepository.deleteById(cliente.getId());
+        servicoJpaRepository.deleteById(servico.getId());
+    }
+
+    @Test
+    @DisplayName("Deve ler cliente e serviço por ID sem ir ao banco depois da primeira leitura")
+    void deveLerPorIdDoCache() {
+        // Arrange
+        clienteJpaRepository.findById(cliente.getId());
+        servicoJpaRepository.findById(servico.getId());
+        statistics.clear();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(clienteJpaRepository.findById(cliente.getId()).isPresent());
+            assertTrue(servicoJpaRepository.findById(servico.getId()).isPresent());
+        }
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(10, statistics.getDomainDataRegionStatistics(ClienteEntity.REGIAO_CACHE).getHitCount());
+        assertEquals(10, statistics.getDomainDataRegionStatistics(ServicoEntity.REGIAO_CACHE).getHitCount());
+    }
+
+    @Test
+    @DisplayName("Deve responder buscas e existência por código pelo cache de consultas")
+    void deveResponderConsultasPorCodigoDoCache() {
+        // Arrange
+        clienteJpaRepository.findByCodigoCliente(cliente.getCodigoCliente());
+        clienteJpaRepository.existsByCodigoCliente(cliente.getCodigoCliente());
+        servicoJpaRepository.findByCodigoServico(servico.getCodigoServico());
+        servicoJpaRepository.existsByCodigoServico(servico.getCodigoServico());
+        statistics.clear();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertEquals("João Silva",
+                    clienteJpaRepository.findByCodigoCliente(cliente.getCodigoCliente()).orElseThrow().getNomeCliente());
+            assertTrue(clienteJpaRepository.existsByCodigoCliente(cliente.getCodigoCliente()));
+            assertEquals("BANHO",
+                    servicoJpaRepository.findByCodigoServico(servico.getCodigoServico()).orElseThrow().getDescricaoServico());
+            assertTrue(servicoJpaRepository.existsByCodigoServico(servico.getCodigoServico()));
+        }
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(40, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getQueryCacheMissCount());
+    }
+
+    @Test
+    @DisplayName("Deve refletir a alteração de um serviço nas leituras seguintes")
+    void deveRefletirAlteracao() {
+        // Arrange
+        servicoJpaRepository.findByCodigoServico(servico.getCodigoServico());
+        servico.setValorServico(new BigDecimal("55.00"));
+
+        // Act
+        servicoJpaRepository.save(servico);
+        ServicoEntity porCodigo = servicoJpaRepository.findByCodigoServico(servico.getCodigoServico()).orElseThrow();
+        ServicoEntity porId = servicoJpaRepository.findById(servico.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(0, new BigDecimal("55.00").compareTo(porCodigo.getValorServico()));
+        assertEquals(0, new BigDecimal("55.00").compareTo(porId.getValorServico()));
+    }
+
+    @Test
+    @DisplayName("Deve alterar o cliente com um único UPDATE e refletir a alteração nas leituras seguintes")
+    void deveAlterarClienteComUmUnicoUpdate() {
+        // Arrange
+        Cliente alterado = clienteRepositoryAdapter.buscarPorId(cliente.getId()).orElseThrow();
+        alterado.setNomeCliente("João Souza");
+        statistics.clear();
+
+        // Act
+        clienteRepositoryAdapter.salvar(alterado);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(cliente.getVersao() + 1, alterado.getVersao());
+        assertEquals("João Souza", clienteJpaRepository.findById(cliente.getId()).orElseThrow().getNomeCliente());
+    }
+
+    @Test
+    @DisplayName("Deve publicar as estatísticas do cache como métricas")
+    void devePublicarMetricas() {
+        // Act
+        clienteJpaRepository.findByCodigoCliente(cliente.getCodigoCliente());
+        clienteJpaRepository.findByCodigoCliente(cliente.getCodigoCliente());
+
+        // Assert
+        assertNotNull(meterRegistry.find("hibernate.cache.query.requests").tag("result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", ClienteEntity.REGIAO_CACHE).functionCounter());
+    }
+}
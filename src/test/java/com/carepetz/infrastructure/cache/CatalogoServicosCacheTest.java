@@ -0,0 +1,187 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Servico;
+import com.carepetz.infrastructure.adapter.ServicoRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do CatalogoServicosCache
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CatalogoServicosCache")
+class CatalogoServicosCacheTest {
+
+    @Mock
+    private ServicoRepositoryAdapter servicoRepositoryAdapter;
+
+    @InjectMocks
+    private CatalogoServicosCache catalogoServicosCache;
+
+    private Servico banho;
+    private Servico tosa;
+
+    @BeforeEach
+    void setUp() {
+        banho = servico(1L, "BANHO", "40.00");
+        tosa = servico(2L, "TOSA", "60.00");
+    }
+
+    @Test
+    @DisplayName("Deve carregar o catálogo uma única vez para leituras seguidas")
+    void deveCarregarCatalogoUmaUnicaVez() {
+        // Arrange
+        when(servicoRepositoryAdapter.buscarTodos()).thenReturn(List.of(banho, tosa));
+
+        // Act
+        Optional<Servico> porId = catalogoServicosCache.buscarPorId(2L);
+        Optional<Servico> porCodigo = catalogoServicosCache.buscarPorCodigo(banho.getCodigoServico());
+        List<Servico> porIds = catalogoServicosCache.buscarPorIds(List.of(1L, 2L, 1L, 99L));
+        boolean existe = catalogoServicosCache.existe(1L);
+        boolean inexistente = catalogoServicosCache.existe(99L);
+
+        // Assert
+        assertEquals("TOSA", porId.orElseThrow().getDescricaoServico());
+        assertEquals(1L, porCodigo.orElseThrow().getId());
+        assertEquals(2, porIds.size());
+        assertTrue(existe);
+        assertFalse(inexistente);
+        verify(servicoRepositoryAdapter, times(1)).buscarTodos();
+        assertEquals(1, catalogoServicosCache.getFalhas());
+        assertEquals(4, catalogoServicosCache.getAcertos());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o catálogo após salvar e excluir serviços")
+    void deveRecarregarAposGravacoes() {
+        // Arrange
+        Servico hidratacao = servico(3L, "HIDRATAÇÃO", "90.00");
+        when(servicoRepositoryAdapter.buscarTodos())
+                .thenReturn(List.of(banho, tosa))
+                .thenReturn(List.of(banho, tosa, hidratacao))
+                .thenReturn(List.of(banho, hidratacao));
+        when(servicoRepositoryAdapter.salvar(hidratacao)).thenReturn(hidratacao);
+
+        // Act & Assert
+        assertEquals(2, catalogoServicosCache.buscarTodos().size());
+
+        catalogoServicosCache.salvar(hidratacao);
+        assertTrue(catalogoServicosCache.existe(3L));
+
+        catalogoServicosCache.excluir(2L);
+        assertFalse(catalogoServicosCache.existe(2L));
+
+        verify(servicoRepositoryAdapter).excluir(2L);
+        verify(servicoRepositoryAdapter, times(3)).buscarTodos();
+    }
+
+    @Test
+    @DisplayName("Deve manter o retrato lido pela transação que grava fora do retrato compartilhado")
+    void deveIsolarRetratoDaTransacaoQueGrava() throws Exception {
+        // Arrange
+        Servico hidratacao = servico(3L, "HIDRATAÇÃO", "90.00");
+        when(servicoRepositoryAdapter.buscarTodos())
+                .thenReturn(List.of(banho, tosa, hidratacao))
+                .thenReturn(List.of(banho, tosa));
+        when(servicoRepositoryAdapter.salvar(hidratacao)).thenReturn(hidratacao);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            catalogoServicosCache.salvar(hidratacao);
+            boolean vistoPelaTransacao = catalogoServicosCache.existe(3L);
+            boolean relidoPelaTransacao = catalogoServicosCache.existe(3L);
+            CompletableFuture<Boolean> vistoPorOutraThread = CompletableFuture.supplyAsync(() -> catalogoServicosCache.existe(3L));
+
+            // Assert
+            assertTrue(vistoPelaTransacao);
+            assertTrue(relidoPelaTransacao);
+            assertFalse(vistoPorOutraThread.get(5, TimeUnit.SECONDS));
+            verify(servicoRepositoryAdapter, times(2)).buscarTodos();
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(TransactionSynchronizationManager.hasResource(catalogoServicosCache));
+    }
+
+    @Test
+    @DisplayName("Deve entregar cópias que não alteram o retrato em memória")
+    void deveEntregarCopias() {
+        // Arrange
+        when(servicoRepositoryAdapter.buscarTodos()).thenReturn(List.of(banho));
+
+        // Act
+        Servico lido = catalogoServicosCache.buscarPorId(1L).orElseThrow();
+        lido.setValorServico(new BigDecimal("1.00"));
+        catalogoServicosCache.buscarTodos().get(0).setDescricaoServico("ALTERADO");
+
+        // Assert
+        Servico relido = catalogoServicosCache.buscarPorId(1L).orElseThrow();
+        assertEquals(new BigDecimal("40.00"), relido.getValorServico());
+        assertEquals("BANHO", relido.getDescricaoServico());
+        verify(servicoRepositoryAdapter, times(1)).buscarTodos();
+    }
+
+    @Test
+    @DisplayName("Deve descartar carga iniciada antes de uma invalidação")
+    void deveDescartarCargaDesatualizada() {
+        // Arrange: a invalidação chega enquanto a carga ainda consulta o banco
+        when(servicoRepositoryAdapter.buscarTodos())
+                .thenAnswer(invocacao -> {
+                    catalogoServicosCache.invalidar();
+                    return List.of(banho);
+                })
+                .thenReturn(List.of(banho, tosa));
+
+        // Act
+        List<Servico> primeiraLeitura = catalogoServicosCache.buscarTodos();
+        List<Servico> segundaLeitura = catalogoServicosCache.buscarTodos();
+
+        // Assert
+        assertEquals(1, primeiraLeitura.size());
+        assertEquals(2, segundaLeitura.size());
+        verify(servicoRepositoryAdapter, times(2)).buscarTodos();
+    }
+
+    @Test
+    @DisplayName("Deve publicar acertos e falhas como métricas")
+    void devePublicarMetricas() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        catalogoServicosCache.bindTo(registry);
+        when(servicoRepositoryAdapter.buscarTodos()).thenReturn(List.of(banho));
+
+        // Act
+        catalogoServicosCache.existe(1L);
+        catalogoServicosCache.existe(1L);
+        catalogoServicosCache.existe(1L);
+
+        // Assert
+        assertEquals(2.0, registry.get("carepetz.cache.servicos").tag("resultado", "acerto").functionCounter().count());
+        assertEquals(1.0, registry.get("carepetz.cache.servicos").tag("resultado", "falha").functionCounter().count());
+    }
+
+    private Servico servico(Long id, String descricao, String valor) {
+        Servico servico = new Servico(descricao, new BigDecimal(valor));
+        servico.setId(id);
+        return servico;
+    }
+}
@@ -0,0 +1,185 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.out.AgendaRepository;
+import com.carepetz.domain.port.out.ServicoRepository;
+import com.carepetz.domain.service.AgendaService;
+import com.carepetz.infrastructure.adapter.ClienteRepositoryAdapter;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import com.carepetz.infrastructure.repository.AgendaRollupJpaRepository;
+import com.carepetz.infrastructure.repository.ClienteJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do fluxo de agendamento com e sem o cache de clientes
+ * Os clientes seguem uma distribuição concentrada (80% dos agendamentos em 20% dos clientes),
+ * com o cache menor que a base; só roda com -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "carepetz.arquivamento.habilitado=false",
+                "carepetz.cache.clientes.tamanho-maximo=" + ClientesCacheBenchmarkTest.TAMANHO_CACHE
+        })
+@DisplayName("Benchmark do cache de clientes")
+class ClientesCacheBenchmarkTest {
+
+    static final int TAMANHO_CACHE = 1000;
+    private static final int QUANTIDADE_CLIENTES = 5000;
+    private static final int AGENDAMENTOS_POR_RODADA = 3000;
+    private static final int MINUTOS_POR_DIA = 24 * 60;
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private ClientesCache clientesCache;
+
+    @Autowired
+    private ClienteRepositoryAdapter clienteRepositoryAdapter;
+
+    @Autowired
+    private ClienteJpaRepository clienteJpaRepository;
+
+    @Autowired
+    private AgendaJpaRepository agendaJpaRepository;
+
+    @Autowired
+    private AgendaRollupJpaRepository agendaRollupJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> clienteIds;
+    private Servico servico;
+    private Statistics statistics;
+    private LocalDate primeiroDia;
+
+    @BeforeEach
+    void setUp() {
+        List<ClienteEntity> entities = new ArrayList<>(QUANTIDADE_CLIENTES);
+        for (int i = 0; i < QUANTIDADE_CLIENTES; i++) {
+            entities.add(new ClienteEntity("Cliente " + i, "11999990000", "cliente" + i + "@email.com"));
+        }
+        clienteIds = clienteJpaRepository.saveAll(entities).stream().map(ClienteEntity::getId).toList();
+        servico = servicoRepository.salvar(new Servico("PETZ CARE", new BigDecimal("80.00")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        primeiroDia = LocalDate.now().plusDays(2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendaJpaRepository.deleteAllInBatch();
+        agendaRollupJpaRepository.deleteAllInBatch();
+        clienteJpaRepository.deleteAllInBatch();
+        servicoRepository.excluir(servico.getId());
+        clientesCache.invalidarTodos();
+    }
+
+    @Test
+    @DisplayName("Deve agendar com menos consultas e boa taxa de acerto usando o cache de clientes")
+    void deveCompararAgendamentoComESemCache() {
+        // Arrange
+        AgendaService semCache = new AgendaService(agendaRepository, clienteRepositoryAdapter, servicoRepository);
+        AgendaService comCache = new AgendaService(agendaRepository, clientesCache, servicoRepository);
+        // Aquecimento do JIT e do cache, que é medido já em regime
+        agendar(semCache, 0, 42);
+        agendar(comCache, 3, 42);
+
+        // Act
+        Medicao medicaoSemCache = agendar(semCache, 1, 7);
+        long acertosAntes = clientesCache.getEstatisticas().hitCount();
+        long falhasAntes = clientesCache.getEstatisticas().missCount();
+        Medicao medicaoComCache = agendar(comCache, 2, 7);
+        long acertos = clientesCache.getEstatisticas().hitCount() - acertosAntes;
+        long falhas = clientesCache.getEstatisticas().missCount() - falhasAntes;
+        double taxaAcerto = (double) acertos / (acertos + falhas);
+
+        // Assert
+        System.out.printf("Sem cache: p50 %,d µs, p99 %,d µs, %,d consultas%n",
+                medicaoSemCache.p50Micros(), medicaoSemCache.p99Micros(), medicaoSemCache.consultas());
+        System.out.printf("Com cache (%d de %d clientes): p50 %,d µs, p99 %,d µs, %,d consultas, acerto %.1f%%%n",
+                TAMANHO_CACHE, QUANTIDADE_CLIENTES, medicaoComCache.p50Micros(), medicaoComCache.p99Micros(),
+                medicaoComCache.consultas(), taxaAcerto * 100);
+        assertTrue(clientesCache.getQuantidade() <= TAMANHO_CACHE);
+        assertTrue(taxaAcerto > 0.5);
+        assertTrue(medicaoComCache.consultas() < medicaoSemCache.consultas());
+    }
+
+    /**
+     * Cria uma rodada de agendamentos, um por transação como no endpoint, e apaga em seguida
+     */
+    private Medicao agendar(AgendaService agendaService, int rodada, long semente) {
+        Random aleatorio = new Random(semente);
+        long[] tempos = new long[AGENDAMENTOS_POR_RODADA];
+        LocalDate dia = primeiroDia.plusDays((long) rodada * (AGENDAMENTOS_POR_RODADA / MINUTOS_POR_DIA + 1));
+        statistics.clear();
+        for (int i = 0; i < AGENDAMENTOS_POR_RODADA; i++) {
+            Agenda agenda = new Agenda(referenciaCliente(sortearCliente(aleatorio)), referenciaServico(),
+                    dia.plusDays(i / MINUTOS_POR_DIA), LocalTime.MIDNIGHT.plusMinutes(i % MINUTOS_POR_DIA));
+            long inicio = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> agendaService.criarAgenda(agenda));
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        long consultas = statistics.getQueryExecutionCount() + statistics.getEntityLoadCount();
+        agendaJpaRepository.deleteAllInBatch();
+        agendaRollupJpaRepository.deleteAllInBatch();
+
+        Arrays.sort(tempos);
+        return new Medicao(tempos[tempos.length / 2] / 1000, tempos[tempos.length * 99 / 100] / 1000, consultas);
+    }
+
+    private Long sortearCliente(Random aleatorio) {
+        int quentes = QUANTIDADE_CLIENTES / 5;
+        int indice = aleatorio.nextDouble() < 0.8
+                ? aleatorio.nextInt(quentes)
+                : quentes + aleatorio.nextInt(QUANTIDADE_CLIENTES - quentes);
+        return clienteIds.get(indice);
+    }
+
+    private Cliente referenciaCliente(Long id) {
+        Cliente referencia = new Cliente();
+        referencia.setId(id);
+        return referencia;
+    }
+
+    private Servico referenciaServico() {
+        Servico referencia = new Servico();
+        referencia.setId(servico.getId());
+        return referencia;
+    }
+
+    private record Medicao(long p50Micros, long p99Micros, long consultas) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.carepetz.infrastructure.cache;
+
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.infrastructure.adapter.ClienteRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do ClientesCache
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ClientesCache")
+class ClientesCacheTest {
+
+    @Mock
+    private ClienteRepositoryAdapter clienteRepositoryAdapter;
+
+    private ClientesCache clientesCache;
+    private Cliente joao;
+    private Cliente maria;
+
+    @BeforeEach
+    void setUp() {
+        clientesCache = new ClientesCache(clienteRepositoryAdapter, 100, 10);
+        joao = cliente(1L, "João Silva");
+        maria = cliente(2L, "Maria Santos");
+    }
+
+    @Test
+    @DisplayName("Deve responder busca e existência do mesmo cliente com uma consulta")
+    void deveResponderBuscaEExistenciaComUmaConsulta() {
+        // Arrange
+        when(clienteRepositoryAdapter.buscarPorId(1L)).thenReturn(Optional.of(joao));
+
+        // Act
+        Optional<Cliente> encontrado = clientesCache.buscarPorId(1L);
+        boolean existe = clientesCache.existe(1L);
+
+        // Assert
+        assertEquals("João Silva", encontrado.orElseThrow().getNomeCliente());
+        assertTrue(existe);
+        verify(clienteRepositoryAdapter, times(1)).buscarPorId(1L);
+        verify(clienteRepositoryAdapter, never()).existe(any());
+        assertEquals(1, clientesCache.getEstatisticas().hitCount());
+        assertEquals(1, clientesCache.getEstatisticas().missCount());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar cliente inexistente")
+    void naoDeveGuardarClienteInexistente() {
+        // Arrange
+        when(clienteRepositoryAdapter.buscarPorId(3L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(cliente(3L, "Pedro Oliveira")));
+
+        // Act & Assert
+        assertFalse(clientesCache.existe(3L));
+        assertTrue(clientesCache.existe(3L));
+        verify(clienteRepositoryAdapter, times(2)).buscarPorId(3L);
+    }
+
+    @Test
+    @DisplayName("Deve repassar a falha da consulta sem guardar a entrada")
+    void deveRepassarFalhaDaConsultaSemGuardar() {
+        // Arrange
+        when(clienteRepositoryAdapter.buscarPorId(1L))
+                .thenThrow(new IllegalStateException("Banco indisponível"))
+                .thenReturn(Optional.of(joao));
+
+        // Act & Assert
+        IllegalStateException falha = assertThrows(IllegalStateException.class, () -> clientesCache.buscarPorId(1L));
+        assertEquals("Banco indisponível", falha.getMessage());
+        assertEquals("João Silva", clientesCache.buscarPorId(1L).orElseThrow().getNomeCliente());
+        verify(clienteRepositoryAdapter, times(2)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve carregar em uma consulta apenas os clientes ausentes do cache")
+    void deveCarregarApenasAusentesEmLote() {
+        // Arrange
+        when(clienteRepositoryAdapter.buscarPorId(1L)).thenReturn(Optional.of(joao));
+        when(clienteRepositoryAdapter.buscarPorIds(anyCollection())).thenReturn(List.of(maria));
+        clientesCache.buscarPorId(1L);
+
+        // Act
+        List<Cliente> encontrados = clientesCache.buscarPorIds(List.of(1L, 2L, 2L, 99L));
+
+        // Assert
+        assertEquals(2, encontrados.size());
+        verify(clienteRepositoryAdapter).buscarPorIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(2L, 99L))));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o cliente do cache ao salvar e ao excluir")
+    void deveDescartarAoSalvarEExcluir() {
+        // Arrange
+        Cliente atualizado = cliente(1L, "João Souza");
+        when(clienteRepositoryAdapter.buscarPorId(1L))
+                .thenReturn(Optional.of(joao))
+                .thenReturn(Optional.of(atualizado))
+                .thenReturn(Optional.empty());
+        when(clienteRepositoryAdapter.salvar(atualizado)).thenReturn(atualizado);
+        clientesCache.buscarPorId(1L);
+
+        // Act & Assert
+        clientesCache.salvar(atualizado);
+        assertEquals("João Souza", clientesCache.buscarPorId(1L).orElseThrow().getNomeCliente());
+
+        clientesCache.excluir(1L);
+        assertFalse(clientesCache.existe(1L));
+        verify(clienteRepositoryAdapter).excluir(1L);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo do cache")
+    void deveRespeitarTamanhoMaximo() {
+        // Arrange
+        ClientesCache pequeno = new ClientesCache(clienteRepositoryAdapter, 10, 10);
+        when(clienteRepositoryAdapter.buscarPorId(anyLong()))
+                .thenAnswer(invocacao -> Optional.of(cliente(invocacao.getArgument(0), "Cliente")));
+
+        // Act
+        for (long id = 1; id <= 100; id++) {
+            pequeno.buscarPorId(id);
+        }
+
+        // Assert
+        assertTrue(pequeno.getQuantidade() <= 10);
+        assertTrue(pequeno.getEstatisticas().evictionCount() >= 90);
+    }
+
+    @Test
+    @DisplayName("Deve entregar cópias que não alteram a entrada do cache")
+    void deveEntregarCopias() {
+        // Arrange
+        when(clienteRepositoryAdapter.buscarPorId(1L)).thenReturn(Optional.of(joao));
+
+        // Act
+        clientesCache.buscarPorId(1L).orElseThrow().setNomeCliente("Alterado");
+
+        // Assert
+        assertEquals("João Silva", clientesCache.buscarPorId(1L).orElseThrow().getNomeCliente());
+    }
+
+    @Test
+    @DisplayName("Deve publicar as estatísticas do cache como métricas")
+    void devePublicarMetricas() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        clientesCache.bindTo(registry);
+        when(clienteRepositoryAdapter.buscarPorId(1L)).thenReturn(Optional.of(joao));
+
+        // Act
+        clientesCache.existe(1L);
+        clientesCache.existe(1L);
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", ClientesCache.NOME_CACHE, "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", ClientesCache.NOME_CACHE, "result", "miss").functionCounter().count());
+    }
+
+    private Cliente cliente(Long id, String nome) {
+        Cliente cliente = new Cliente(nome, "(11) 99999-9999", "cliente@email.com");
+        cliente.setId(id);
+        return cliente;
+    }
+}
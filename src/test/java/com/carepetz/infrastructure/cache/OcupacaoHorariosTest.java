@@ -0,0 +1,186 @@
+package com.carepetz.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do OcupacaoHorarios
+ */
+@DisplayName("Testes do OcupacaoHorarios")
+class OcupacaoHorariosTest {
+
+    private OcupacaoHorarios ocupacaoHorarios;
+    private LocalDate data;
+
+    @BeforeEach
+    void setUp() {
+        ocupacaoHorarios = new OcupacaoHorarios();
+        data = LocalDate.of(2030, 1, 15);
+    }
+
+    @Test
+    @DisplayName("Deve considerar livre um dia sem agendas")
+    void deveConsiderarLivreDiaSemAgendas() {
+        // Act & Assert
+        assertFalse(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve marcar apenas o minuto registrado")
+    void deveMarcarApenasMinutoRegistrado() {
+        // Act
+        ocupacaoHorarios.registrar(1L, data, LocalTime.of(9, 0));
+
+        // Assert
+        assertTrue(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 0)));
+        assertFalse(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 1)));
+        assertFalse(ocupacaoHorarios.ocupado(data, LocalTime.of(8, 59)));
+        assertFalse(ocupacaoHorarios.ocupado(data.plusDays(1), LocalTime.of(9, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve cobrir os limites do dia")
+    void deveCobrirLimitesDoDia() {
+        // Act
+        ocupacaoHorarios.registrar(1L, data, LocalTime.MIDNIGHT);
+        ocupacaoHorarios.registrar(2L, data, LocalTime.of(23, 59));
+
+        // Assert
+        assertTrue(ocupacaoHorarios.ocupado(data, LocalTime.MIDNIGHT));
+        assertTrue(ocupacaoHorarios.ocupado(data, LocalTime.of(23, 59)));
+        assertFalse(ocupacaoHorarios.ocupado(data.plusDays(1), LocalTime.MIDNIGHT));
+    }
+
+    @Test
+    @DisplayName("Deve liberar o horário anterior ao mover uma agenda")
+    void deveLiberarHorarioAnteriorAoMoverAgenda() {
+        // Arrange
+        ocupacaoHorarios.registrar(1L, data, LocalTime.of(9, 0));
+
+        // Act
+        ocupacaoHorarios.registrar(1L, data.plusDays(2), LocalTime.of(14, 30));
+
+        // Assert
+        assertFalse(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 0)));
+        assertTrue(ocupacaoHorarios.ocupado(data.plusDays(2), LocalTime.of(14, 30)));
+        assertTrue(ocupacaoHorarios.ocupadoPor(1L, data.plusDays(2), LocalTime.of(14, 30)));
+        assertEquals(1, ocupacaoHorarios.quantidadeAgendas());
+    }
+
+    @Test
+    @DisplayName("Deve informar o horário registrado para cada agenda")
+    void deveInformarHorarioRegistrado() {
+        // Arrange
+        ocupacaoHorarios.registrar(1L, data, LocalTime.of(14, 35));
+
+        // Act & Assert
+        assertEquals(Optional.of(data.atTime(14, 35)), ocupacaoHorarios.horarioDe(1L));
+        assertEquals(Optional.empty(), ocupacaoHorarios.horarioDe(2L));
+    }
+
+    @Test
+    @DisplayName("Deve liberar o horário ao remover uma agenda")
+    void deveLiberarHorarioAoRemoverAgenda() {
+        // Arrange
+        ocupacaoHorarios.registrar(1L, data, LocalTime.of(9, 0));
+        ocupacaoHorarios.registrar(2L, data, LocalTime.of(9, 30));
+
+        // Act
+        ocupacaoHorarios.remover(1L);
+
+        // Assert
+        assertFalse(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 0)));
+        assertTrue(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 30)));
+        assertFalse(ocupacaoHorarios.ocupadoPor(1L, data, LocalTime.of(9, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve liberar um horário desatualizado sem afetar os demais")
+    void deveLiberarHorarioDesatualizado() {
+        // Arrange
+        ocupacaoHorarios.registrar(1L, data, LocalTime.of(9, 0));
+        ocupacaoHorarios.registrar(2L, data, LocalTime.of(9, 30));
+
+        // Act
+        ocupacaoHorarios.liberar(data, LocalTime.of(9, 0));
+
+        // Assert
+        assertFalse(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 0)));
+        assertTrue(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 30)));
+    }
+
+    @Test
+    @DisplayName("Deve esquecer a agenda dona de um horário liberado")
+    void deveEsquecerAgendaDeHorarioLiberado() {
+        // Arrange
+        ocupacaoHorarios.registrar(1L, data, LocalTime.of(9, 0));
+        ocupacaoHorarios.registrar(2L, data, LocalTime.of(9, 30));
+
+        // Act
+        ocupacaoHorarios.liberar(data, LocalTime.of(9, 0));
+
+        // Assert
+        assertFalse(ocupacaoHorarios.ocupadoPor(1L, data, LocalTime.of(9, 0)));
+        assertTrue(ocupacaoHorarios.ocupadoPor(2L, data, LocalTime.of(9, 30)));
+        assertEquals(1, ocupacaoHorarios.quantidadeAgendas());
+    }
+
+    @Test
+    @DisplayName("Deve descartar os dias passados após a virada do dia")
+    void deveDescartarDiasPassadosAposViradaDoDia() {
+        // Arrange
+        RelogioAjustavel relogio = new RelogioAjustavel(data);
+        ocupacaoHorarios = new OcupacaoHorarios(relogio);
+        ocupacaoHorarios.registrar(1L, data, LocalTime.of(9, 0));
+        ocupacaoHorarios.registrar(2L, data.plusDays(1), LocalTime.of(10, 0));
+
+        // Act
+        relogio.hoje = data.plusDays(1);
+        ocupacaoHorarios.registrar(3L, data.plusDays(2), LocalTime.of(11, 0));
+
+        // Assert
+        assertFalse(ocupacaoHorarios.ocupado(data, LocalTime.of(9, 0)));
+        assertFalse(ocupacaoHorarios.ocupadoPor(1L, data, LocalTime.of(9, 0)));
+        assertTrue(ocupacaoHorarios.ocupadoPor(2L, data.plusDays(1), LocalTime.of(10, 0)));
+        assertEquals(2, ocupacaoHorarios.quantidadeAgendas());
+        assertEquals(2, ocupacaoHorarios.quantidadeDias());
+    }
+
+    /**
+     * Relógio cuja data é alterada pelo teste
+     */
+    private static class RelogioAjustavel extends Clock {
+
+        private LocalDate hoje;
+
+        RelogioAjustavel(LocalDate hoje) {
+            this.hoje = hoje;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return hoje.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
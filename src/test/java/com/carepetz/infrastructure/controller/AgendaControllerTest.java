@@ -0,0 +1,241 @@
+package com.carepetz.infrastructure.controller;
+
+import com.carepetz.domain.exception.AgendaNaoEncontradaException;
+import com.carepetz.domain.exception.ConflitoVersaoException;
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.in.AgendaUseCase;
+import com.carepetz.domain.port.in.ClienteUseCase;
+import com.carepetz.domain.port.in.ServicoUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da camada web do AgendaController
+ * Os casos de uso são simulados para validar apenas o contrato HTTP
+ */
+@WebMvcTest(AgendaController.class)
+@DisplayName("Testes do AgendaController")
+class AgendaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AgendaUseCase agendaUseCase;
+
+    @MockBean
+    private ClienteUseCase clienteUseCase;
+
+    @MockBean
+    private ServicoUseCase servicoUseCase;
+
+    private Agenda agendaValida;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente("João Silva", "(11) 99999-9999", "joao@email.com");
+        cliente.setId(1L);
+        Servico servico = new Servico("PETZ CARE", new BigDecimal("80.00"));
+        servico.setId(2L);
+
+        agendaValida = new Agenda(cliente, servico, LocalDate.now().plusDays(1), LocalTime.of(10, 30));
+        agendaValida.setId(3L);
+    }
+
+    @Test
+    @DisplayName("Deve exportar agendamentos em NDJSON, um objeto por linha")
+    @SuppressWarnings("unchecked")
+    void deveExportarAgendamentosEmNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<Agenda> consumidor = invocation.getArgument(0);
+            consumidor.accept(agendaValida);
+            consumidor.accept(agendaValida);
+            return null;
+        }).when(agendaUseCase).exportarAgendas(any(Consumer.class));
+
+        // Act
+        MvcResult inicio = mockMvc.perform(get("/api/agendas/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // Assert
+        String[] linhas = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        for (String linha : linhas) {
+            assertTrue(linha.startsWith("{\"id\":3"));
+            assertTrue(linha.contains("\"nomeCliente\":\"João Silva\""));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar agendamentos com ETag forte formado pelas versões")
+    void deveListarAgendamentosComEtag() throws Exception {
+        // Arrange
+        when(agendaUseCase.versaoAgendas()).thenReturn(4L);
+        when(clienteUseCase.versaoClientes()).thenReturn(2L);
+        when(servicoUseCase.versaoServicos()).thenReturn(1L);
+        when(agendaUseCase.listarTodasAgendas()).thenReturn(List.of(agendaValida));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/agendas"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+
+        // Assert
+        String etag = resultado.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("-4-2-1\""));
+        assertTrue(resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("\"id\":3"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem consultar agendas quando as versões não mudaram")
+    void deveResponderNaoModificadoSemConsultar() throws Exception {
+        // Arrange
+        when(agendaUseCase.versaoAgendas()).thenReturn(4L);
+        String etag = mockMvc.perform(get("/api/agendas"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(agendaUseCase);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/agendas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(agendaUseCase, never()).listarTodasAgendas();
+
+        when(agendaUseCase.versaoAgendas()).thenReturn(5L);
+        mockMvc.perform(get("/api/agendas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(agendaUseCase).listarTodasAgendas();
+    }
+
+    @Test
+    @DisplayName("Deve listar os agendamentos do dia informado")
+    void deveListarAgendamentosDoDia() throws Exception {
+        // Arrange
+        LocalDate dia = agendaValida.getDataAgenda();
+        when(agendaUseCase.listarAgendasPorData(dia)).thenReturn(List.of(agendaValida));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/agendas/dia/{data}", dia.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+
+        // Assert
+        String corpo = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(corpo.startsWith("[{\"id\":3"));
+        assertTrue(corpo.contains("\"descricaoServico\":\"PETZ CARE\""));
+        verify(agendaUseCase).listarAgendasPorData(dia);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o agendamento com ETag forte formado pela versão")
+    void deveBuscarAgendamentoComEtagDaVersao() throws Exception {
+        // Arrange
+        agendaValida.setVersao(4L);
+        when(agendaUseCase.buscarAgendaPorId(3L)).thenReturn(Optional.of(agendaValida));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/agendas/{id}", 3L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a versão do If-Match e responder 412 quando ela estiver desatualizada")
+    void deveResponderPreconditionFailedParaVersaoDesatualizada() throws Exception {
+        // Arrange
+        when(agendaUseCase.atualizarAgenda(eq(3L), any())).thenThrow(new ConflitoVersaoException());
+
+        // Act
+        mockMvc.perform(put("/api/agendas/{id}", 3L)
+                        .header(HttpHeaders.IF_MATCH, "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoAtualizacao()))
+                .andExpect(status().isPreconditionFailed());
+
+        // Assert
+        verify(agendaUseCase).atualizarAgenda(eq(3L), argThat(agenda -> Long.valueOf(4L).equals(agenda.getVersao())));
+        verifyNoInteractions(clienteUseCase, servicoUseCase);
+    }
+
+    @Test
+    @DisplayName("Deve responder 409 quando o conflito persistir sem If-Match e 200 com a nova ETag quando gravar")
+    void deveResponderConflitoSemIfMatch() throws Exception {
+        // Arrange
+        agendaValida.setVersao(5L);
+        when(agendaUseCase.atualizarAgenda(eq(3L), any()))
+                .thenThrow(new ConflitoVersaoException())
+                .thenReturn(agendaValida);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/agendas/{id}", 3L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoAtualizacao()))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/agendas/{id}", 3L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoAtualizacao()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+        verify(agendaUseCase, times(2)).atualizarAgenda(eq(3L), argThat(agenda -> agenda.getVersao() == null));
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 para agenda inexistente e 400 para cliente inexistente na atualização")
+    void deveSepararAgendaInexistenteDeDadosInvalidos() throws Exception {
+        // Arrange
+        when(agendaUseCase.atualizarAgenda(eq(3L), any())).thenThrow(new AgendaNaoEncontradaException(3L));
+        when(agendaUseCase.atualizarAgenda(eq(4L), any())).thenThrow(new IllegalArgumentException("Cliente não encontrado"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/agendas/{id}", 3L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoAtualizacao()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/agendas/{id}", 4L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoAtualizacao()))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(clienteUseCase, servicoUseCase);
+    }
+
+    private String corpoAtualizacao() {
+        return "{\"clienteId\":1,\"servicoId\":2,\"dataAgenda\":\"" + agendaValida.getDataAgenda()
+                + "\",\"horaAgenda\":\"11:00:00\",\"valorServico\":80.00}";
+    }
+}
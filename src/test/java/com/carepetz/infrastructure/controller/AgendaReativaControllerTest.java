@@ -0,0 +1,121 @@
+package com.carepetz.infrastructure.controller;
+
+import com.carepetz.domain.model.Agenda;
+import com.carepetz.domain.model.Cliente;
+import com.carepetz.domain.model.FiltroAgenda;
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.in.ConsultaAgendaReativaUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da camada web do AgendaReativaController
+ * O caso de uso é simulado para validar apenas o contrato HTTP das listagens transmitidas
+ */
+@WebMvcTest(AgendaReativaController.class)
+@DisplayName("Testes do AgendaReativaController")
+class AgendaReativaControllerTest {
+
+    private static final LocalDate DATA = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConsultaAgendaReativaUseCase consultaAgendaReativaUseCase;
+
+    private Agenda banho;
+    private Agenda tosa;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente("João Silva", "(11) 99999-9999", "joao@email.com");
+        cliente.setId(1L);
+        banho = agenda(10L, cliente, new Servico("BANHO", new BigDecimal("40.00")), 9);
+        tosa = agenda(11L, cliente, new Servico("TOSA", new BigDecimal("60.00")), 10);
+    }
+
+    @Test
+    @DisplayName("Deve transmitir uma agenda por linha em NDJSON, com os nomes de cliente e serviço")
+    void deveTransmitirAgendasEmNdjson() throws Exception {
+        // Arrange
+        when(consultaAgendaReativaUseCase.transmitirAgendas()).thenReturn(Flux.just(banho, tosa));
+
+        // Act
+        MvcResult inicio = mockMvc.perform(get("/api/agendas/fluxo"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // Assert
+        String[] linhas = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].contains("\"id\":10"));
+        assertTrue(linhas[0].contains("\"nomeCliente\":\"João Silva\""));
+        assertTrue(linhas[1].contains("\"descricaoServico\":\"TOSA\""));
+    }
+
+    @Test
+    @DisplayName("Deve repassar os filtros informados à busca transmitida")
+    void deveRepassarFiltrosDaBusca() throws Exception {
+        // Arrange
+        FiltroAgenda esperado = new FiltroAgenda(DATA, DATA.plusDays(7), 1L, null, new BigDecimal("50"), null);
+        when(consultaAgendaReativaUseCase.transmitirBusca(esperado)).thenReturn(Flux.just(tosa));
+
+        // Act
+        MvcResult inicio = mockMvc.perform(get("/api/agendas/fluxo/busca")
+                        .param("dataInicio", DATA.toString())
+                        .param("dataFim", DATA.plusDays(7).toString())
+                        .param("clienteId", "1")
+                        .param("valorMinimo", "50"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"id\":11")));
+        verify(consultaAgendaReativaUseCase).transmitirBusca(esperado);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o período da busca for inválido")
+    void deveRetornarBadRequestParaPeriodoInvalido() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/agendas/fluxo/busca")
+                        .param("dataInicio", DATA.plusDays(7).toString())
+                        .param("dataFim", DATA.toString()))
+                .andExpect(status().isBadRequest());
+        verify(consultaAgendaReativaUseCase, never()).transmitirBusca(any());
+    }
+
+    private Agenda agenda(Long id, Cliente cliente, Servico servico, int hora) {
+        Agenda agenda = new Agenda(cliente, servico, DATA, LocalTime.of(hora, 0));
+        agenda.setId(id);
+        return agenda;
+    }
+}
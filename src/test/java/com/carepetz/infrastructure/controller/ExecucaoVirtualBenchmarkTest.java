@@ -0,0 +1,238 @@
+package com.carepetz.infrastructure.controller;
+
+import com.carepetz.CarePetzBackendApplication;
+import com.carepetz.infrastructure.entity.AgendaEntity;
+import com.carepetz.infrastructure.entity.ClienteEntity;
+import com.carepetz.infrastructure.entity.ServicoEntity;
+import com.carepetz.infrastructure.repository.AgendaJpaRepository;
+import com.carepetz.infrastructure.repository.ClienteJpaRepository;
+import com.carepetz.infrastructure.repository.ServicoJpaRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark de carga HTTP com threads de plataforma e com threads virtuais
+ * Sobe a aplicação nos dois modos (spring.threads.virtual.enabled) e dispara 1.000 clientes
+ * simultâneos contra leituras que vão ao banco (H2 em modo TCP), medindo vazão e p99. No modo virtual grava os
+ * eventos jdk.VirtualThreadPinned do JFR para apontar trechos que prendem a thread portadora;
+ * só roda com -Pbenchmark em um JDK 21 ou mais novo
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de execução com threads virtuais")
+class ExecucaoVirtualBenchmarkTest {
+
+    private static final int CLIENTES_SIMULTANEOS = 1000;
+    private static final int REQUISICOES_POR_CLIENTE = 20;
+    private static final int QUANTIDADE_CLIENTES = 5000;
+    private static final int AGENDAS_POR_CLIENTE = 4;
+    private static final int HORARIOS_POR_DIA = 48;
+
+    // H2 em modo servidor: cada consulta passa pela rede, como em um banco de verdade
+    private static Server banco;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    @DisplayName("Deve atender 1.000 clientes simultâneos nos dois modos sem prender a thread portadora no código da aplicação")
+    void deveCompararThreadsDePlataformaEVirtuais() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Threads virtuais exigem JDK 21 ou mais novo");
+
+        // Act
+        Medicao plataforma = medir(false);
+        Medicao virtual = medir(true);
+
+        // Assert
+        System.out.printf("Threads de plataforma: %,.0f req/s, p50 %,d µs, p99 %,d µs, %d falhas%n",
+                plataforma.requisicoesPorSegundo(), plataforma.p50Micros(), plataforma.p99Micros(), plataforma.falhas());
+        System.out.printf("Threads virtuais:      %,.0f req/s, p50 %,d µs, p99 %,d µs, %d falhas%n",
+                virtual.requisicoesPorSegundo(), virtual.p50Micros(), virtual.p99Micros(), virtual.falhas());
+        virtual.fixacoes().forEach((pilha, quantidade) ->
+                System.out.printf("Thread portadora presa %,d vezes em:%n%s%n", quantidade, pilha));
+        assertEquals(0, plataforma.falhas());
+        assertEquals(0, virtual.falhas());
+        assertTrue(virtual.fixacoes().keySet().stream().noneMatch(pilha -> pilha.contains("com.carepetz")),
+                "Código da aplicação prendeu a thread portadora");
+    }
+
+    @BeforeAll
+    static void iniciarBanco() throws SQLException {
+        banco = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+    }
+
+    @AfterAll
+    static void pararBanco() {
+        banco.stop();
+    }
+
+    private Medicao medir(boolean threadsVirtuais) throws Exception {
+        // Argumentos de linha de comando têm precedência sobre o application.properties
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CarePetzBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                "--spring.datasource.url=jdbc:h2:tcp://localhost:" + banco.getPort() + "/mem:carga-"
+                        + (threadsVirtuais ? "virtual" : "plataforma"),
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--carepetz.arquivamento.habilitado=false")) {
+            int porta = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+            List<Long> clienteIds = popular(contexto);
+
+            // Aquecimento do JIT, do pool de conexões e do cache de clientes
+            disparar(porta, clienteIds, CLIENTES_SIMULTANEOS / 4, REQUISICOES_POR_CLIENTE / 4);
+
+            Path arquivo = Files.createTempFile("carepetz-carga", ".jfr");
+            try (Recording gravacao = new Recording()) {
+                gravacao.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ZERO);
+                gravacao.start();
+                Medicao medicao = disparar(porta, clienteIds, CLIENTES_SIMULTANEOS, REQUISICOES_POR_CLIENTE);
+                gravacao.stop();
+                gravacao.dump(arquivo);
+                return medicao.comFixacoes(fixacoes(arquivo));
+            } finally {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    private List<Long> popular(ConfigurableApplicationContext contexto) {
+        ClienteJpaRepository clienteJpaRepository = contexto.getBean(ClienteJpaRepository.class);
+        ServicoJpaRepository servicoJpaRepository = contexto.getBean(ServicoJpaRepository.class);
+        AgendaJpaRepository agendaJpaRepository = contexto.getBean(AgendaJpaRepository.class);
+
+        List<ClienteEntity> clientes = new ArrayList<>(QUANTIDADE_CLIENTES);
+        for (int i = 0; i < QUANTIDADE_CLIENTES; i++) {
+            clientes.add(new ClienteEntity("Cliente " + i, "11999990000", "cliente" + i + "@email.com"));
+        }
+        clientes = clienteJpaRepository.saveAll(clientes);
+        ServicoEntity servico = servicoJpaRepository.save(new ServicoEntity("PETZ CARE", new BigDecimal("80.00")));
+
+        List<AgendaEntity> agendas = new ArrayList<>(QUANTIDADE_CLIENTES * AGENDAS_POR_CLIENTE);
+        LocalDate primeiroDia = LocalDate.now().plusDays(1);
+        for (int i = 0; i < QUANTIDADE_CLIENTES * AGENDAS_POR_CLIENTE; i++) {
+            agendas.add(new AgendaEntity(clientes.get(i % QUANTIDADE_CLIENTES), servico,
+                    primeiroDia.plusDays(i / HORARIOS_POR_DIA), LocalTime.MIDNIGHT.plusMinutes(30L * (i % HORARIOS_POR_DIA))));
+        }
+        agendaJpaRepository.saveAll(agendas);
+        return clientes.stream().map(ClienteEntity::getId).toList();
+    }
+
+    /**
+     * Cada cliente alterna a busca do cadastro (cache de clientes) e a página do seu histórico (consulta ao banco)
+     */
+    private Medicao disparar(int porta, List<Long> clienteIds, int clientesSimultaneos, int requisicoesPorCliente)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clientesSimultaneos);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger falhas = new AtomicInteger();
+        try {
+            List<Future<long[]>> clientes = new ArrayList<>(clientesSimultaneos);
+            for (int c = 0; c < clientesSimultaneos; c++) {
+                clientes.add(executor.submit(() -> {
+                    long[] tempos = new long[requisicoesPorCliente];
+                    largada.await();
+                    for (int r = 0; r < requisicoesPorCliente; r++) {
+                        Long id = clienteIds.get(ThreadLocalRandom.current().nextInt(clienteIds.size()));
+                        String caminho = r % 2 == 0 ? "/api/clientes/" + id : "/api/clientes/" + id + "/agendas?tamanho=20";
+                        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        long inicio = System.nanoTime();
+                        HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        tempos[r] = System.nanoTime() - inicio;
+                        if (resposta.statusCode() != 200) {
+                            falhas.incrementAndGet();
+                        }
+                    }
+                    return tempos;
+                }));
+            }
+
+            long inicio = System.nanoTime();
+            largada.countDown();
+            long[] tempos = new long[clientesSimultaneos * requisicoesPorCliente];
+            for (int c = 0; c < clientesSimultaneos; c++) {
+                System.arraycopy(clientes.get(c).get(), 0, tempos, c * requisicoesPorCliente, requisicoesPorCliente);
+            }
+            long duracao = System.nanoTime() - inicio;
+
+            Arrays.sort(tempos);
+            return new Medicao(tempos.length * 1_000_000_000.0 / duracao, tempos[tempos.length / 2] / 1000,
+                    tempos[tempos.length * 99 / 100] / 1000, falhas.get(), Map.of());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Agrupa os eventos de fixação pelas primeiras linhas da pilha
+     */
+    private static Map<String, Integer> fixacoes(Path arquivo) throws Exception {
+        Map<String, Integer> pilhas = new TreeMap<>();
+        for (RecordedEvent evento : RecordingFile.readAllEvents(arquivo)) {
+            if (evento.getStackTrace() == null) {
+                continue;
+            }
+            String pilha = evento.getStackTrace().getFrames().stream()
+                    .limit(40)
+                    .map(ExecucaoVirtualBenchmarkTest::linha)
+                    .collect(Collectors.joining("\n"));
+            pilhas.merge(pilha, 1, Integer::sum);
+        }
+        return pilhas;
+    }
+
+    private static String linha(RecordedFrame frame) {
+        return "    " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    private record Medicao(double requisicoesPorSegundo, long p50Micros, long p99Micros, int falhas,
+                           Map<String, Integer> fixacoes) {
+
+        private Medicao comFixacoes(Map<String, Integer> fixacoes) {
+            return new Medicao(requisicoesPorSegundo, p50Micros, p99Micros, falhas, fixacoes);
+        }
+    }
+}
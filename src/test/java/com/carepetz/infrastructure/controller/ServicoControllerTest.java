@@ -0,0 +1,137 @@
+package com.carepetz.infrastructure.controller;
+
+import com.carepetz.domain.model.Servico;
+import com.carepetz.domain.port.in.ServicoUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da camada web do ServicoController
+ * O caso de uso é simulado para validar apenas o contrato HTTP do catálogo pré-serializado
+ */
+@WebMvcTest(ServicoController.class)
+@DisplayName("Testes do ServicoController")
+class ServicoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ServicoUseCase servicoUseCase;
+
+    private long versao;
+
+    @BeforeEach
+    void setUp() {
+        Servico banho = new Servico("BANHO", new BigDecimal("40.00"));
+        banho.setId(1L);
+        when(servicoUseCase.listarTodosServicos()).thenReturn(List.of(banho));
+        // O controlador é compartilhado entre os testes, então cada um parte de uma versão nova
+        versao = System.nanoTime();
+        when(servicoUseCase.versaoServicos()).thenReturn(versao);
+    }
+
+    @Test
+    @DisplayName("Deve serializar o catálogo uma única vez enquanto a versão não muda")
+    void deveSerializarCatalogoUmaUnicaVez() throws Exception {
+        // Act
+        MvcResult primeira = mockMvc.perform(get("/api/servicos"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        MvcResult segunda = mockMvc.perform(get("/api/servicos")).andReturn();
+
+        // Assert
+        String corpo = primeira.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(corpo.startsWith("[{\"id\":1"));
+        assertTrue(corpo.contains("\"descricaoServico\":\"BANHO\""));
+        assertEquals(corpo, segunda.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(primeira.getResponse().getHeader(HttpHeaders.ETAG), segunda.getResponse().getHeader(HttpHeaders.ETAG));
+        verify(servicoUseCase, times(1)).listarTodosServicos();
+    }
+
+    @Test
+    @DisplayName("Deve entregar o catálogo já compactado a quem aceita gzip, com ETag próprio")
+    void deveEntregarCatalogoCompactado() throws Exception {
+        // Arrange
+        MvcResult semCompactacao = mockMvc.perform(get("/api/servicos")).andReturn();
+
+        // Act
+        MvcResult compactado = mockMvc.perform(get("/api/servicos").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Assert
+        assertEquals(semCompactacao.getResponse().getContentAsString(StandardCharsets.UTF_8),
+                descompactar(compactado.getResponse().getContentAsByteArray()));
+        assertNotEquals(semCompactacao.getResponse().getHeader(HttpHeaders.ETAG),
+                compactado.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(compactado.getResponse().getContentAsByteArray().length, compactado.getResponse().getContentLength());
+        assertTrue(compactado.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        verify(servicoUseCase, times(1)).listarTodosServicos();
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 enquanto a versão não muda e refazer o corpo depois de uma gravação")
+    void deveResponderNaoModificadoERefazerAposGravacao() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/servicos").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/servicos")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        when(servicoUseCase.versaoServicos()).thenReturn(versao + 1);
+        mockMvc.perform(get("/api/servicos")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(servicoUseCase, times(2)).listarTodosServicos();
+    }
+
+    @Test
+    @DisplayName("Deve interpretar Accept-Encoding com pesos e curinga")
+    void deveInterpretarAcceptEncoding() {
+        // Act & Assert
+        assertTrue(RespostaPreSerializada.aceitaGzip("gzip"));
+        assertTrue(RespostaPreSerializada.aceitaGzip("deflate, GZIP;q=0.5"));
+        assertTrue(RespostaPreSerializada.aceitaGzip("br, *"));
+        assertFalse(RespostaPreSerializada.aceitaGzip(null));
+        assertFalse(RespostaPreSerializada.aceitaGzip("identity"));
+        assertFalse(RespostaPreSerializada.aceitaGzip("gzip;q=0, *"));
+        assertFalse(RespostaPreSerializada.aceitaGzip("*; q=0.0"));
+        assertFalse(RespostaPreSerializada.aceitaGzip("x-gzip"));
+    }
+
+    private static String descompactar(byte[] bytes) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}